@@ -0,0 +1,105 @@
+package com.lg.benchmark;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * 基准测试使用的DTO
+ * 平铺的Account对应CustomValidatorTest，嵌套的Account对应NestingValidatorTest
+ *
+ * @author Xulg
+ * Created in 2026-10-17 10:12
+ */
+public final class BenchmarkBeans {
+
+    private BenchmarkBeans() {
+    }
+
+    /**
+     * 平铺结构，只包含自定义的校验注解
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class FlatAccount implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotEmpty(message = "username不能为空")
+        private String username;
+
+        @CheckEnum(value = Sex.class, whitelist = {"man", "female"}, message = "性别只能是man,female")
+        private String sex;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+    }
+
+    /**
+     * 嵌套结构，address属性级联校验
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class NestedAccount implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotNull(message = "id不能为空")
+        private Integer id;
+
+        @NotEmpty(message = "username不能为空")
+        private String username;
+
+        @NotNull(message = "address不能为空")
+        @Valid
+        private Address address;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Address implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotEmpty(message = "详情地址不能为空")
+        private String addressInfo;
+
+        @Mobile(message = "联系电话格式不正确")
+        private String contactMobile;
+    }
+
+    public enum Sex {
+
+        /**
+         * 男
+         */
+        MAN("man"),
+
+        /**
+         * 女
+         */
+        FEMALE("female"),
+
+        /**
+         * 鹅
+         */
+        FREAK("freak");
+
+        private final String code;
+
+        Sex(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.lg.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按线程数1..N依次运行基准测试，同时开启gc profiler统计内存分配
+ * <p>
+ * 可选的系统属性:
+ * <ul>
+ * <li>bench.threads: 逗号分隔的线程数列表，默认为1,2,4...直到cpu核数</li>
+ * <li>bench.include: 需要运行的基准测试的正则，默认为ValidatorUtilsBenchmark</li>
+ * <li>bench.output: 结果输出目录，默认为target/jmh</li>
+ * </ul>
+ *
+ * @author Xulg
+ * Created in 2026-10-17 10:35
+ */
+public class ValidatorBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = property("bench.include", ValidatorUtilsBenchmark.class.getSimpleName());
+        File outputDir = new File(property("bench.output", "target/jmh"));
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("can not create directory " + outputDir);
+        }
+        for (int threads : threadCounts(System.getProperty("bench.threads"))) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(outputDir, "validator-t" + threads + ".json").getPath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private static List<Integer> threadCounts(String spec) {
+        List<Integer> counts = new ArrayList<>();
+        if (spec != null && !spec.trim().isEmpty()) {
+            for (String count : spec.split(",")) {
+                counts.add(Integer.parseInt(count.trim()));
+            }
+            return counts;
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads < cores; threads <<= 1) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        return counts;
+    }
+}
@@ -0,0 +1,483 @@
+package com.lg.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.lg.benchmark.BenchmarkBeans.Address;
+import com.lg.benchmark.BenchmarkBeans.FlatAccount;
+import com.lg.benchmark.BenchmarkBeans.NestedAccount;
+import com.lg.utils.BusinessException;
+import com.lg.utils.ValidatorUtils;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程扩展性和锁竞争的压测工具
+ * <p>
+ * 按线程数1,2,4...直到2倍cpu核数依次运行，每个线程混合调用{@link ValidatorUtils#validateBean}和
+ * {@link ValidatorUtils#assertValidate}，校验平铺/嵌套、通过/不通过混合的DTO。每个线程数记录:
+ * <ul>
+ * <li>吞吐量，以及相对单线程的加速比和扩展效率</li>
+ * <li>ThreadMXBean统计的阻塞/等待次数和时间，以及定时采样的线程堆栈中阻塞最多的位置(锁 + 调用点)</li>
+ * <li>GC的次数和耗时占比、每次调用分配的字节数，JDK8下还有安全点的次数和耗时</li>
+ * </ul>
+ * 堆栈采样本身每次都会进入安全点(每秒约100次)，比较安全点开销时应该以单线程的结果为基准。
+ * 结果以JSON格式输出到bench.output目录下的scaling.json。
+ * <p>
+ * 可选的系统属性:
+ * <ul>
+ * <li>bench.threads: 逗号分隔的线程数列表，默认为1,2,4...直到2倍cpu核数</li>
+ * <li>bench.output: 结果输出目录，默认为target/jmh</li>
+ * <li>bench.warmup-seconds / bench.measure-seconds: 每个线程数的预热和测量时间，默认为3和5</li>
+ * <li>bench.invalid-ratio: 校验不通过的DTO的比例，默认为0.2</li>
+ * <li>bench.compiled: 是否开启编译模式，默认为false</li>
+ * <li>bench.jfr: 为true时通过DiagnosticCommand为每个线程数录制JFR(JavaMonitorEnter等锁事件)，需要JVM支持JFR</li>
+ * </ul>
+ *
+ * @author Xulg
+ * Created in 2026-10-17 22:10
+ */
+public class ValidatorScalingHarness {
+
+    /**
+     * 每个线程轮流使用的DTO个数
+     */
+    private static final int POPULATION_SIZE = 1024;
+
+    /**
+     * 线程堆栈的采样间隔(毫秒)
+     */
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+    /**
+     * 采样的堆栈深度
+     */
+    private static final int SAMPLE_DEPTH = 32;
+
+    /**
+     * 每个线程数输出的阻塞最多的位置个数
+     */
+    private static final int TOP_SITES = 10;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final long warmupMillis;
+
+    private final long measureMillis;
+
+    private final Object[] population;
+
+    private final File jfrDir;
+
+    private volatile boolean running;
+
+    private volatile boolean measuring;
+
+    public ValidatorScalingHarness(long warmupMillis, long measureMillis, double invalidRatio, File jfrDir) {
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+        this.population = population(invalidRatio, new Random(42));
+        this.jfrDir = jfrDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        File outputDir = new File(property("bench.output", "target/jmh"));
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("can not create directory " + outputDir);
+        }
+        boolean compiled = Boolean.parseBoolean(property("bench.compiled", "false"));
+        ValidatorUtils.setCompiledMode(compiled);
+        if (THREADS.isThreadContentionMonitoringSupported()) {
+            THREADS.setThreadContentionMonitoringEnabled(true);
+        }
+        ValidatorScalingHarness harness = new ValidatorScalingHarness(
+                TimeUnit.SECONDS.toMillis(Long.parseLong(property("bench.warmup-seconds", "3"))),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(property("bench.measure-seconds", "5"))),
+                Double.parseDouble(property("bench.invalid-ratio", "0.2")),
+                Boolean.parseBoolean(property("bench.jfr", "false")) ? outputDir : null);
+
+        List<Integer> threadCounts = threadCounts(System.getProperty("bench.threads"));
+        // 先用最多的线程数跑一轮让JIT编译完成，避免单线程的基准偏低，结果丢弃
+        harness.run(threadCounts.get(threadCounts.size() - 1));
+        List<Map<String, Object>> steps = new ArrayList<>();
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            Map<String, Object> step = harness.run(threads);
+            double throughput = (Double) step.get("throughput");
+            if (baseline == 0) {
+                baseline = throughput / threads;
+            }
+            step.put("speedup", throughput / baseline);
+            step.put("efficiency", throughput / (baseline * threads));
+            steps.add(step);
+            System.out.printf("threads=%d throughput=%.0f ops/s efficiency=%.2f blocked=%dms gc=%.1f%%%n",
+                    threads, throughput, step.get("efficiency"), step.get("blockedMillis"),
+                    (Double) step.get("gcOverhead") * 100);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        result.put("cores", Runtime.getRuntime().availableProcessors());
+        result.put("compiled", compiled);
+        result.put("contentionMonitoring", THREADS.isThreadContentionMonitoringEnabled());
+        result.put("populationSize", POPULATION_SIZE);
+        result.put("steps", steps);
+        File file = new File(outputDir, "scaling.json");
+        Files.write(file.toPath(), JSON.toJSONString(result, SerializerFeature.PrettyFormat)
+                .getBytes(StandardCharsets.UTF_8));
+        System.out.println("Results written to " + file.getAbsolutePath());
+    }
+
+    /**
+     * 使用指定的线程数运行一轮
+     *
+     * @param threads the thread count
+     * @return 这一轮的统计结果
+     */
+    public Map<String, Object> run(int threads) throws InterruptedException {
+        Worker[] workers = new Worker[threads];
+        CountDownLatch started = new CountDownLatch(threads);
+        running = true;
+        measuring = false;
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i * (POPULATION_SIZE / threads), started);
+            workers[i].setName("validator-scaling-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        started.await();
+        long[] ids = new long[threads];
+        for (int i = 0; i < threads; i++) {
+            ids[i] = workers[i].getId();
+        }
+        Thread.sleep(warmupMillis);
+
+        String jfrFile = this.startRecording(threads);
+        Snapshot before = Snapshot.take(ids);
+        measuring = true;
+        Map<String, Integer> sites = new HashMap<>();
+        int[] samples = this.sample(ids, sites);
+        measuring = false;
+        Snapshot after = Snapshot.take(ids);
+        this.stopRecording(jfrFile);
+
+        running = false;
+        long ops = 0;
+        long assertOps = 0;
+        for (Worker worker : workers) {
+            worker.join();
+            ops += worker.ops;
+            assertOps += worker.assertOps;
+        }
+
+        double seconds = (after.nanos - before.nanos) / 1e9;
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("threads", threads);
+        step.put("ops", ops);
+        step.put("assertOps", assertOps);
+        step.put("throughput", ops / seconds);
+        step.put("bytesPerOp", ops == 0 ? 0 : (after.allocatedBytes - before.allocatedBytes) / ops);
+        step.put("blockedCount", after.blockedCount - before.blockedCount);
+        step.put("blockedMillis", after.blockedMillis - before.blockedMillis);
+        step.put("waitedCount", after.waitedCount - before.waitedCount);
+        step.put("waitedMillis", after.waitedMillis - before.waitedMillis);
+        step.put("samples", samples[0]);
+        step.put("blockedSamples", samples[1]);
+        step.put("contendedSites", topSites(sites, samples[0]));
+        long gcMillis = 0;
+        Map<String, Object> gc = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : after.gc.entrySet()) {
+            long[] start = before.gc.get(entry.getKey());
+            long count = entry.getValue()[0] - start[0];
+            long millis = entry.getValue()[1] - start[1];
+            gcMillis += millis;
+            Map<String, Long> collector = new LinkedHashMap<>();
+            collector.put("count", count);
+            collector.put("millis", millis);
+            gc.put(entry.getKey(), collector);
+        }
+        step.put("gc", gc);
+        step.put("gcOverhead", gcMillis / (seconds * 1000));
+        if (before.safepoints != null && after.safepoints != null) {
+            Map<String, Object> safepoint = new LinkedHashMap<>();
+            long safepointMillis = after.safepoints[1] - before.safepoints[1];
+            safepoint.put("count", after.safepoints[0] - before.safepoints[0]);
+            safepoint.put("totalMillis", safepointMillis);
+            safepoint.put("syncMillis", after.safepoints[2] - before.safepoints[2]);
+            safepoint.put("overhead", safepointMillis / (seconds * 1000));
+            step.put("safepoint", safepoint);
+        }
+        if (jfrFile != null) {
+            step.put("jfr", jfrFile);
+        }
+        return step;
+    }
+
+    /**
+     * 在测量期间定时采样工作线程的堆栈，统计阻塞在锁上的位置
+     *
+     * @param ids   工作线程的id
+     * @param sites K: 锁 + 调用点, V: 采样次数
+     * @return [采样的线程次数, 阻塞的线程次数]
+     */
+    private int[] sample(long[] ids, Map<String, Integer> sites) throws InterruptedException {
+        int[] samples = new int[2];
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(measureMillis);
+        while (System.nanoTime() < deadline) {
+            for (ThreadInfo info : THREADS.getThreadInfo(ids, SAMPLE_DEPTH)) {
+                if (info == null) {
+                    continue;
+                }
+                samples[0]++;
+                // BLOCKED是等待synchronized，WAITING且有lockName是等待j.u.c的锁或者Future
+                boolean blocked = info.getThreadState() == Thread.State.BLOCKED
+                        || (info.getLockName() != null && info.getThreadState() != Thread.State.RUNNABLE);
+                if (blocked) {
+                    samples[1]++;
+                    sites.merge(site(info), 1, Integer::sum);
+                }
+            }
+            Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+        return samples;
+    }
+
+    /**
+     * 锁的类型、阻塞的位置以及最近的一个项目内的调用点
+     */
+    private static String site(ThreadInfo info) {
+        StackTraceElement[] stack = info.getStackTrace();
+        String lock = info.getLockName() == null ? "?" : info.getLockName().replaceAll("@[0-9a-f]+$", "");
+        String top = stack.length == 0 ? "?" : stack[0].toString();
+        for (StackTraceElement element : stack) {
+            if (element.getClassName().startsWith("com.lg.") && !element.getClassName().startsWith("com.lg.benchmark.")) {
+                return lock + " at " + top + " <- " + element;
+            }
+        }
+        return lock + " at " + top;
+    }
+
+    private static List<Map<String, Object>> topSites(Map<String, Integer> sites, int samples) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(sites.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (int i = 0; i < entries.size() && i < TOP_SITES; i++) {
+            Map<String, Object> site = new LinkedHashMap<>();
+            site.put("site", entries.get(i).getKey());
+            site.put("samples", entries.get(i).getValue());
+            site.put("ratio", samples == 0 ? 0 : (double) entries.get(i).getValue() / samples);
+            top.add(site);
+        }
+        return top;
+    }
+
+    /**
+     * 开始录制JFR，不支持时返回null
+     */
+    private String startRecording(int threads) {
+        if (jfrDir == null) {
+            return null;
+        }
+        String file = new File(jfrDir, "scaling-t" + threads + ".jfr").getAbsolutePath();
+        try {
+            diagnosticCommand("jfrStart", "name=scaling-t" + threads, "settings=profile", "filename=" + file);
+            return file;
+        } catch (Exception e) {
+            System.err.println("JFR is not available: " + e);
+            return null;
+        }
+    }
+
+    private void stopRecording(String file) {
+        if (file == null) {
+            return;
+        }
+        String name = new File(file).getName().replace(".jfr", "");
+        try {
+            diagnosticCommand("jfrStop", "name=" + name, "filename=" + file);
+        } catch (Exception e) {
+            System.err.println("Failed to stop JFR recording " + name + ": " + e);
+        }
+    }
+
+    private static void diagnosticCommand(String operation, String... arguments) throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"), operation,
+                new Object[]{arguments}, new String[]{String[].class.getName()});
+    }
+
+    /**
+     * 平铺/嵌套、通过/不通过混合的DTO，固定的随机种子保证每次运行相同
+     */
+    private static Object[] population(double invalidRatio, Random random) {
+        Object[] beans = new Object[POPULATION_SIZE];
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            boolean valid = random.nextDouble() >= invalidRatio;
+            if (random.nextBoolean()) {
+                beans[i] = valid
+                        ? new FlatAccount("张三" + i, "man", "15268848621")
+                        : new FlatAccount("", "freak", "10000000000");
+            } else {
+                beans[i] = valid
+                        ? new NestedAccount(i, "张三", new Address("杭州市西湖区" + i, "15268848621"))
+                        : new NestedAccount(null, "", new Address(null, "1000000000"));
+            }
+        }
+        return beans;
+    }
+
+    private static String property(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private static List<Integer> threadCounts(String spec) {
+        List<Integer> counts = new ArrayList<>();
+        if (spec != null && !spec.trim().isEmpty()) {
+            for (String count : spec.split(",")) {
+                counts.add(Integer.parseInt(count.trim()));
+            }
+            return counts;
+        }
+        int max = Runtime.getRuntime().availableProcessors() * 2;
+        for (int threads = 1; threads < max; threads <<= 1) {
+            counts.add(threads);
+        }
+        counts.add(max);
+        return counts;
+    }
+
+    /**
+     * 工作线程，交替调用validateBean和assertValidate
+     */
+    private final class Worker extends Thread {
+
+        private final CountDownLatch started;
+
+        private int index;
+
+        private long ops;
+
+        private long assertOps;
+
+        private Worker(int index, CountDownLatch started) {
+            this.index = index;
+            this.started = started;
+        }
+
+        @Override
+        public void run() {
+            started.countDown();
+            long count = 0;
+            long asserts = 0;
+            while (running) {
+                Object bean = population[index++ & (POPULATION_SIZE - 1)];
+                boolean assertion = (index & 1) == 0;
+                if (assertion) {
+                    try {
+                        ValidatorUtils.assertValidate(bean);
+                    } catch (BusinessException ignored) {
+                        // 校验不通过
+                    }
+                } else {
+                    ValidatorUtils.validateBean(bean);
+                }
+                if (measuring) {
+                    count++;
+                    if (assertion) {
+                        asserts++;
+                    }
+                }
+            }
+            this.ops = count;
+            this.assertOps = asserts;
+        }
+    }
+
+    /**
+     * 某一时刻的线程、GC和安全点统计
+     */
+    private static final class Snapshot {
+
+        private long nanos;
+
+        private long allocatedBytes;
+
+        private long blockedCount;
+
+        private long blockedMillis;
+
+        private long waitedCount;
+
+        private long waitedMillis;
+
+        /**
+         * K: 收集器名称, V: [次数, 耗时(毫秒)]
+         */
+        private final Map<String, long[]> gc = new LinkedHashMap<>();
+
+        /**
+         * [次数, 总耗时(毫秒), 到达安全点的耗时(毫秒)]，不支持时为null
+         */
+        private long[] safepoints;
+
+        static Snapshot take(long[] ids) {
+            Snapshot snapshot = new Snapshot();
+            snapshot.nanos = System.nanoTime();
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                for (long bytes : ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(ids)) {
+                    snapshot.allocatedBytes += Math.max(bytes, 0);
+                }
+            }
+            for (ThreadInfo info : THREADS.getThreadInfo(ids, 0)) {
+                if (info != null) {
+                    snapshot.blockedCount += info.getBlockedCount();
+                    snapshot.blockedMillis += Math.max(info.getBlockedTime(), 0);
+                    snapshot.waitedCount += info.getWaitedCount();
+                    snapshot.waitedMillis += Math.max(info.getWaitedTime(), 0);
+                }
+            }
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                snapshot.gc.put(collector.getName(),
+                        new long[]{collector.getCollectionCount(), collector.getCollectionTime()});
+            }
+            snapshot.safepoints = safepoints();
+            return snapshot;
+        }
+
+        /**
+         * JDK8的HotspotRuntimeMBean中的安全点统计，更高版本的JDK不开放该内部接口，
+         * 可以通过-Xlog:safepoint查看
+         */
+        private static long[] safepoints() {
+            try {
+                Class<?> helper = Class.forName("sun.management.ManagementFactoryHelper");
+                Object runtime = helper.getMethod("getHotspotRuntimeMBean").invoke(null);
+                Class<?> type = Class.forName("sun.management.HotspotRuntimeMBean");
+                Method count = type.getMethod("getSafepointCount");
+                Method total = type.getMethod("getTotalSafepointTime");
+                Method sync = type.getMethod("getSafepointSyncTime");
+                return new long[]{(Long) count.invoke(runtime), (Long) total.invoke(runtime),
+                        (Long) sync.invoke(runtime)};
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
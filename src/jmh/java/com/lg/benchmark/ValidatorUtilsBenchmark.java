@@ -0,0 +1,79 @@
+package com.lg.benchmark;
+
+import com.lg.benchmark.BenchmarkBeans.Address;
+import com.lg.benchmark.BenchmarkBeans.FlatAccount;
+import com.lg.benchmark.BenchmarkBeans.NestedAccount;
+import com.lg.utils.BusinessException;
+import com.lg.utils.ValidatorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidatorUtils热点方法的基准测试
+ * shape区分平铺/嵌套的bean，valid区分校验通过/不通过，compiled区分是否开启编译模式
+ *
+ * @author Xulg
+ * Created in 2026-10-17 10:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidatorUtilsBenchmark {
+
+    @Param({"FLAT", "NESTED"})
+    private String shape;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    @Param({"false", "true"})
+    private boolean compiled;
+
+    private Object bean;
+
+    private String property;
+
+    @Setup
+    public void setup() {
+        ValidatorUtils.setCompiledMode(compiled);
+        if ("FLAT".equals(shape)) {
+            bean = valid
+                    ? new FlatAccount("张三", "man", "15268848621")
+                    : new FlatAccount("", "freak", "10000000000");
+            property = "mobile";
+        } else {
+            bean = valid
+                    ? new NestedAccount(1, "张三", new Address("杭州市西湖区", "15268848621"))
+                    : new NestedAccount(null, "", new Address(null, "1000000000"));
+            property = "username";
+        }
+    }
+
+    @Benchmark
+    public ValidatorUtils.ValidResult validateBean() {
+        return ValidatorUtils.validateBean(bean);
+    }
+
+    @Benchmark
+    public Object assertValidate() {
+        try {
+            ValidatorUtils.assertValidate(bean);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ValidatorUtils.ValidResult validateProperty() {
+        return ValidatorUtils.validateProperty(bean, property);
+    }
+}
@@ -0,0 +1,31 @@
+package com.lg.annotation;
+
+import com.lg.validator.AsyncConstraintValidator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+
+/**
+ * 标记需要I/O的异步约束注解，类似{@link javax.validation.Constraint}
+ * 异步约束只在{@link com.lg.utils.ValidatorUtils#validateAsync}中校验，同步的校验方法会忽略它们。
+ * 约束注解需要声明message()和groups()两个属性
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:00
+ */
+@Documented
+@Target(ANNOTATION_TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncConstraint {
+
+    /**
+     * 约束的校验器，每个不同的注解实例创建一个校验器
+     *
+     * @return the validator class
+     */
+    Class<? extends AsyncConstraintValidator<?>> validatedBy();
+}
@@ -0,0 +1,50 @@
+package com.lg.annotation;
+
+import com.lg.validator.CheckDictValidator;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import javax.validation.ReportAsSingleViolation;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.*;
+
+/**
+ * 自定义校验Validation中的校验注解
+ * 检查值是否是数据字典中的code
+ * 字典数据来自{@link com.lg.validator.CodeDictionary}的内存快照，校验时不访问数据库；
+ * 被校验的字段可以是字符串或者数字，数字按十进制字符串比较
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:00
+ */
+@Documented
+@Target({FIELD, PARAMETER, ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ReportAsSingleViolation
+@Constraint(validatedBy = {CheckDictValidator.class})
+public @interface CheckDict {
+
+    String message() default "invalid dict value.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    /**
+     * 字典名称
+     *
+     * @return the dict name
+     */
+    String value();
+
+    @Target({METHOD, FIELD, ANNOTATION_TYPE, CONSTRUCTOR, PARAMETER})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface List {
+        CheckDict[] value();
+    }
+}
@@ -15,7 +15,8 @@ import static java.lang.annotation.ElementType.*;
 /**
  * 自定义校验Validation中的校验注解
  * 检查值是否在枚举中
- * 要求枚举有getCode()方法来获取枚举值
+ * 要求枚举有getCode()方法来获取枚举值，枚举值可以是String或者int/long，
+ * 被校验的字段需要是枚举本身或者和枚举值相同种类的类型
  *
  * @author wb-xlg283120
  * @version $Id: CheckEnum.java, v 0.1 2017/11/27 15:41 wb-xlg283120 Exp $
@@ -50,6 +51,7 @@ public @interface CheckEnum {
      * 白名单列表
      * 表示哪些枚举值需要做校验
      * 默认是所有的枚举值都参与校验
+     * 枚举值是int/long时填写十进制数字
      *
      * @return the white list
      */
@@ -0,0 +1,40 @@
+package com.lg.annotation;
+
+import com.lg.validator.ExistsValidator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.FIELD;
+
+/**
+ * 异步校验注解
+ * 属性值必须存在于数据库表的某一列中，null视为合法。
+ * 同一张表同一列的查询在一个很短的时间窗口内合并成一条in查询
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:00
+ */
+@Documented
+@Target({FIELD, ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@AsyncConstraint(validatedBy = ExistsValidator.class)
+public @interface Exists {
+
+    String message() default "数据不存在";
+
+    Class<?>[] groups() default {};
+
+    /**
+     * 表名
+     */
+    String table();
+
+    /**
+     * 列名
+     */
+    String column();
+}
@@ -0,0 +1,22 @@
+package com.lg.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+
+/**
+ * 标记不可变的值对象
+ * ValidatorUtils会缓存这类对象的校验结果，相等(equals)的对象按相同的分组再次校验时直接返回缓存的结果。
+ * 要求对象创建后不再修改，并且按属性实现了equals和hashCode(如lombok的@Value)，没有重写equals的类型不会缓存
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:20
+ */
+@Documented
+@Target({TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ImmutableBean {
+}
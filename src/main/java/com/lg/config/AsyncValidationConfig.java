@@ -0,0 +1,22 @@
+package com.lg.config;
+
+import com.lg.validator.ExistsValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 异步校验的配置
+ * 容器中存在数据源时交给{@link ExistsValidator}使用
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:10
+ */
+@Configuration
+public class AsyncValidationConfig {
+
+    public AsyncValidationConfig(ObjectProvider<DataSource> dataSource) {
+        dataSource.ifAvailable(ExistsValidator::setDataSource);
+    }
+}
@@ -0,0 +1,36 @@
+package com.lg.config;
+
+import com.lg.validator.CodeDictionary;
+import com.lg.validator.JdbcDictionaryLoader;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据字典的配置，validator.dict.enabled=true时开启
+ * 启动时从数据源加载一次，之后每隔validator.dict.refresh-seconds(默认60)秒在后台刷新
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:20
+ */
+@Configuration
+@ConditionalOnProperty(name = "validator.dict.enabled", havingValue = "true")
+public class DictionaryConfig implements DisposableBean {
+
+    public DictionaryConfig(DataSource dataSource,
+                            @Value("${validator.dict.sql:" + JdbcDictionaryLoader.DEFAULT_SQL + "}") String sql,
+                            @Value("${validator.dict.refresh-seconds:60}") long refreshSeconds) {
+        CodeDictionary dictionary = CodeDictionary.getDefault();
+        dictionary.setLoader(new JdbcDictionaryLoader(dataSource, sql));
+        dictionary.scheduleRefresh(refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        CodeDictionary.getDefault().stopRefresh();
+    }
+}
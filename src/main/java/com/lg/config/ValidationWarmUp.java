@@ -0,0 +1,213 @@
+package com.lg.config;
+
+import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.lg.annotation.AsyncConstraint;
+import com.lg.utils.ValidatorUtils;
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.FieldAnnotationsScanner;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.Scanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动时预热校验，只有配置了validator.warm-up.packages时才开启，validator.warm-up.enabled=false时关闭
+ * <p>
+ * 扫描validator.warm-up.packages(逗号分隔，应该只包含DTO所在的包)下带有javax.validation或者com.lg.annotation约束的类，
+ * 在validator.warm-up.threads(默认CPU核数)个线程中并行调用{@link ValidatorUtils#warmUp}。
+ * 预热在所有单例创建之后、web容器启动之前执行，完成之前应用不会对外提供服务
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:20
+ */
+@Configuration
+@ConditionalOnExpression("${validator.warm-up.enabled:true} and '${validator.warm-up.packages:}' != ''")
+public class ValidationWarmUp implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationWarmUp.class);
+
+    /**
+     * 汇总日志中列出的最慢的类的个数
+     */
+    private static final int SLOWEST = 10;
+
+    private final String[] packages;
+
+    private final int threads;
+
+    private volatile Map<Class<?>, Long> timings = Collections.emptyMap();
+
+    public ValidationWarmUp(@Value("${validator.warm-up.packages}") String[] packages,
+                            @Value("${validator.warm-up.threads:0}") int threads) {
+        this.packages = packages;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.run();
+    }
+
+    /**
+     * 扫描并预热所有带有约束的类
+     *
+     * @return 每个类的预热耗时(纳秒)，按耗时降序排列，预热失败的类不包括在内
+     */
+    public Map<Class<?>, Long> run() {
+        long start = System.nanoTime();
+        Set<Class<?>> classes = this.findConstrainedClasses();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("validator-warm-up-%d").build());
+        List<Map.Entry<Class<?>, Long>> results = new ArrayList<>();
+        try {
+            List<Callable<Long>> tasks = new ArrayList<>();
+            for (Class<?> type : classes) {
+                tasks.add(() -> {
+                    long begin = System.nanoTime();
+                    ValidatorUtils.warmUp(type);
+                    return System.nanoTime() - begin;
+                });
+            }
+            List<Future<Long>> futures = executor.invokeAll(tasks);
+            int i = 0;
+            for (Class<?> type : classes) {
+                try {
+                    long nanos = futures.get(i++).get();
+                    results.add(new AbstractMap.SimpleImmutableEntry<>(type, nanos));
+                    LOGGER.debug("Warmed up validation of {} in {} us", type.getName(),
+                            TimeUnit.NANOSECONDS.toMicros(nanos));
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Failed to warm up validation of " + type.getName(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        results.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        Map<Class<?>, Long> sorted = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, Long> result : results) {
+            sorted.put(result.getKey(), result.getValue());
+        }
+        this.timings = Collections.unmodifiableMap(sorted);
+        this.report(classes.size(), System.nanoTime() - start, results);
+        return this.timings;
+    }
+
+    /**
+     * 最近一次预热每个类的耗时(纳秒)，按耗时降序排列
+     */
+    public Map<Class<?>, Long> getTimings() {
+        return timings;
+    }
+
+    /**
+     * 扫描配置的包下带有约束的类，包括约束在类、字段和方法上的情况
+     */
+    Set<Class<?>> findConstrainedClasses() {
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .forPackages(packages)
+                .filterInputsBy(new FilterBuilder().includePackage(packages))
+                .setScanners(new TypeAnnotationsScanner(), new FieldAnnotationsScanner(),
+                        new MethodAnnotationsScanner()));
+        Store store = reflections.getStore();
+        // 按类名排序，预热的顺序稳定
+        Set<String> classNames = new TreeSet<>();
+        collect(store, TypeAnnotationsScanner.class, classNames);
+        collect(store, FieldAnnotationsScanner.class, classNames);
+        collect(store, MethodAnnotationsScanner.class, classNames);
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (String className : classNames) {
+            Class<?> type = load(className);
+            if (type != null && !type.isAnnotation()) {
+                classes.add(type);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 收集带有约束注解的类名
+     *
+     * @param store   扫描结果，K: 注解类名, V: 类名、"类名.字段名"或者"类名.方法名(参数)"
+     * @param scanner the scanner
+     */
+    private static void collect(Store store, Class<? extends Scanner> scanner, Collection<String> classNames) {
+        if (!store.keySet().contains(scanner.getSimpleName())) {
+            return;
+        }
+        Multimap<String, String> annotated = store.get(scanner.getSimpleName());
+        for (String annotationName : annotated.keySet()) {
+            if (!isConstraint(annotationName)) {
+                continue;
+            }
+            for (String element : annotated.get(annotationName)) {
+                if (scanner == TypeAnnotationsScanner.class) {
+                    classNames.add(element);
+                } else {
+                    int end = element.indexOf('(');
+                    String member = end < 0 ? element : element.substring(0, end);
+                    classNames.add(member.substring(0, member.lastIndexOf('.')));
+                }
+            }
+        }
+    }
+
+    private static boolean isConstraint(String annotationName) {
+        if (annotationName.startsWith("javax.validation.") || annotationName.startsWith("com.lg.annotation.")) {
+            return true;
+        }
+        Class<?> annotation = load(annotationName);
+        return annotation != null && annotation.isAnnotation()
+                && (annotation == Valid.class || annotation.isAnnotationPresent(Constraint.class)
+                || annotation.isAnnotationPresent(AsyncConstraint.class));
+    }
+
+    private static Class<?> load(String className) {
+        try {
+            return Class.forName(className, false, ValidationWarmUp.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.debug("Skip warming up {}: {}", className, e.toString());
+            return null;
+        }
+    }
+
+    private void report(int total, long nanos, List<Map.Entry<Class<?>, Long>> results) {
+        StringBuilder slowest = new StringBuilder();
+        for (int i = 0; i < results.size() && i < SLOWEST; i++) {
+            slowest.append(i == 0 ? "" : ", ").append(results.get(i).getKey().getSimpleName())
+                    .append('=').append(TimeUnit.NANOSECONDS.toMillis(results.get(i).getValue())).append("ms");
+        }
+        LOGGER.info("Warmed up validation of {}/{} classes in {} ms with {} threads, slowest: [{}]",
+                results.size(), total, TimeUnit.NANOSECONDS.toMillis(nanos), threads, slowest);
+    }
+}
@@ -0,0 +1,54 @@
+package com.lg.controller;
+
+import com.google.common.cache.CacheStats;
+import com.lg.metrics.ValidationMetrics;
+import com.lg.utils.ValidatorUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 校验的统计数据
+ * 清空统计的接口默认关闭，需要配置validator.metrics.reset-enabled=true
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:00
+ */
+@RestController
+@RequestMapping("/validation/metrics")
+public class ValidationMetricsController {
+
+    private final boolean resetEnabled;
+
+    public ValidationMetricsController(@Value("${validator.metrics.reset-enabled:false}") boolean resetEnabled) {
+        this.resetEnabled = resetEnabled;
+    }
+
+    @GetMapping
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = ValidationMetrics.snapshot();
+        CacheStats stats = ValidatorUtils.getResultCacheStats();
+        Map<String, Object> resultCache = new LinkedHashMap<>();
+        resultCache.put("hitCount", stats.hitCount());
+        resultCache.put("missCount", stats.missCount());
+        resultCache.put("hitRate", stats.hitRate());
+        resultCache.put("evictionCount", stats.evictionCount());
+        metrics.put("resultCache", resultCache);
+        return metrics;
+    }
+
+    @DeleteMapping
+    public void reset() {
+        if (!resetEnabled) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "validator.metrics.reset-enabled is false");
+        }
+        ValidationMetrics.reset();
+    }
+}
@@ -0,0 +1,79 @@
+package com.lg.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 某个bean类型的校验统计
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:45
+ */
+public final class BeanMetrics {
+
+    private final LongAdder calls = new LongAdder();
+
+    /**
+     * 校验失败的次数
+     */
+    private final LongAdder invalidCalls = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * K: 约束名称, V: 违反的次数
+     */
+    private final ConcurrentMap<String, LongAdder> violations = new ConcurrentHashMap<>();
+
+    BeanMetrics() {
+    }
+
+    /**
+     * 记录一次校验
+     *
+     * @param nanos 耗时(纳秒)
+     * @param valid 是否校验通过
+     */
+    public void record(long nanos, boolean valid) {
+        calls.increment();
+        if (!valid) {
+            invalidCalls.increment();
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * 记录一个违反的约束
+     *
+     * @param constraint 约束名称，如NotEmpty
+     */
+    public void recordViolation(String constraint) {
+        LongAdder counter = violations.get(constraint);
+        if (counter == null) {
+            counter = violations.computeIfAbsent(constraint, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    void reset() {
+        calls.reset();
+        invalidCalls.reset();
+        latency.reset();
+        violations.clear();
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("calls", calls.sum());
+        snapshot.put("invalidCalls", invalidCalls.sum());
+        snapshot.put("latencyNanos", latency.snapshot());
+        Map<String, Long> counts = new TreeMap<>();
+        violations.forEach((constraint, counter) -> counts.put(constraint, counter.sum()));
+        snapshot.put("violations", counts);
+        return snapshot;
+    }
+}
@@ -0,0 +1,51 @@
+package com.lg.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 某个约束校验器的调用统计
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:40
+ */
+public final class ConstraintMetrics {
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder violations = new LongAdder();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    ConstraintMetrics() {
+    }
+
+    /**
+     * 记录一次校验
+     *
+     * @param nanos 耗时(纳秒)
+     * @param valid 是否校验通过
+     */
+    public void record(long nanos, boolean valid) {
+        calls.increment();
+        if (!valid) {
+            violations.increment();
+        }
+        latency.record(nanos);
+    }
+
+    void reset() {
+        calls.reset();
+        violations.reset();
+        latency.reset();
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("calls", calls.sum());
+        snapshot.put("violations", violations.sum());
+        snapshot.put("latencyNanos", latency.snapshot());
+        return snapshot;
+    }
+}
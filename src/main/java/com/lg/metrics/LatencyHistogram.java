@@ -0,0 +1,136 @@
+package com.lg.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁的耗时直方图
+ * 和HdrHistogram一样按"2的幂 + 线性子区间"划分桶，每个2的幂区间再分成8个子区间，相对误差不超过12.5%。
+ * 每个桶的计数和总耗时都是LongAdder，多线程记录时分散到不同的单元，不会争用同一个缓存行；
+ * 最大值只在超过当前值时才CAS，稳定后记录只读不写。桶的计数器在首次落入时创建，之后记录不加锁也不创建对象
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:30
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 每个2的幂区间的子区间个数 = 2 ^ SUB_BUCKET_BITS
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKETS);
+
+    private final AtomicLong max = new AtomicLong();
+
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时(纳秒)，负数按0记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        this.counter(index(value)).increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * 清空记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder counter = counts.get(i);
+            if (counter != null) {
+                counter.reset();
+            }
+        }
+        max.set(0);
+        sum.reset();
+    }
+
+    private LongAdder counter(int index) {
+        LongAdder counter = counts.get(index);
+        if (counter == null) {
+            counts.compareAndSet(index, null, new LongAdder());
+            counter = counts.get(index);
+        }
+        return counter;
+    }
+
+    /**
+     * 当前记录的快照，并发记录时各项数据之间可能有细微的不一致
+     *
+     * @return count, mean, p50, p90, p99, p99.9, max，单位纳秒
+     */
+    public Map<String, Object> snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder counter = counts.get(i);
+            copy[i] = counter == null ? 0 : counter.sum();
+            count += copy[i];
+        }
+        long maxValue = max.get();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", count);
+        snapshot.put("mean", count == 0 ? 0 : sum.sum() / count);
+        for (double percentile : PERCENTILES) {
+            snapshot.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)), Math.min(valueAt(copy, count, percentile), maxValue));
+        }
+        snapshot.put("max", maxValue);
+        return snapshot;
+    }
+
+    private static long valueAt(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length - 1);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 桶内的最大值
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return lowest + width - 1;
+    }
+}
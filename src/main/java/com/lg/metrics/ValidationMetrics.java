@@ -0,0 +1,101 @@
+package com.lg.metrics;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 校验的统计数据
+ * 按bean类型统计ValidatorUtils的调用次数、失败次数、耗时分布以及每种约束的违反次数，
+ * 按约束统计CheckEnumValidator、MobileValidator等校验器的调用次数、失败次数和耗时分布。
+ * 默认关闭，每次校验需要两次nanoTime()和若干计数，可以通过-Dvalidator.metrics=true或者{@link #setEnabled}开启
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:50
+ */
+public final class ValidationMetrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("validator.metrics");
+
+    private static final ConcurrentMap<Class<?>, BeanMetrics> BEANS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, ConstraintMetrics> CONSTRAINTS = new ConcurrentHashMap<>();
+
+    private ValidationMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ValidationMetrics.enabled = enabled;
+    }
+
+    /**
+     * 获取bean类型的统计
+     *
+     * @param beanClass the bean class
+     * @return the metrics
+     */
+    public static BeanMetrics bean(Class<?> beanClass) {
+        BeanMetrics metrics = BEANS.get(beanClass);
+        if (metrics == null) {
+            metrics = BEANS.computeIfAbsent(beanClass, key -> new BeanMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * 获取约束校验器的统计，校验器应该在初始化时获取并保存
+     *
+     * @param constraint 约束名称，如Mobile、CheckEnum(com.lg.Sex)
+     * @return the metrics
+     */
+    public static ConstraintMetrics constraint(String constraint) {
+        ConstraintMetrics metrics = CONSTRAINTS.get(constraint);
+        if (metrics == null) {
+            metrics = CONSTRAINTS.computeIfAbsent(constraint, key -> new ConstraintMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * 清空统计数据
+     */
+    public static void reset() {
+        BEANS.values().forEach(BeanMetrics::reset);
+        CONSTRAINTS.values().forEach(ConstraintMetrics::reset);
+    }
+
+    /**
+     * 统计数据的快照
+     *
+     * @return {"beans": {类名: 统计}, "constraints": {约束名称: 统计}}
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> beans = new TreeMap<>();
+        BEANS.forEach((beanClass, metrics) -> beans.put(beanClass.getName(), metrics.snapshot()));
+        Map<String, Object> constraints = new TreeMap<>();
+        CONSTRAINTS.forEach((name, metrics) -> constraints.put(name, metrics.snapshot()));
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("beans", beans);
+        snapshot.put("constraints", constraints);
+        return snapshot;
+    }
+
+    /**
+     * json格式的统计数据
+     *
+     * @return the json
+     */
+    public static String toJson() {
+        return JSON.toJSONString(snapshot(), SerializerFeature.PrettyFormat);
+    }
+}
@@ -0,0 +1,148 @@
+package com.lg.test;
+
+import com.lg.annotation.Exists;
+import com.lg.utils.ValidatorUtils;
+import com.lg.validator.ExistsValidator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试异步校验，使用内存数据库h2代替业务库
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:40
+ */
+public class AsyncValidatorTest {
+
+    /**
+     * 查询次数，每次查询获取一个连接
+     */
+    private static final AtomicInteger QUERIES = new AtomicInteger();
+
+    private static DriverManagerDataSource dataSource;
+
+    @BeforeClass
+    public static void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:async_validator;DB_CLOSE_DELAY=-1", "sa", "") {
+            @Override
+            public Connection getConnection() throws SQLException {
+                QUERIES.incrementAndGet();
+                return super.getConnection();
+            }
+        };
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table t_user (id bigint primary key, name varchar(32))");
+        jdbcTemplate.execute("create table t_product (sku varchar(32) primary key)");
+        for (int i = 1; i <= 100; i++) {
+            jdbcTemplate.update("insert into t_user values (?, ?)", i, "user" + i);
+            jdbcTemplate.update("insert into t_product values (?)", "SKU" + i);
+        }
+        QUERIES.set(0);
+        ExistsValidator.setDataSource(dataSource);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        ExistsValidator.setDataSource(null);
+    }
+
+    @Test
+    public void testValidateAsync() {
+        Order order = new Order("订单", 1L, Arrays.asList(new Item("SKU1"), new Item("SKU404"), new Item("SKU2")));
+        ValidatorUtils.ValidResult result = ValidatorUtils.validateAsync(order).join();
+        System.err.println(result.getErrors());
+        // 只有异步约束不通过
+        Assert.assertTrue(result.hasErrors());
+        Assert.assertEquals(1, result.getAllErrors().size());
+        Assert.assertEquals("items[1].sku", result.getAllErrors().get(0).getPropertyPath());
+        // 错误信息和同步约束一样插值
+        Assert.assertEquals("商品不存在: sku", result.getAllErrors().get(0).getMessage());
+
+        result = ValidatorUtils.validateAsync(new Order("订单", 404L, new ArrayList<>())).join();
+        Assert.assertTrue(result.hasErrors());
+        Assert.assertEquals("userId:用户不存在 ", result.getErrors());
+
+        // 同步约束和异步约束的错误合并在一起
+        result = ValidatorUtils.validateAsync(new Order("", 404L, new ArrayList<>())).join();
+        System.err.println(result.getErrors());
+        Assert.assertEquals(2, result.getAllErrors().size());
+
+        Assert.assertSame(ValidatorUtils.ValidResult.VALID,
+                ValidatorUtils.validateAsync(new Order("订单", 2L, new ArrayList<>())).join());
+        // 同步的校验不检查异步约束
+        Assert.assertFalse(ValidatorUtils.validateBean(new Order("订单", 404L, new ArrayList<>())).hasErrors());
+    }
+
+    @Test
+    public void testBatchedQueries() {
+        QUERIES.set(0);
+        List<CompletableFuture<ValidatorUtils.ValidResult>> futures = new ArrayList<>();
+        for (long i = 1; i <= 200; i++) {
+            futures.add(ValidatorUtils.validateAsync(new Order("订单", i,
+                    Arrays.asList(new Item("SKU" + i), new Item("SKU" + (i + 1))))));
+        }
+        int invalid = 0;
+        for (CompletableFuture<ValidatorUtils.ValidResult> future : futures) {
+            invalid += future.join().getAllErrors().size();
+        }
+        System.err.println(invalid + " errors, " + QUERIES.get() + " queries");
+        // userId 101~200不存在，两个明细中SKU101~SKU201不存在
+        Assert.assertEquals(100 + 100 + 101, invalid);
+        // 400次查找合并成批量查询，次数和调用线程的速度有关
+        Assert.assertTrue(QUERIES.get() < 100);
+    }
+
+    @Test
+    public void testQueryFailure() {
+        ExistsValidator.setDataSource(null);
+        try {
+            ValidatorUtils.validateAsync(new Order("订单", 1L, new ArrayList<>())).join();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            System.err.println(e.getCause());
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            ExistsValidator.setDataSource(dataSource);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Order {
+
+        @NotEmpty(message = "标题不能为空")
+        private String title;
+
+        @Exists(table = "t_user", column = "id", message = "用户不存在")
+        private Long userId;
+
+        @Valid
+        private List<Item> items;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Item {
+
+        @Exists(table = "t_product", column = "sku", message = "商品不存在: {column}")
+        private String sku;
+    }
+}
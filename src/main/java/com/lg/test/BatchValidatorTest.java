@@ -0,0 +1,99 @@
+package com.lg.test;
+
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * 测试批量校验
+ *
+ * @author Xulg
+ * Created in 2026-10-17 16:30
+ */
+public class BatchValidatorTest {
+
+    private static final int SIZE = 10000;
+
+    @Test
+    public void testValidateAll() {
+        List<Account> accounts = accounts();
+        ValidatorUtils.BatchValidResult result = ValidatorUtils.validateAll(accounts);
+        Assert.assertTrue(result.hasErrors());
+        Assert.assertEquals(SIZE, result.getTotal());
+        Assert.assertArrayEquals(expectedIndexes(), result.getInvalidIndexes());
+        System.err.println(result.getAllErrors().get(0).getPropertyPath() + ":"
+                + result.getAllErrors().get(0).getMessage());
+        Assert.assertEquals("[0].mobile", result.getAllErrors().get(0).getPropertyPath());
+
+        // 非随机访问的集合
+        result = ValidatorUtils.validateAll(new LinkedList<>(accounts));
+        Assert.assertArrayEquals(expectedIndexes(), result.getInvalidIndexes());
+    }
+
+    @Test
+    public void testValidateAllPassed() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            accounts.add(new Account("user" + i, "15268848621"));
+        }
+        ValidatorUtils.BatchValidResult result = ValidatorUtils.validateAll(accounts);
+        Assert.assertFalse(result.hasErrors());
+        Assert.assertEquals(0, result.getInvalidIndexes().length);
+        Assert.assertEquals("", result.getErrors());
+    }
+
+    @Test
+    public void testStreamingValidateAll() {
+        List<Long> indexes = new ArrayList<>();
+        long total = ValidatorUtils.validateAll(accounts().stream().iterator(), 1000,
+                (index, bean, result) -> {
+                    Assert.assertTrue(result.hasErrors());
+                    indexes.add(index);
+                });
+        Assert.assertEquals(SIZE, total);
+        int[] expected = expectedIndexes();
+        Assert.assertEquals(expected.length, indexes.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], indexes.get(i).longValue());
+        }
+    }
+
+    /**
+     * 下标是7的倍数的元素校验失败
+     */
+    private static List<Account> accounts() {
+        List<Account> accounts = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            accounts.add(i % 7 == 0 ? new Account("user" + i, "10000000000")
+                    : new Account("user" + i, "15268848621"));
+        }
+        return accounts;
+    }
+
+    private static int[] expectedIndexes() {
+        int[] indexes = new int[(SIZE + 6) / 7];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i * 7;
+        }
+        return indexes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Account {
+
+        @NotEmpty
+        private String username;
+
+        @Mobile
+        private String mobile;
+    }
+}
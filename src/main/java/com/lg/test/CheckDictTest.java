@@ -0,0 +1,114 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckDict;
+import com.lg.utils.ValidatorUtils;
+import com.lg.validator.CodeDictionary;
+import com.lg.validator.JdbcDictionaryLoader;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试数据字典的校验，使用内存数据库h2代替字典表
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:30
+ */
+public class CheckDictTest {
+
+    private static DriverManagerDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:check_dict;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table sys_dict (dict_name varchar(32), dict_code varchar(32))");
+        jdbcTemplate.update("insert into sys_dict values ('order_status', 'CREATED'), ('order_status', 'PAID'),"
+                + " ('pay_type', '1'), ('pay_type', '2')");
+        CodeDictionary.getDefault().setLoader(new JdbcDictionaryLoader(dataSource));
+    }
+
+    @After
+    public void tearDown() {
+        CodeDictionary.getDefault().stopRefresh();
+        jdbcTemplate.update("delete from sys_dict where dict_code = 'SHIPPED'");
+        CodeDictionary.getDefault().refresh();
+        ValidatorUtils.setCompiledMode(false);
+    }
+
+    @Test
+    public void testCheckDict() {
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            Assert.assertFalse(ValidatorUtils.validateBean(new Order("PAID", 1)).hasErrors());
+            Assert.assertFalse(ValidatorUtils.validateBean(new Order(null, null)).hasErrors());
+            ValidatorUtils.ValidResult result = ValidatorUtils.validateBean(new Order("SHIPPED", 3));
+            System.err.println(result.getErrors());
+            Assert.assertEquals(2, result.getAllErrors().size());
+        }
+    }
+
+    @Test
+    public void testRefresh() {
+        CodeDictionary dictionary = CodeDictionary.getDefault();
+        long version = dictionary.getVersion();
+        jdbcTemplate.update("insert into sys_dict values ('order_status', 'SHIPPED')");
+        // 刷新前仍然使用原来的快照
+        Assert.assertFalse(dictionary.contains("order_status", "SHIPPED"));
+        Assert.assertTrue(dictionary.refresh());
+        Assert.assertEquals(version + 1, dictionary.getVersion());
+        Assert.assertTrue(dictionary.contains("order_status", "SHIPPED"));
+        Assert.assertFalse(ValidatorUtils.validateBean(new Order("SHIPPED", 1)).hasErrors());
+    }
+
+    @Test
+    public void testRefreshFailure() {
+        CodeDictionary dictionary = CodeDictionary.getDefault();
+        long version = dictionary.getVersion();
+        dictionary.setLoader(new JdbcDictionaryLoader(dataSource));
+        try {
+            dictionary.setLoader(new JdbcDictionaryLoader(dataSource, "select * from missing_table"));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            System.err.println(e.getCause().getMessage());
+        }
+        // 加载失败时保留原来的快照
+        Assert.assertNotNull(dictionary.getLastError());
+        Assert.assertEquals(version + 1, dictionary.getVersion());
+        Assert.assertTrue(dictionary.contains("order_status", "PAID"));
+        dictionary.setLoader(new JdbcDictionaryLoader(dataSource));
+        Assert.assertNull(dictionary.getLastError());
+    }
+
+    @Test
+    public void testScheduleRefresh() throws InterruptedException {
+        CodeDictionary dictionary = CodeDictionary.getDefault();
+        dictionary.scheduleRefresh(20, TimeUnit.MILLISECONDS);
+        jdbcTemplate.update("insert into sys_dict values ('order_status', 'SHIPPED')");
+        for (int i = 0; i < 100 && !dictionary.contains("order_status", "SHIPPED"); i++) {
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(dictionary.contains("order_status", "SHIPPED"));
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Order {
+
+        @CheckDict(value = "order_status", message = "订单状态不正确")
+        private String status;
+
+        @CheckDict(value = "pay_type", message = "支付方式不正确")
+        private Integer payType;
+    }
+}
@@ -0,0 +1,324 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.utils.BusinessException;
+import com.lg.utils.ValidateMode;
+import com.lg.utils.ValidatorUtils;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Path;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 测试编译模式，结果需要和hibernate的校验结果一致
+ *
+ * @author Xulg
+ * Created in 2026-10-17 13:10
+ */
+public class CompiledValidatorTest {
+
+    /**
+     * {@link CompiledValidatorTest_ProbeValidator}的静态初始化是否执行过
+     */
+    static final boolean[] PROBE_VALIDATOR_INITIALIZED = new boolean[1];
+
+    @After
+    public void tearDown() {
+        ValidatorUtils.setCompiledMode(false);
+        ValidatorUtils.setViolationTranslator(null);
+    }
+
+    @Test
+    public void testFlatBean() {
+        assertSameResult(new Account("张三", "man", "15268848621"));
+        assertSameResult(new Account("", "freak", "10000000000"));
+        assertSameResult(new Account(null, "Man", null));
+    }
+
+    @Test
+    public void testNestingBean() {
+        assertSameResult(new Order(null, null));
+        assertSameResult(new Order(1, new Address(null, "1000000000")));
+        assertSameResult(new Order(1, new Address("杭州市西湖区", "15268848621")));
+    }
+
+    @Test
+    public void testUnrelatedValidatorClassNotInitialized() {
+        // CompiledValidatorTest_ProbeValidator和生成的校验器同名，但不是生成的校验器，不能被初始化
+        ValidatorUtils.warmUp(Probe.class);
+        Assert.assertFalse(ValidatorUtils.validateBean(new Probe("探针")).hasErrors());
+        Assert.assertFalse(PROBE_VALIDATOR_INITIALIZED[0]);
+    }
+
+    @Test
+    public void testGroup() {
+        Order order = new Order(null, new Address(null, null));
+        assertSameResult(order, Update.class);
+        assertSameResult(order, Default.class, Update.class);
+    }
+
+    @Test
+    public void testMultipleGroups() {
+        Article article = new Article(null, "", null);
+        for (int i = 0; i < 2; i++) {
+            // 第二次使用缓存的分组计划
+            assertSameResult(article, Create.class);
+            assertSameResult(article, Create.class, Update.class);
+            assertSameResult(article, Create.class, Update.class, Publish.class);
+            assertSameResult(article, Publish.class, Default.class, Create.class);
+            assertSameResult(new Article(1, "标题", "正文"), Create.class, Update.class, Publish.class);
+        }
+    }
+
+    @Test
+    public void testUnsupportedConstraint() {
+        // Size不能内联，整个bean交给hibernate校验
+        assertSameResult(new Remark("a"));
+    }
+
+    @Test
+    public void testBackReferenceFromUncompiledBean() {
+        // Member不能编译，交给hibernate校验时不能沿着team重新校验根对象
+        Team team = new Team(null);
+        team.leader = new Member("a", team);
+        assertSameResult(team);
+        ValidatorUtils.setCompiledMode(true);
+        Assert.assertEquals(2, ValidatorUtils.validateBean(team).getAllErrors().size());
+    }
+
+    @Test
+    public void testPropertyPathNodes() {
+        Order order = new Order(1, new Address(null, null));
+        List<String> nodes = new ArrayList<>();
+        ValidatorUtils.setViolationTranslator(violation -> {
+            StringBuilder description = new StringBuilder(violation.getPropertyPath().toString());
+            for (Path.Node node : violation.getPropertyPath()) {
+                description.append(' ').append(node.getName()).append('/').append(node.getKind())
+                        .append('/').append(node.isInIterable()).append('/').append(node.getIndex());
+            }
+            nodes.add(description.toString());
+            return new IllegalArgumentException();
+        });
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            try {
+                ValidatorUtils.assertValidate(order);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+                System.err.println(nodes.get(nodes.size() - 1));
+            }
+        }
+        // 编译模式的路径节点和hibernate一致
+        Assert.assertEquals("address.addressInfo address/PROPERTY/false/null addressInfo/PROPERTY/false/null",
+                nodes.get(0));
+        Assert.assertEquals(nodes.get(0), nodes.get(1));
+    }
+
+    @Test
+    public void testValidateProperty() {
+        Account account = new Account("", "freak", "10000000000");
+        for (String property : new String[]{"username", "sex", "mobile"}) {
+            ValidatorUtils.setCompiledMode(false);
+            String expected = ValidatorUtils.validateProperty(account, property).getErrors();
+            ValidatorUtils.setCompiledMode(true);
+            String actual = ValidatorUtils.validateProperty(account, property).getErrors();
+            System.err.println(actual);
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testFailFast() {
+        Account account = new Account("", "freak", "10000000000");
+        Order order = new Order(null, new Address(null, "1000000000"));
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            Assert.assertEquals(3, ValidatorUtils.validateBean(account).getAllErrors().size());
+            ValidatorUtils.ValidResult result = ValidatorUtils.validateBean(account, ValidateMode.FAIL_FAST);
+            System.err.println(result.getErrors());
+            Assert.assertTrue(result.hasErrors());
+            Assert.assertEquals(1, result.getAllErrors().size());
+            Assert.assertEquals(1, ValidatorUtils.validateBean(order, ValidateMode.FAIL_FAST).getAllErrors().size());
+            try {
+                ValidatorUtils.assertValidate(account);
+                Assert.fail();
+            } catch (BusinessException e) {
+                System.err.println(e.getCode() + ":" + e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testValidResult() {
+        Account valid = new Account("张三", "man", "15268848621");
+        Account invalid = new Account("", "freak", "10000000000");
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            // 校验通过时返回共享的结果
+            Assert.assertSame(ValidatorUtils.ValidResult.VALID, ValidatorUtils.validateBean(valid));
+            Assert.assertSame(ValidatorUtils.ValidResult.VALID, ValidatorUtils.validateProperty(valid, "mobile"));
+
+            ValidatorUtils.ValidResult result = ValidatorUtils.validateBean(invalid);
+            Assert.assertTrue(result.hasErrors());
+            Assert.assertSame(result.getErrors(), result.getErrors());
+            result.addError("other", "其他错误");
+            Assert.assertEquals(4, result.getAllErrors().size());
+            Assert.assertTrue(result.getErrors().contains("other:其他错误"));
+        }
+        try {
+            ValidatorUtils.ValidResult.VALID.addError("other", "其他错误");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            Assert.assertFalse(ValidatorUtils.ValidResult.VALID.hasErrors());
+            Assert.assertEquals("", ValidatorUtils.ValidResult.VALID.getErrors());
+        }
+    }
+
+    private static void assertSameResult(Object bean, Class<?>... groups) {
+        ValidatorUtils.setCompiledMode(false);
+        Set<String> expected = errors(ValidatorUtils.validateBean(bean, groups));
+        ValidatorUtils.setCompiledMode(true);
+        Set<String> actual = errors(ValidatorUtils.validateBean(bean, groups));
+        System.err.println(actual);
+        Assert.assertEquals(expected, actual);
+    }
+
+    private static Set<String> errors(ValidatorUtils.ValidResult result) {
+        Set<String> errors = new TreeSet<>();
+        for (ValidatorUtils.ErrorMessage error : result.getAllErrors()) {
+            errors.add(error.getPropertyPath() + ":" + error.getMessage());
+        }
+        return errors;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Account implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotEmpty
+        private String username;
+
+        @CheckEnum(value = CustomValidatorTest.Sex.class, whitelist = {"man", "female"}, message = "性别只能是man,female")
+        private String sex;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Order implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotNull(groups = Update.class, message = "id不能为空")
+        private Integer id;
+
+        @NotNull(message = "address不能为空")
+        @Valid
+        private Address address;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Address implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotEmpty(message = "详情地址不能为空")
+        private String addressInfo;
+
+        @Mobile(message = "联系电话格式不正确", isStrict = false)
+        private String contactMobile;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Remark implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Size(min = 2, max = 10)
+        private String content;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Article implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotNull(groups = {Update.class, Publish.class}, message = "id不能为空")
+        private Integer id;
+
+        @NotEmpty(groups = {Create.class, Update.class, Publish.class}, message = "标题不能为空")
+        private String title;
+
+        @NotEmpty(groups = Publish.class, message = "正文不能为空")
+        private String content;
+    }
+
+    @Getter
+    private static class Team {
+
+        @NotEmpty(message = "团队名称不能为空")
+        private String name;
+
+        @Valid
+        private Member leader;
+
+        private Team(String name) {
+            this.name = name;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Member {
+
+        @Size(min = 2, message = "姓名至少两个字")
+        private String name;
+
+        @Valid
+        private Team team;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Probe {
+
+        @NotEmpty
+        private String name;
+    }
+
+    private interface Update extends Default {
+    }
+
+    private interface Create {
+    }
+
+    private interface Publish {
+    }
+}
+
+/**
+ * 类名和{@link CompiledValidatorTest}中Probe的生成的校验器相同的普通类
+ */
+class CompiledValidatorTest_ProbeValidator {
+
+    static {
+        CompiledValidatorTest.PROBE_VALIDATOR_INITIALIZED[0] = true;
+    }
+}
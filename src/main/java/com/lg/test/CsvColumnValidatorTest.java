@@ -0,0 +1,160 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.utils.CsvColumnValidator;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试直接在csv文件的字节上校验列
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:05
+ */
+public class CsvColumnValidatorTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("import", ".csv");
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(file);
+    }
+
+    @Test
+    public void testValidate() throws IOException {
+        FileUtils.write(file, "姓名,手机号,联系电话,性别,状态\r\n"
+                + "张三,13800138000,13800138000,man,1\r\n"
+                + "李四,12345678901,10000000000,female,2\r\n"
+                + "\r\n"
+                + "\"王,五\",,1380013800x,鹅,3\r\n"
+                + ",13800138000,,\"man\",9\r\n"
+                + "\"赵\"\"六\"\"\",13800138000\n", StandardCharsets.UTF_8);
+        List<String> errors = new ArrayList<>();
+        long rows = CsvColumnValidator.of(ImportRow.class, "name", "mobile", "phone", "sex", "status")
+                .onInvalid((row, column, message) -> errors.add(row + ":" + column + ":" + message))
+                .validate(file);
+        System.err.println(errors);
+        // 空行也占一个下标，行的下标和文件的行号对应
+        Assert.assertEquals(6, rows);
+        Assert.assertEquals(5, errors.size());
+        Assert.assertEquals("1:1:手机号格式不正确", errors.get(0));
+        Assert.assertEquals("3:2:联系电话格式不正确", errors.get(1));
+        Assert.assertEquals("3:3:性别只能是man,female", errors.get(2));
+        Assert.assertEquals("3:4:状态只能是1,2,9", errors.get(3));
+        Assert.assertEquals("4:0:姓名不能为空", errors.get(4));
+    }
+
+    @Test
+    public void testSingleColumnEmptyCell() throws IOException {
+        FileUtils.write(file, "姓名\r\n张三\r\n\r\n\"\"\r\n李四\r\n", StandardCharsets.UTF_8);
+        List<String> errors = new ArrayList<>();
+        long rows = CsvColumnValidator.of(ImportRow.class, "name")
+                .onInvalid((row, column, message) -> errors.add(row + ":" + column + ":" + message))
+                .validate(file);
+        System.err.println(errors);
+        // 单列时空行就是空单元格
+        Assert.assertEquals(4, rows);
+        Assert.assertEquals(2, errors.size());
+        Assert.assertEquals("1:0:姓名不能为空", errors.get(0));
+        Assert.assertEquals("2:0:姓名不能为空", errors.get(1));
+    }
+
+    @Test
+    public void testMapOneColumnOfWideFile() throws IOException {
+        FileUtils.write(file, "姓名,手机号\n张三,13800138000\n\n,13800138000\n", StandardCharsets.UTF_8);
+        List<String> errors = new ArrayList<>();
+        long rows = CsvColumnValidator.of(ImportRow.class, "name")
+                .onInvalid((row, column, message) -> errors.add(row + ":" + column + ":" + message))
+                .validate(file);
+        System.err.println(errors);
+        // 文件有多列时空行不校验，即使只映射了一列
+        Assert.assertEquals(3, rows);
+        Assert.assertEquals(1, errors.size());
+        Assert.assertEquals("2:0:姓名不能为空", errors.get(0));
+    }
+
+    @Test
+    public void testSmallWindow() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("\"用户\n").append(i).append("\",138").append(String.format("%08d", i))
+                    .append(",,").append(i % 3 == 0 ? "female" : "cat").append(',').append(i % 2 == 0 ? 1 : 5)
+                    .append('\n');
+        }
+        FileUtils.write(file, content, StandardCharsets.UTF_8);
+        int[] errors = new int[1];
+        // 记录跨越映射窗口时在下一个窗口中重新扫描
+        long rows = CsvColumnValidator.of(ImportRow.class, "name", "mobile", "phone", "sex", "status")
+                .skipHeader(false)
+                .windowSize(100)
+                .onInvalid((row, column, message) -> errors[0]++)
+                .validate(file);
+        Assert.assertEquals(1000, rows);
+        Assert.assertEquals(666 + 500, errors[0]);
+    }
+
+    @Test
+    public void testDelimiterAndWindowOverflow() throws IOException {
+        FileUtils.write(file, "name;mobile\n张三;13800138000\n李四;123\n", StandardCharsets.UTF_8);
+        List<Long> rows = new ArrayList<>();
+        CsvColumnValidator.of(ImportRow.class, null, "mobile")
+                .delimiter(';')
+                .onInvalid((row, column, message) -> rows.add(row))
+                .validate(file);
+        Assert.assertEquals(1, rows.size());
+        Assert.assertEquals(1L, (long) rows.get(0));
+        try {
+            CsvColumnValidator.of(ImportRow.class, null, "mobile").windowSize(8).validate(file);
+            Assert.fail();
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedConstraint() throws IOException {
+        FileUtils.write(file, "name\n张三\n", StandardCharsets.UTF_8);
+        CsvColumnValidator.of(UnsupportedRow.class, "name").validate(file);
+    }
+
+    private static class ImportRow {
+
+        @NotBlank(message = "姓名不能为空")
+        private String name;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+
+        @Mobile(message = "联系电话格式不正确", isStrict = false)
+        private String phone;
+
+        @CheckEnum(value = CustomValidatorTest.Sex.class, whitelist = {"man", "female"}, message = "性别只能是man,female")
+        private String sex;
+
+        @CheckEnum(value = CustomValidatorTest.Status.class, message = "状态只能是1,2,9")
+        private Integer status;
+    }
+
+    private static class UnsupportedRow {
+
+        @Size(max = 5)
+        private String name;
+    }
+}
@@ -2,6 +2,11 @@ package com.lg.test;
 
 import com.lg.annotation.CheckEnum;
 import com.lg.annotation.Mobile;
+import com.lg.validator.CheckEnumValidator;
+import com.lg.validator.EnumCodeIndex;
+import com.lg.validator.MobileCarrier;
+import com.lg.validator.MobileValidator;
+import org.junit.Assert;
 import org.junit.Test;
 
 import javax.validation.ConstraintViolation;
@@ -9,6 +14,7 @@ import javax.validation.Validation;
 import javax.validation.Validator;
 import java.io.Serializable;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * 测试自定义的validator校验器
@@ -164,6 +170,77 @@ public class CustomValidatorTest {
         }
     }
 
+    @Test
+    public void testEnumCodeIndex() {
+        // 同一个枚举和getter共享一个索引
+        EnumCodeIndex index = EnumCodeIndex.of(Sex.class, CheckEnum.GET_BY_CODE);
+        Assert.assertSame(index, EnumCodeIndex.of(Sex.class, CheckEnum.GET_BY_CODE));
+        Assert.assertSame(Sex.FREAK, index.get("freak"));
+        Assert.assertEquals(-1, index.ordinalOf("Man"));
+
+        CheckEnumValidator validator = CheckEnumValidator.of(Sex.class, CheckEnum.GET_BY_CODE, "man", "female");
+        Assert.assertTrue(validator.isValid("man", null));
+        Assert.assertTrue(validator.isValid(Sex.FEMALE, null));
+        Assert.assertFalse(validator.isValid("freak", null));
+        Assert.assertFalse(validator.isValid(Sex.FREAK, null));
+        Assert.assertFalse(validator.isValid("unknown", null));
+        Assert.assertTrue(CheckEnumValidator.of(Sex.class, CheckEnum.GET_BY_NAME).isValid("FREAK", null));
+    }
+
+    @Test
+    public void testNumericEnumCode() {
+        // 连续的code使用数组索引
+        CheckEnumValidator status = CheckEnumValidator.of(Status.class, CheckEnum.GET_BY_CODE, "1", "2");
+        Assert.assertTrue(status.isValidCode(1));
+        Assert.assertTrue(status.isValid(2, null));
+        Assert.assertTrue(status.isValid(2L, null));
+        Assert.assertFalse(status.isValidCode(9));
+        Assert.assertFalse(status.isValidCode(Long.MIN_VALUE));
+        Assert.assertTrue(status.isValid(Status.PAID, null));
+
+        // 稀疏的code使用散列表
+        CheckEnumValidator level = CheckEnumValidator.of(Level.class, CheckEnum.GET_BY_CODE);
+        Assert.assertTrue(level.isValidCode(-1L));
+        Assert.assertTrue(level.isValid(Long.MAX_VALUE, null));
+        Assert.assertTrue(level.isValidCode(1000000L));
+        Assert.assertFalse(level.isValidCode(0L));
+        Assert.assertSame(Level.GOLD, EnumCodeIndex.of(Level.class, CheckEnum.GET_BY_CODE).get(Long.MAX_VALUE));
+
+        try {
+            status.isValid("1", null);
+            Assert.fail();
+        } catch (ClassCastException e) {
+            System.err.println(e.getMessage());
+        }
+        try {
+            CheckEnumValidator.of(Status.class, CheckEnum.GET_BY_CODE, "3");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMobileCarrier() {
+        // 号段表需要和原来的严格模式正则一致
+        Pattern strictPattern = Pattern.compile(
+                "^((13[0-9])|(14[5,7])|(15[0-3,5-9])|(17[0,3,5-8])|(18[0-9])|166|198|199|(147))\\d{8}$");
+        for (int prefix = 1000; prefix < 2000; prefix++) {
+            String mobile = prefix + "1234567";
+            Assert.assertEquals(mobile, strictPattern.matcher(mobile).matches(),
+                    MobileValidator.isMobile(mobile, true));
+        }
+        Assert.assertEquals(MobileCarrier.CHINA_MOBILE, MobileValidator.carrierOf("15268848621"));
+        Assert.assertEquals(MobileCarrier.CHINA_UNICOM, MobileValidator.carrierOf("18612345678"));
+        Assert.assertEquals(MobileCarrier.CHINA_TELECOM, MobileValidator.carrierOf(new StringBuilder("18912345678")));
+        Assert.assertEquals(MobileCarrier.VIRTUAL, MobileValidator.carrierOf("17012345678"));
+        Assert.assertEquals(MobileCarrier.SATELLITE, MobileValidator.carrierOf("13491234567"));
+        Assert.assertNull(MobileValidator.carrierOf("1526884862a"));
+        Assert.assertNull(MobileValidator.carrierOf("152688486210"));
+        Assert.assertTrue(MobileValidator.isMobile("10000000000", false));
+        Assert.assertFalse(MobileValidator.isMobile("1000000000", false));
+    }
+
     public static enum Sex {
 
         /**
@@ -210,4 +287,42 @@ public class CustomValidatorTest {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    public enum Status {
+
+        CREATED(1),
+
+        PAID(2),
+
+        CLOSED(9);
+
+        private final int code;
+
+        Status(int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    public enum Level {
+
+        NONE(-1L),
+
+        SILVER(1000000L),
+
+        GOLD(Long.MAX_VALUE);
+
+        private final long code;
+
+        Level(long code) {
+            this.code = code;
+        }
+
+        public long getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.lg.test;
+
+import com.lg.annotation.Mobile;
+import com.lg.utils.BusinessException;
+import com.lg.utils.BusinessExceptions;
+import com.lg.utils.ErrorCodeTable;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+/**
+ * 测试断言验证的错误码表
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:40
+ */
+public class ErrorCodeTableTest {
+
+    @After
+    public void tearDown() {
+        ValidatorUtils.setViolationTranslator(null);
+    }
+
+    @Test
+    public void testDefaultCode() {
+        BusinessException e = assertFail(new Order("1", new Address(null, null)));
+        Assert.assertEquals("err_address.address_info", e.getCode());
+        Assert.assertEquals("详情地址不能为空", e.getMessage());
+        // 第二次从表中获取
+        Assert.assertEquals("err_address.address_info", assertFail(new Order("1", new Address(null, null))).getCode());
+        Assert.assertEquals("err_order_no", assertFail(new Order(null, null)).getCode());
+    }
+
+    @Test
+    public void testRegisteredCode() {
+        ValidatorUtils.getErrorCodeTable().register(Address.class, "contactMobile", Mobile.class,
+                "ADDRESS_MOBILE_INVALID", null);
+        ValidatorUtils.getErrorCodeTable().register(Address.class, "addressInfo", null,
+                "ADDRESS_INFO_REQUIRED", "请填写详细地址");
+        BusinessException e = assertFail(new Address("杭州市西湖区", "1"));
+        Assert.assertEquals("ADDRESS_MOBILE_INVALID", e.getCode());
+        Assert.assertEquals("联系电话格式不正确", e.getMessage());
+        e = assertFail(new Address("", "15268848621"));
+        Assert.assertEquals("ADDRESS_INFO_REQUIRED", e.getCode());
+        Assert.assertEquals("请填写详细地址", e.getMessage());
+    }
+
+    @Test
+    public void testRegisterAnyKeepsConstraintCode() {
+        ErrorCodeTable table = ValidatorUtils.getErrorCodeTable();
+        table.register(Contact.class, "name", NotEmpty.class, "CONTACT_NAME_REQUIRED", null);
+        // 缓存@Size的默认错误码
+        Assert.assertEquals("err_name", assertFail(new Contact("a")).getCode());
+        table.register(Contact.class, "name", null, "CONTACT_NAME_INVALID", null);
+        Assert.assertEquals("CONTACT_NAME_INVALID", assertFail(new Contact("a")).getCode());
+        Assert.assertEquals("CONTACT_NAME_REQUIRED", assertFail(new Contact(null)).getCode());
+    }
+
+    @Test
+    public void testTranslator() {
+        ValidatorUtils.setViolationTranslator(violation -> new IllegalArgumentException(
+                violation.getPropertyPath() + " " + violation.getMessage()));
+        try {
+            ValidatorUtils.assertValidate(new Order(null, null));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("orderNo 订单号不能为空", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCheckValidate() {
+        Assert.assertTrue(ValidatorUtils.checkValidate(new Order("1", new Address("杭州市西湖区", null))).isOk());
+        ErrorCodeTable.ErrorCode errorCode = ValidatorUtils.checkValidate(new Order("1", new Address(null, null)));
+        Assert.assertFalse(errorCode.isOk());
+        Assert.assertEquals("err_address.address_info", errorCode.getCode());
+        Assert.assertEquals("详情地址不能为空", errorCode.getMessage());
+        // 错误信息不变时返回同一个错误码
+        Assert.assertSame(errorCode, ValidatorUtils.checkValidate(new Order("1", new Address(null, null))));
+        Assert.assertSame(errorCode.toException(), errorCode.toException());
+    }
+
+    @Test
+    public void testPreallocatedTranslator() {
+        // 默认每次抛出新的异常，调用方可以修改
+        BusinessException e = assertFail(new Order(null, null));
+        Assert.assertNotSame(e, assertFail(new Order(null, null)));
+        e.setCode("ORDER_INVALID");
+        Assert.assertEquals("ORDER_INVALID", e.getCode());
+        ValidatorUtils.setViolationTranslator(ValidatorUtils.getErrorCodeTable().preallocated());
+        e = assertFail(new Order(null, null));
+        Assert.assertSame(e, assertFail(new Order(null, null)));
+        Assert.assertEquals("err_order_no", e.getCode());
+    }
+
+    @Test
+    public void testPreallocatedException() {
+        BusinessException e = BusinessExceptions.of("ORDER_NOT_FOUND", "订单不存在");
+        Assert.assertSame(e, BusinessExceptions.of("ORDER_NOT_FOUND", "订单不存在"));
+        Assert.assertNotSame(e, BusinessExceptions.of("ORDER_NOT_FOUND", "订单已删除"));
+        Assert.assertEquals(0, e.getStackTrace().length);
+        e.addSuppressed(new IllegalStateException());
+        Assert.assertEquals(0, e.getSuppressed().length);
+        try {
+            e.setCode("OTHER");
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+            Assert.assertEquals("ORDER_NOT_FOUND", e.getCode());
+        }
+    }
+
+    @Test
+    public void testSampledStackTrace() {
+        try {
+            BusinessExceptions.setSampleInterval(1);
+            BusinessException e = BusinessExceptions.of("ORDER_NOT_FOUND", "订单不存在");
+            Assert.assertNotSame(e, BusinessExceptions.of("ORDER_NOT_FOUND", "订单不存在"));
+            Assert.assertTrue(e.getStackTrace().length > 0);
+            BusinessExceptions.setSampleInterval(10);
+            int sampled = 0;
+            for (int i = 0; i < 10000; i++) {
+                if (BusinessExceptions.of("ORDER_NOT_FOUND", "订单不存在").getStackTrace().length > 0) {
+                    sampled++;
+                }
+            }
+            System.err.println(sampled + " sampled");
+            Assert.assertTrue(sampled > 500 && sampled < 2000);
+        } finally {
+            BusinessExceptions.setSampleInterval(0);
+        }
+    }
+
+    private static BusinessException assertFail(Object bean) {
+        try {
+            ValidatorUtils.assertValidate(bean);
+        } catch (BusinessException e) {
+            System.err.println(e.getCode() + ":" + e.getMessage());
+            return e;
+        }
+        throw new AssertionError("expected BusinessException");
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Order {
+
+        @NotEmpty(message = "订单号不能为空")
+        private String orderNo;
+
+        @Valid
+        private Address address;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Contact {
+
+        @NotEmpty
+        @Size(min = 2)
+        private String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Address {
+
+        @NotEmpty(message = "详情地址不能为空")
+        private String addressInfo;
+
+        @Mobile(message = "联系电话格式不正确", isStrict = false)
+        private String contactMobile;
+    }
+}
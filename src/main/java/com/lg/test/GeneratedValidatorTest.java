@@ -0,0 +1,149 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidateMode;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 测试编译期生成的校验器(需要使用apt这个profile编译)，结果需要和hibernate的校验结果一致
+ *
+ * @author Xulg
+ * Created in 2026-10-17 16:20
+ */
+public class GeneratedValidatorTest {
+
+    private static final String GENERATED = "com.lg.test.GeneratedValidatorTest_AccountValidator";
+
+    private static Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Before
+    public void setUp() {
+        // 没有使用apt编译时没有生成的校验器，比较的只是hibernate和hibernate
+        Assume.assumeTrue("compile with -P apt to generate " + GENERATED, exists(GENERATED));
+    }
+
+    @Test
+    public void testGeneratedValidator() throws ReflectiveOperationException {
+        // 编译模式关闭时也使用生成的校验器
+        Assert.assertFalse(ValidatorUtils.isCompiledMode());
+        Assert.assertEquals(GENERATED, compiledValidatorOf(Account.class).getClass().getName());
+        assertSameResult(new Account(1, "张三", "man", "15268848621", 1, 1000000L, new Address("杭州市西湖区")));
+        assertSameResult(new Account(null, "", "freak", "10000000000", 9, 0L, new Address(null)));
+        assertSameResult(new Account(null, null, "Man", null, 2, null, null));
+    }
+
+    @Test
+    public void testValidateProperty() {
+        Account account = new Account(null, "", "freak", "10000000000", 9, 0L, new Address(null));
+        for (String property : new String[]{"id", "username", "sex", "mobile", "status", "level", "address"}) {
+            Set<String> expected = new TreeSet<>();
+            for (ConstraintViolation<Account> violation : validator.validateProperty(account, property)) {
+                expected.add(violation.getMessage());
+            }
+            Set<String> actual = new TreeSet<>();
+            for (ValidatorUtils.ErrorMessage error : ValidatorUtils.validateProperty(account, property).getAllErrors()) {
+                actual.add(error.getMessage());
+            }
+            System.err.println(property + " -> " + actual);
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testFailFast() {
+        Account account = new Account(null, "", "freak", "10000000000", 9, 0L, new Address(null));
+        ValidatorUtils.ValidResult result = ValidatorUtils.validateBean(account, ValidateMode.FAIL_FAST);
+        System.err.println(result.getErrors());
+        Assert.assertEquals(1, result.getAllErrors().size());
+    }
+
+    private static void assertSameResult(Account account) {
+        Set<String> expected = new TreeSet<>();
+        for (ConstraintViolation<Account> violation : validator.validate(account)) {
+            expected.add(violation.getPropertyPath() + ":" + violation.getMessage());
+        }
+        Set<String> actual = new TreeSet<>();
+        for (ValidatorUtils.ErrorMessage error : ValidatorUtils.validateBean(account).getAllErrors()) {
+            actual.add(error.getPropertyPath() + ":" + error.getMessage());
+        }
+        System.err.println(actual);
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * ValidatorUtils实际使用的编译校验器
+     */
+    private static Object compiledValidatorOf(Class<?> beanClass) throws ReflectiveOperationException {
+        Method registry = ValidatorUtils.class.getDeclaredMethod("getCompiledValidators");
+        registry.setAccessible(true);
+        Object compiledValidators = registry.invoke(null);
+        Method get = compiledValidators.getClass().getDeclaredMethod("get", Class.class);
+        get.setAccessible(true);
+        Object compiled = get.invoke(compiledValidators, beanClass);
+        Assert.assertNotNull(compiled);
+        return compiled;
+    }
+
+    private static boolean exists(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Account implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotNull(message = "id不能为空")
+        private Integer id;
+
+        @NotEmpty
+        private String username;
+
+        @CheckEnum(value = CustomValidatorTest.Sex.class, whitelist = {"man", "female"}, message = "性别只能是man,female")
+        private String sex;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+
+        @CheckEnum(value = CustomValidatorTest.Status.class, whitelist = {"1", "2"}, message = "状态只能是1,2")
+        private int status;
+
+        @CheckEnum(value = CustomValidatorTest.Level.class, message = "等级不存在")
+        private Long level;
+
+        @Valid
+        private Address address;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Address implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @NotEmpty(message = "详情地址不能为空")
+        private String addressInfo;
+    }
+}
@@ -0,0 +1,244 @@
+package com.lg.test;
+
+import com.lg.annotation.Mobile;
+import com.lg.utils.GraphOptions;
+import com.lg.utils.ValidatorUtils;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 测试大对象图的级联校验，结果需要和hibernate的校验结果一致
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:40
+ */
+public class GraphValidatorTest {
+
+    @After
+    public void tearDown() {
+        ValidatorUtils.setCompiledMode(false);
+    }
+
+    @Test
+    public void testSmallGraph() {
+        Document document = newDocument(10);
+        document.extras.put("gift", new LineItem("", null));
+        document.notes.add(new Note("x"));
+        assertSameResult(document, GraphOptions.defaults());
+    }
+
+    @Test
+    public void testParallelGraph() {
+        Document document = newDocument(5000);
+        long start = System.currentTimeMillis();
+        Set<String> errors = assertSameResult(document, GraphOptions.defaults().parallelThreshold(256));
+        System.err.println(errors.size() + " errors, " + (System.currentTimeMillis() - start) + "ms");
+        Assert.assertEquals(errors, errors(ValidatorUtils.validateGraph(document,
+                GraphOptions.defaults().parallelThreshold(Integer.MAX_VALUE))));
+    }
+
+    @Test
+    public void testCycle() {
+        Document document = newDocument(3);
+        // document -> customer -> document
+        document.customer.document = document;
+        assertSameResult(document, GraphOptions.defaults());
+    }
+
+    @Test
+    public void testBackReferenceFromHibernateSubtree() {
+        // Reviewer有类级别约束，整个子树交给hibernate校验，不能沿着document重新校验上层的对象
+        Document document = newDocument(3);
+        document.reviewer = new Reviewer(null, document);
+        Set<String> errors = assertSameResult(document, GraphOptions.defaults());
+        System.err.println(errors);
+        Assert.assertTrue(errors.contains("reviewer:审核人不完整"));
+        Assert.assertTrue(errors.contains("reviewer.name:姓名不能为空"));
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Chain head = new Chain(null);
+        Chain tail = head;
+        for (int i = 0; i < 10; i++) {
+            tail.next = new Chain(i % 3 == 0 ? null : "value" + i);
+            tail = tail.next;
+        }
+        assertSameResult(head, GraphOptions.defaults());
+        try {
+            ValidatorUtils.validateGraph(head, GraphOptions.defaults().maxDepth(5));
+            Assert.fail();
+        } catch (ValidationException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    private static Set<String> assertSameResult(Object bean, GraphOptions options) {
+        Set<String> expected = errors(ValidatorUtils.validateBean(bean));
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            Assert.assertEquals(expected, errors(ValidatorUtils.validateGraph(bean, options)));
+        }
+        return expected;
+    }
+
+    private static Set<String> errors(ValidatorUtils.ValidResult result) {
+        Set<String> errors = new TreeSet<>();
+        for (ValidatorUtils.ErrorMessage error : result.getAllErrors()) {
+            errors.add(error.getPropertyPath() + ":" + error.getMessage());
+        }
+        return errors;
+    }
+
+    private static Document newDocument(int itemCount) {
+        Document document = new Document("订单", new Customer("张三", "1000000000"));
+        for (int i = 0; i < itemCount; i++) {
+            // 每7个明细中有一个不合法
+            document.items.add(i % 7 == 0 ? new LineItem(null, "10000000000") : new LineItem("SKU" + i, null));
+        }
+        return document;
+    }
+
+    @Getter
+    private static class Document {
+
+        @NotEmpty(message = "标题不能为空")
+        private String title;
+
+        @NotNull(message = "客户不能为空")
+        @Valid
+        private Customer customer;
+
+        @Valid
+        private List<LineItem> items = new ArrayList<>();
+
+        @Valid
+        private Map<String, LineItem> extras = new LinkedHashMap<>();
+
+        private List<@Valid Note> notes = new ArrayList<>();
+
+        @Valid
+        private Reviewer reviewer;
+
+        private Document(String title, Customer customer) {
+            this.title = title;
+            this.customer = customer;
+        }
+    }
+
+    @Getter
+    private static class Customer {
+
+        @NotEmpty(message = "姓名不能为空")
+        private String name;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+
+        @Valid
+        private Document document;
+
+        private Customer(String name, String mobile) {
+            this.name = name;
+            this.mobile = mobile;
+        }
+    }
+
+    @Getter
+    @CompleteReviewer
+    private static class Reviewer {
+
+        @NotEmpty(message = "姓名不能为空")
+        private String name;
+
+        @Valid
+        private Document document;
+
+        private Reviewer(String name, Document document) {
+            this.name = name;
+            this.document = document;
+        }
+    }
+
+    @Target({ElementType.TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = CompleteReviewer.Validator.class)
+    public @interface CompleteReviewer {
+
+        String message() default "审核人不完整";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+
+        class Validator implements ConstraintValidator<CompleteReviewer, Reviewer> {
+
+            @Override
+            public boolean isValid(Reviewer value, ConstraintValidatorContext context) {
+                return value.name != null;
+            }
+        }
+    }
+
+    @Getter
+    private static class LineItem {
+
+        @NotEmpty(message = "SKU不能为空")
+        private String sku;
+
+        @Mobile(message = "联系电话格式不正确", isStrict = false)
+        private String contactMobile;
+
+        private LineItem(String sku, String contactMobile) {
+            this.sku = sku;
+            this.contactMobile = contactMobile;
+        }
+    }
+
+    @Getter
+    private static class Note {
+
+        @Size(min = 2, message = "备注至少两个字")
+        private String content;
+
+        private Note(String content) {
+            this.content = content;
+        }
+    }
+
+    @Getter
+    private static class Chain {
+
+        @NotNull(message = "值不能为空")
+        private String value;
+
+        @Valid
+        private Chain next;
+
+        private Chain(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.lg.test;
+
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidatorUtils;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试增量校验
+ *
+ * @author Xulg
+ * Created in 2026-10-17 16:40
+ */
+public class IncrementalValidatorTest {
+
+    @After
+    public void tearDown() {
+        ValidatorUtils.setCompiledMode(false);
+    }
+
+    @Test
+    public void testValidateProperties() {
+        Order order = new Order("", new Address(null, "1000000000"), "a",
+                Arrays.asList(new Item(null), new Item("苹果")));
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            // 所有属性都发生变化时和整体校验的结果一致
+            Set<String> expected = errors(ValidatorUtils.validateBean(order));
+            Set<String> actual = errors(ValidatorUtils.validateProperties(order,
+                    Arrays.asList("title", "address", "remark", "items")));
+            System.err.println(actual);
+            Assert.assertEquals(expected, actual);
+
+            Assert.assertEquals(new TreeSet<>(Collections.singleton("title:标题不能为空")),
+                    errors(ValidatorUtils.validateProperties(order, Collections.singletonList("title"))));
+            // 只校验address的contactMobile，不校验addressInfo
+            Assert.assertEquals(new TreeSet<>(Collections.singleton("address.contactMobile:联系电话格式不正确")),
+                    errors(ValidatorUtils.validateProperties(order, Collections.singletonList("address.contactMobile"))));
+            Assert.assertEquals(new TreeSet<>(Collections.singleton("items[0].name:名称不能为空")),
+                    errors(ValidatorUtils.validateProperties(order, Collections.singletonList("items"))));
+        }
+    }
+
+    @Test
+    public void testValidateChanged() {
+        Address address = new Address("杭州市西湖区", "15268848621");
+        Order before = new Order("订单", address, "备注", Collections.singletonList(new Item("苹果")));
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            Assert.assertSame(ValidatorUtils.ValidResult.VALID, ValidatorUtils.validateChanged(before,
+                    new Order("订单", address, "备注", Collections.singletonList(new Item("苹果")))));
+
+            Order after = new Order("", address, "b", Collections.singletonList(new Item("苹果")));
+            ValidatorUtils.ValidResult result = ValidatorUtils.validateChanged(before, after);
+            System.err.println(result.getErrors());
+            Assert.assertEquals(2, result.getAllErrors().size());
+
+            after = new Order("订单", new Address("", "15268848621"), "备注",
+                    Collections.singletonList(new Item("苹果")));
+            Assert.assertEquals(new TreeSet<>(Collections.singleton("address.addressInfo:详情地址不能为空")),
+                    errors(ValidatorUtils.validateChanged(before, after)));
+        }
+    }
+
+    @Test
+    public void testCascadeOnlyChangedContainer() {
+        Cart cart = new Cart(Arrays.asList(new Line("A"), new Line("")),
+                Arrays.asList(new Line(null), new Line("B"), null), new Line("C"), "备注");
+        for (boolean compiled : new boolean[]{false, true}) {
+            ValidatorUtils.setCompiledMode(compiled);
+            Counted.Validator.CALLS.set(0);
+            Assert.assertEquals(new TreeSet<>(Collections.singleton("lines[1].sku:sku不能为空")),
+                    errors(ValidatorUtils.validateProperties(cart, Collections.singletonList("lines"))));
+            // 只校验lines中的两个元素，gifts、main和note没有重新校验
+            Assert.assertEquals(2, Counted.Validator.CALLS.get());
+
+            Counted.Validator.CALLS.set(0);
+            Assert.assertEquals(new TreeSet<>(Arrays.asList("gifts[0].sku:sku不能为空", "gifts[2].<list element>:赠品不能为空")),
+                    errors(ValidatorUtils.validateProperties(cart, Collections.singletonList("gifts"))));
+            Assert.assertEquals(2, Counted.Validator.CALLS.get());
+
+            // 和整体校验的结果一致
+            Assert.assertEquals(errors(ValidatorUtils.validateBean(cart)), errors(ValidatorUtils.validateProperties(
+                    cart, Arrays.asList("lines", "gifts", "main", "note"))));
+        }
+    }
+
+    private static Set<String> errors(ValidatorUtils.ValidResult result) {
+        Set<String> errors = new TreeSet<>();
+        for (ValidatorUtils.ErrorMessage error : result.getAllErrors()) {
+            errors.add(error.getPropertyPath() + ":" + error.getMessage());
+        }
+        return errors;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Order {
+
+        @NotEmpty(message = "标题不能为空")
+        private String title;
+
+        @NotNull(message = "address不能为空")
+        @Valid
+        private Address address;
+
+        @Size(min = 2, max = 10)
+        private String remark;
+
+        @Valid
+        private List<Item> items;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Address {
+
+        @NotEmpty(message = "详情地址不能为空")
+        private String addressInfo;
+
+        @Mobile(message = "联系电话格式不正确", isStrict = false)
+        private String contactMobile;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Item {
+
+        @NotEmpty(message = "名称不能为空")
+        private String name;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Cart {
+
+        @Valid
+        private List<Line> lines;
+
+        private List<@NotNull(message = "赠品不能为空") @Valid Line> gifts;
+
+        @Valid
+        private Line main;
+
+        @Counted
+        private String note;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Line {
+
+        @Counted(message = "sku不能为空")
+        private String sku;
+    }
+
+    /**
+     * 记录调用次数的非空约束
+     */
+    @Target({ElementType.FIELD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = Counted.Validator.class)
+    public @interface Counted {
+
+        String message() default "不能为空";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+
+        class Validator implements ConstraintValidator<Counted, String> {
+
+            static final AtomicInteger CALLS = new AtomicInteger();
+
+            @Override
+            public boolean isValid(String value, ConstraintValidatorContext context) {
+                CALLS.incrementAndGet();
+                return value != null && !value.isEmpty();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.lg.test;
+
+import com.lg.annotation.Mobile;
+import com.lg.utils.JsonArrayValidator;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.constraints.NotEmpty;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试流式校验json数组
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:05
+ */
+public class JsonArrayValidatorTest {
+
+    @Test
+    public void testValidate() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"username\":\"user").append(i).append("\",\"mobile\":\"")
+                    .append(i % 10 == 3 ? "10000000000" : "15268848621").append("\"}");
+        }
+        json.append("]");
+
+        List<Account> valid = new ArrayList<>();
+        List<Long> invalid = new ArrayList<>();
+        long total = JsonArrayValidator.of(Account.class)
+                .onValid(valid::add)
+                .onInvalid((index, account, result) -> {
+                    System.err.println(index + " " + account.getUsername() + " " + result.getErrors());
+                    invalid.add(index);
+                })
+                .validate(stream(json.toString()));
+        Assert.assertEquals(1000, total);
+        Assert.assertEquals(900, valid.size());
+        Assert.assertEquals(100, invalid.size());
+        Assert.assertEquals(3L, invalid.get(0).longValue());
+        Assert.assertEquals(993L, invalid.get(99).longValue());
+    }
+
+    @Test
+    public void testEmptyArray() {
+        Assert.assertEquals(0, JsonArrayValidator.of(Account.class).validate(stream("[]")));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Data
+    public static class Account {
+
+        @NotEmpty
+        private String username;
+
+        @Mobile
+        private String mobile;
+    }
+}
@@ -0,0 +1,77 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 测试缓存的错误信息插值器，结果需要和hibernate默认的插值器一致
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:10
+ */
+public class MessageInterpolatorTest {
+
+    private static Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void testInterpolate() {
+        Account account = new Account("", "a", "abc", new BigDecimal("11"), 0, "freak", "10000000000");
+        // 第二次使用缓存
+        for (int i = 0; i < 2; i++) {
+            Set<String> expected = new TreeSet<>();
+            for (ConstraintViolation<Account> violation : validator.validate(account)) {
+                expected.add(violation.getPropertyPath() + ":" + violation.getMessage());
+            }
+            Set<String> actual = new TreeSet<>();
+            for (ValidatorUtils.ErrorMessage error : ValidatorUtils.validateBean(account).getAllErrors()) {
+                actual.add(error.getPropertyPath() + ":" + error.getMessage());
+            }
+            System.err.println(actual);
+            Assert.assertEquals(7, actual.size());
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Account {
+
+        @NotEmpty
+        private String username;
+
+        @Size(min = 2, max = 10)
+        private String nickname;
+
+        @Pattern(regexp = "\\d+")
+        private String code;
+
+        @DecimalMax("10")
+        private BigDecimal amount;
+
+        @Min(value = 1, message = "数量不能小于{value}")
+        private int count;
+
+        @CheckEnum(value = CustomValidatorTest.Sex.class, whitelist = {"man", "female"}, message = "性别只能是{whitelist}")
+        private String sex;
+
+        @Mobile(message = "${validatedValue}不是有效的手机号")
+        private String mobile;
+    }
+}
@@ -0,0 +1,181 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidatorUtils;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 测试元数据快照的写入和恢复
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:10
+ */
+public class MetadataSnapshotTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("validation", ".snapshot");
+    }
+
+    @After
+    public void tearDown() {
+        ValidatorUtils.clearSnapshot();
+        FileUtils.deleteQuietly(file);
+    }
+
+    @Test
+    public void testRestore() throws IOException {
+        Customer invalid = new Customer("", "10000000000", 3, null, new Address(""));
+        Customer valid = new Customer("张三", "13800138000", 1, 1L, new Address("杭州"));
+        Set<String> expected = errors(invalid);
+        Set<String> expectedCreate = errors(invalid, Create.class);
+        // 级联的Address也会写入快照
+        Assert.assertEquals(2, ValidatorUtils.writeSnapshot(file, Collections.singletonList(Customer.class)));
+        System.err.println(file.length() + " bytes");
+        Assert.assertEquals(2, ValidatorUtils.loadSnapshot(file));
+        // 从快照恢复的校验结果和hibernate一致
+        Assert.assertEquals(expected, errors(invalid));
+        Assert.assertEquals(expectedCreate, errors(invalid, Create.class));
+        Assert.assertEquals(4, expected.size());
+        Assert.assertTrue(errors(valid, Create.class).isEmpty());
+    }
+
+    @Test
+    public void testMessageFromSnapshot() throws IOException {
+        ValidatorUtils.writeSnapshot(file, Collections.singletonList(Customer.class));
+        byte[] bytes = FileUtils.readFileToByteArray(file);
+        // 修改快照中的错误信息，用来确认校验使用的是快照中的计划
+        replace(bytes, "手机号格式不正确", "手机号格式不合法");
+        FileUtils.writeByteArrayToFile(file, bytes);
+        ValidatorUtils.loadSnapshot(file);
+        Assert.assertTrue(errors(new Customer("张三", "1", 1, 1L, null)).contains("mobile:手机号格式不合法"));
+    }
+
+    @Test
+    public void testStaleSnapshot() throws IOException {
+        ValidatorUtils.writeSnapshot(file, Collections.singletonList(Customer.class));
+        byte[] bytes = FileUtils.readFileToByteArray(file);
+        replace(bytes, "手机号格式不正确", "手机号格式不合法");
+        // 修改class文件的CRC32，相当于类已经变化
+        bytes[fingerprintOffset(bytes)] ^= 1;
+        FileUtils.writeByteArrayToFile(file, bytes);
+        ValidatorUtils.loadSnapshot(file);
+        Assert.assertTrue(errors(new Customer("张三", "1", 1, 1L, null)).contains("mobile:手机号格式不正确"));
+    }
+
+    @Test
+    public void testLocaleChanged() throws IOException {
+        Locale locale = Locale.getDefault();
+        Assert.assertEquals(2, ValidatorUtils.writeSnapshot(file, Collections.singletonList(Customer.class)));
+        try {
+            // 快照中的错误信息按写入时的默认语言插值，语言变化后整个快照失效
+            Locale.setDefault(Locale.ENGLISH.equals(locale) ? Locale.CHINA : Locale.ENGLISH);
+            Assert.assertEquals(0, ValidatorUtils.loadSnapshot(file));
+        } finally {
+            Locale.setDefault(locale);
+        }
+        Assert.assertEquals(2, ValidatorUtils.loadSnapshot(file));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedSnapshot() throws IOException {
+        FileUtils.writeStringToFile(file, "not a snapshot", StandardCharsets.UTF_8);
+        ValidatorUtils.loadSnapshot(file);
+    }
+
+    private static Set<String> errors(Object bean, Class<?>... groups) {
+        Set<String> errors = new TreeSet<>();
+        for (ValidatorUtils.ErrorMessage error : ValidatorUtils.validateBean(bean, groups).getAllErrors()) {
+            errors.add(error.getPropertyPath() + ":" + error.getMessage());
+        }
+        System.err.println(errors);
+        return errors;
+    }
+
+    private static void replace(byte[] bytes, String from, String to) {
+        byte[] source = from.getBytes(StandardCharsets.UTF_8);
+        byte[] target = to.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + source.length <= bytes.length; i++) {
+            int j = 0;
+            while (j < source.length && bytes[i + j] == source[j]) {
+                j++;
+            }
+            if (j == source.length) {
+                System.arraycopy(target, 0, bytes, i, target.length);
+                return;
+            }
+        }
+        Assert.fail(from + " not found");
+    }
+
+    /**
+     * 快照格式: magic, version, 错误信息的fingerprint, 字符串表, bean个数, 第一个bean的类名下标, fingerprint
+     */
+    private static int fingerprintOffset(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.readInt();
+        in.readInt();
+        in.readLong();
+        int strings = in.readInt();
+        for (int i = 0; i < strings; i++) {
+            in.readUTF();
+        }
+        in.readInt();
+        in.readInt();
+        return bytes.length - in.available();
+    }
+
+    public interface Create {
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Customer {
+
+        @NotEmpty(message = "姓名不能为空")
+        private String name;
+
+        @Mobile(message = "手机号格式不正确")
+        private String mobile;
+
+        @CheckEnum(value = CustomValidatorTest.Status.class, message = "状态不正确")
+        private Integer status;
+
+        @NotNull(groups = Create.class, message = "id不能为空")
+        private Long id;
+
+        @Valid
+        private Address address;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Address {
+
+        @NotEmpty(message = "地址不能为空")
+        private String detail;
+    }
+}
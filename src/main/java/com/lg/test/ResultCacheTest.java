@@ -0,0 +1,153 @@
+package com.lg.test;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.lg.annotation.CheckDict;
+import com.lg.annotation.ImmutableBean;
+import com.lg.annotation.Mobile;
+import com.lg.utils.ValidateMode;
+import com.lg.utils.ValidatorUtils;
+import com.lg.validator.CodeDictionary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.ValidationException;
+import javax.validation.constraints.NotEmpty;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 测试不可变对象的校验结果缓存
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:40
+ */
+public class ResultCacheTest {
+
+    @Test
+    public void testCache() {
+        ValidatorUtils.clearResultCache();
+        CacheStats before = ValidatorUtils.getResultCacheStats();
+        String expected = ValidatorUtils.validateBean(new Price("", "10000000000")).getErrors();
+        // 相等的对象命中缓存
+        String actual = ValidatorUtils.validateBean(new Price("", "10000000000")).getErrors();
+        Assert.assertEquals(expected, actual);
+        Assert.assertTrue(ValidatorUtils.validateBean(new Price("SKU-1", "15268848621")) == ValidatorUtils.ValidResult.VALID);
+        Assert.assertTrue(ValidatorUtils.validateBean(new Price("SKU-1", "15268848621")) == ValidatorUtils.ValidResult.VALID);
+        // 校验模式不同不能共用
+        Assert.assertEquals(1, ValidatorUtils.validateBean(new Price("", "10000000000"), ValidateMode.FAIL_FAST)
+                .getAllErrors().size());
+
+        CacheStats stats = ValidatorUtils.getResultCacheStats().minus(before);
+        System.err.println(stats);
+        Assert.assertEquals(2, stats.hitCount());
+        Assert.assertEquals(3, stats.missCount());
+    }
+
+    @Test
+    public void testNotCacheable() {
+        CacheStats before = ValidatorUtils.getResultCacheStats();
+        // 没有重写equals的类型不缓存
+        ValidatorUtils.validateBean(new Mutable(""));
+        ValidatorUtils.validateBean(new Mutable(""));
+        CacheStats stats = ValidatorUtils.getResultCacheStats().minus(before);
+        Assert.assertEquals(0, stats.requestCount());
+    }
+
+    @Test
+    public void testDictionaryReload() {
+        CodeDictionary dictionary = CodeDictionary.getDefault();
+        try {
+            dictionary.replace(ImmutableMap.of("shipment_status", ImmutableSet.of("CREATED")));
+            Assert.assertTrue(ValidatorUtils.validateBean(new Shipment("SHIPPED")).hasErrors());
+            Assert.assertTrue(ValidatorUtils.validateBean(new Shipment("SHIPPED")).hasErrors());
+            // 字典刷新后不再使用旧的结果
+            dictionary.replace(ImmutableMap.of("shipment_status", ImmutableSet.of("CREATED", "SHIPPED")));
+            Assert.assertFalse(ValidatorUtils.validateBean(new Shipment("SHIPPED")).hasErrors());
+        } finally {
+            dictionary.refresh();
+        }
+    }
+
+    @Test
+    public void testExceptionNotWrapped() {
+        // 和不缓存的类型一样抛出hibernate的ValidationException
+        for (int i = 0; i < 2; i++) {
+            try {
+                ValidatorUtils.validateBean(new Broken("1"));
+                Assert.fail();
+            } catch (ValidationException e) {
+                System.err.println(e);
+            }
+        }
+    }
+
+    @Value
+    @ImmutableBean
+    private static class Shipment {
+
+        @CheckDict("shipment_status")
+        private String status;
+    }
+
+    @Value
+    @ImmutableBean
+    private static class Broken {
+
+        @Failing
+        private String value;
+    }
+
+    /**
+     * 校验时抛出异常的约束
+     */
+    @Target({ElementType.FIELD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = Failing.Validator.class)
+    public @interface Failing {
+
+        String message() default "";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+
+        class Validator implements ConstraintValidator<Failing, String> {
+
+            @Override
+            public boolean isValid(String value, ConstraintValidatorContext context) {
+                throw new IllegalStateException("failed");
+            }
+        }
+    }
+
+    @Value
+    @ImmutableBean
+    private static class Price {
+
+        @NotEmpty
+        private String sku;
+
+        @Mobile
+        private String contactMobile;
+    }
+
+    @Getter
+    @ImmutableBean
+    @AllArgsConstructor
+    private static class Mutable {
+
+        @NotEmpty
+        private String sku;
+    }
+}
@@ -0,0 +1,90 @@
+package com.lg.test;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.metrics.LatencyHistogram;
+import com.lg.metrics.ValidationMetrics;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.Map;
+
+/**
+ * 测试校验的统计数据
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:10
+ */
+public class ValidationMetricsTest {
+
+    @Before
+    public void setUp() {
+        ValidationMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        ValidationMetrics.setEnabled(false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMetrics() {
+        ValidationMetrics.reset();
+        for (int i = 0; i < 10; i++) {
+            ValidatorUtils.validateBean(new Account("张三", "man", "15268848621"));
+        }
+        ValidatorUtils.validateBean(new Account("", "freak", "10000000000"));
+
+        Map<String, Object> beans = (Map<String, Object>) ValidationMetrics.snapshot().get("beans");
+        Map<String, Object> account = (Map<String, Object>) beans.get(Account.class.getName());
+        Assert.assertEquals(11L, account.get("calls"));
+        Assert.assertEquals(1L, account.get("invalidCalls"));
+        Map<String, Long> violations = (Map<String, Long>) account.get("violations");
+        Assert.assertEquals(Long.valueOf(1), violations.get("NotEmpty"));
+        Assert.assertEquals(Long.valueOf(1), violations.get("Mobile"));
+        Assert.assertEquals(Long.valueOf(1), violations.get("CheckEnum"));
+
+        Map<String, Object> constraints = (Map<String, Object>) ValidationMetrics.snapshot().get("constraints");
+        Map<String, Object> mobile = (Map<String, Object>) constraints.get("Mobile");
+        Assert.assertTrue((Long) mobile.get("calls") >= 11L);
+        System.err.println(ValidationMetrics.toJson());
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        Map<String, Object> snapshot = histogram.snapshot();
+        System.err.println(snapshot);
+        Assert.assertEquals(1000L, snapshot.get("count"));
+        Assert.assertEquals(1000000L, snapshot.get("max"));
+        // 相对误差不超过12.5%
+        long p50 = (Long) snapshot.get("p50");
+        long p99 = (Long) snapshot.get("p99");
+        Assert.assertTrue(p50 >= 500000L && p50 <= 562500L);
+        Assert.assertTrue(p99 >= 990000L && p99 <= 1113750L);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Account {
+
+        @NotEmpty
+        private String username;
+
+        @CheckEnum(value = CustomValidatorTest.Sex.class, whitelist = {"man", "female"})
+        private String sex;
+
+        @Mobile
+        private String mobile;
+    }
+}
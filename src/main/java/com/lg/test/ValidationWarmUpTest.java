@@ -0,0 +1,39 @@
+package com.lg.test;
+
+import com.lg.config.ValidationWarmUp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试启动时的校验预热
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:35
+ */
+public class ValidationWarmUpTest {
+
+    @Test
+    public void testWarmUp() throws ClassNotFoundException {
+        ValidationWarmUp warmUp = new ValidationWarmUp(new String[]{"com.lg.test"}, 4);
+        Map<Class<?>, Long> timings = warmUp.run();
+        for (Map.Entry<Class<?>, Long> entry : timings.entrySet()) {
+            System.err.println(entry.getKey().getName() + ": "
+                    + TimeUnit.NANOSECONDS.toMicros(entry.getValue()) + "us");
+        }
+        Assert.assertSame(timings, warmUp.getTimings());
+        // 同步约束、异步约束和字典约束的类都会被预热
+        Assert.assertTrue(timings.containsKey(Class.forName("com.lg.test.CsvColumnValidatorTest$ImportRow")));
+        Assert.assertTrue(timings.containsKey(Class.forName("com.lg.test.AsyncValidatorTest$Order")));
+        Assert.assertTrue(timings.containsKey(Class.forName("com.lg.test.CheckDictTest$Order")));
+        Assert.assertFalse(timings.containsKey(ValidationWarmUpTest.class));
+        // 按耗时降序排列
+        long previous = Long.MAX_VALUE;
+        for (long nanos : timings.values()) {
+            Assert.assertTrue(nanos <= previous);
+            previous = nanos;
+        }
+    }
+}
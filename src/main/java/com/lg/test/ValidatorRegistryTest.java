@@ -0,0 +1,137 @@
+package com.lg.test;
+
+import com.lg.utils.ValidatorConfig;
+import com.lg.utils.ValidatorRegistry;
+import com.lg.utils.ValidatorUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.validator.spi.resourceloading.ResourceBundleLocator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Past;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 测试按配置缓存的validator
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:55
+ */
+public class ValidatorRegistryTest {
+
+    @Test
+    public void testCached() {
+        Validator english = ValidatorUtils.getValidator(ValidatorConfig.defaults().locale(Locale.ENGLISH));
+        // 每次创建的配置相等时返回同一个validator
+        Assert.assertSame(english, ValidatorUtils.getValidator(ValidatorConfig.defaults().locale(Locale.ENGLISH)));
+        Assert.assertNotSame(english, ValidatorUtils.getValidator(ValidatorConfig.defaults().locale(Locale.CHINA)));
+        Assert.assertSame(ValidatorUtils.getValidator(ValidatorConfig.defaults()),
+                ValidatorUtils.getValidator(ValidatorConfig.defaults()));
+        Set<Validator> validators = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 10000).parallel().forEach(i -> validators.add(
+                ValidatorUtils.getValidator(ValidatorConfig.defaults().failFast(true).locale(Locale.JAPANESE))));
+        Assert.assertEquals(1, validators.size());
+    }
+
+    @Test
+    public void testSameAsHibernate() {
+        Validator hibernate = Validation.buildDefaultValidatorFactory().getValidator();
+        Person person = new Person(null, LocalDate.of(2030, 1, 1));
+        for (ValidatorConfig config : new ValidatorConfig[]{ValidatorConfig.defaults(),
+                ValidatorConfig.defaults().locale(Locale.getDefault()), ValidatorConfig.defaults().tenant("tenant-b")}) {
+            Assert.assertEquals(messages(hibernate.validate(person)),
+                    messages(ValidatorUtils.getValidator(config).validate(person)));
+        }
+    }
+
+    @Test
+    public void testLocaleAndFailFast() {
+        Person person = new Person(null, null);
+        ValidatorConfig english = ValidatorConfig.defaults().locale(Locale.ENGLISH);
+        ValidatorUtils.ValidResult result = ValidatorUtils.validateBean(person, english);
+        System.err.println(result.getErrors());
+        Assert.assertEquals(2, result.getAllErrors().size());
+        Assert.assertEquals("must not be null", result.getAllErrors().get(0).getMessage());
+        result = ValidatorUtils.validateBean(person, english.failFast(true));
+        Assert.assertEquals(1, result.getAllErrors().size());
+        result = ValidatorUtils.validateBean(person, ValidatorConfig.defaults().failFast(true));
+        Assert.assertEquals(1, result.getAllErrors().size());
+    }
+
+    @Test
+    public void testClockProvider() {
+        Person person = new Person("张三", LocalDate.of(2030, 1, 1));
+        Assert.assertTrue(ValidatorUtils.validateBean(person).hasErrors());
+        ClockProvider future = () -> Clock.fixed(LocalDate.of(2040, 1, 1).atStartOfDay(ZoneId.systemDefault())
+                .toInstant(), ZoneId.systemDefault());
+        Assert.assertFalse(ValidatorUtils.validateBean(person, ValidatorConfig.defaults().clockProvider(future))
+                .hasErrors());
+    }
+
+    @Test
+    public void testInvalidate() {
+        ValidatorRegistry registry = ValidatorUtils.getValidatorRegistry();
+        ValidatorConfig config = ValidatorConfig.defaults().tenant("tenant-a");
+        Validator validator = registry.get(config);
+        Assert.assertSame(validator, registry.get(config));
+        int size = registry.size();
+        registry.invalidate("tenant-a");
+        Assert.assertEquals(size - 1, registry.size());
+        Assert.assertNotSame(validator, registry.get(config));
+        // 默认的validator不会被清除
+        registry.invalidate(null);
+        Assert.assertNotNull(registry.get(ValidatorConfig.defaults()));
+    }
+
+    @Test
+    public void testInvalidateReloadsMessages() {
+        String[] message = {"姓名必填"};
+        ResourceBundleLocator source = locale -> new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"javax.validation.constraints.NotNull.message", message[0]}};
+            }
+        };
+        ValidatorConfig config = ValidatorConfig.defaults().tenant("tenant-d").messageSource(source);
+        Person person = new Person(null, LocalDate.of(2000, 1, 1));
+        Assert.assertEquals("姓名必填", ValidatorUtils.validateBean(person, config).getAllErrors().get(0).getMessage());
+        message[0] = "请填写姓名";
+        // 清除租户之后，重新创建的validator使用新的错误信息
+        ValidatorUtils.getValidatorRegistry().invalidate("tenant-d");
+        Assert.assertEquals("请填写姓名", ValidatorUtils.validateBean(person, config).getAllErrors().get(0).getMessage());
+    }
+
+    private static Set<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<?> violation : violations) {
+            messages.add(violation.getPropertyPath() + ":" + violation.getMessage());
+        }
+        return messages;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Person {
+
+        @NotNull
+        private String name;
+
+        @NotNull
+        @Past
+        private LocalDate birthday;
+    }
+}
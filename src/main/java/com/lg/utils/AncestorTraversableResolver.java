@@ -0,0 +1,86 @@
+package com.lg.utils;
+
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+import java.lang.annotation.ElementType;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * 不级联进入当前级联路径上的对象的解析器
+ * <p>
+ * 从级联对象开始交给hibernate校验时，hibernate只知道从该对象开始的路径，
+ * 沿着指回上层对象的引用会把上层的整个子图重新校验一遍，并且以错误的路径报告重复的违反约束。
+ * 属性值(或者容器属性中的某个元素)是上层对象时不再级联，其余的情况交给原来的解析器判断
+ *
+ * @author Xulg
+ * Created in 2026-10-17 22:10
+ */
+final class AncestorTraversableResolver implements TraversableResolver {
+
+    private final TraversableResolver delegate;
+
+    /**
+     * 判断对象是否在当前级联路径上
+     */
+    private final Predicate<Object> ancestors;
+
+    AncestorTraversableResolver(TraversableResolver delegate, Predicate<Object> ancestors) {
+        this.delegate = delegate;
+        this.ancestors = ancestors;
+    }
+
+    @Override
+    public boolean isReachable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                               Path pathToTraversableObject, ElementType elementType) {
+        return delegate.isReachable(traversableObject, traversableProperty, rootBeanType,
+                pathToTraversableObject, elementType);
+    }
+
+    @Override
+    public boolean isCascadable(Object traversableObject, Path.Node traversableProperty, Class<?> rootBeanType,
+                                Path pathToTraversableObject, ElementType elementType) {
+        if (traversableObject != null && traversableProperty.getName() != null
+                && this.referencesAncestor(PropertyReader.read(traversableObject, traversableProperty.getName()))) {
+            return false;
+        }
+        return delegate.isCascadable(traversableObject, traversableProperty, rootBeanType,
+                pathToTraversableObject, elementType);
+    }
+
+    /**
+     * 属性值或者容器中的元素是否是当前路径上的对象，hibernate对容器属性只判断一次，不能只跳过其中的某个元素
+     */
+    private boolean referencesAncestor(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (ancestors.test(value)) {
+            return true;
+        }
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).filter(ancestors).isPresent();
+        }
+        Iterable<?> elements = null;
+        if (value instanceof Map) {
+            elements = ((Map<?, ?>) value).values();
+        } else if (value instanceof Iterable) {
+            elements = (Iterable<?>) value;
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (element != null && ancestors.test(element)) {
+                    return true;
+                }
+            }
+        }
+        if (elements != null) {
+            for (Object element : elements) {
+                if (element != null && ancestors.test(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,149 @@
+package com.lg.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.lg.validator.AsyncConstraintValidator;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步约束的批量执行器
+ * <p>
+ * 每个校验器同一时刻最多有一个正在收集的批次，批次中第一个值到达后等待一个时间窗口，
+ * 或者收集的值达到最大个数时，整批交给I/O线程调用{@link AsyncConstraintValidator#validValues}。
+ * 同一批次中相同的值只校验一次
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:15
+ */
+final class AsyncBatcher {
+
+    private final long windowMicros;
+
+    private final int maxBatchSize;
+
+    /**
+     * 时间窗口结束时提交批次的定时器
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("validator-batch-%d").build());
+
+    /**
+     * 执行批量校验的I/O线程
+     */
+    private final ExecutorService ioExecutor;
+
+    /**
+     * 正在收集的批次，K: 校验器
+     */
+    private final ConcurrentMap<AsyncConstraintValidator<?>, Batch> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMicros 收集批次的时间窗口，微秒
+     * @param maxBatchSize 一个批次最多的值个数
+     * @param ioThreads    I/O线程数
+     */
+    AsyncBatcher(long windowMicros, int maxBatchSize, int ioThreads) {
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.ioExecutor = Executors.newFixedThreadPool(ioThreads,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("validator-io-%d").build());
+    }
+
+    /**
+     * 提交一个需要校验的值
+     *
+     * @param validator 校验器
+     * @param value     属性值，不为null
+     * @return 值是否合法
+     */
+    CompletableFuture<Boolean> submit(AsyncConstraintValidator<?> validator, Object value) {
+        while (true) {
+            Batch batch = pending.get(validator);
+            if (batch == null) {
+                Batch created = new Batch(validator);
+                batch = pending.putIfAbsent(validator, created);
+                if (batch == null) {
+                    batch = created;
+                    Batch scheduled = batch;
+                    scheduler.schedule(() -> this.flush(scheduled), windowMicros, TimeUnit.MICROSECONDS);
+                }
+            }
+            CompletableFuture<Boolean> future = batch.add(value);
+            if (future == null) {
+                // 批次已经提交，重新创建
+                continue;
+            }
+            if (batch.size() >= maxBatchSize) {
+                this.flush(batch);
+            }
+            return future;
+        }
+    }
+
+    private void flush(Batch batch) {
+        pending.remove(batch.validator, batch);
+        Map<Object, CompletableFuture<Boolean>> futures = batch.close();
+        if (futures == null) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            try {
+                Set<?> valid = batch.validator.validValues(Collections.unmodifiableSet(futures.keySet()));
+                for (Map.Entry<Object, CompletableFuture<Boolean>> entry : futures.entrySet()) {
+                    entry.getValue().complete(valid.contains(entry.getKey()));
+                }
+            } catch (Throwable e) {
+                for (CompletableFuture<Boolean> future : futures.values()) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 一个校验器正在收集的批次
+     */
+    private static final class Batch {
+
+        private final AsyncConstraintValidator<?> validator;
+
+        /**
+         * K: 属性值，null表示批次已经提交
+         */
+        private Map<Object, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+
+        private Batch(AsyncConstraintValidator<?> validator) {
+            this.validator = validator;
+        }
+
+        private synchronized CompletableFuture<Boolean> add(Object value) {
+            if (futures == null) {
+                return null;
+            }
+            return futures.computeIfAbsent(value, key -> new CompletableFuture<>());
+        }
+
+        private synchronized int size() {
+            return futures == null ? 0 : futures.size();
+        }
+
+        /**
+         * 关闭批次，已经关闭时返回null
+         */
+        private synchronized Map<Object, CompletableFuture<Boolean>> close() {
+            Map<Object, CompletableFuture<Boolean>> closed = futures;
+            futures = null;
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.lg.utils;
+
+import com.lg.annotation.AsyncConstraint;
+import com.lg.validator.AsyncConstraintValidator;
+
+import javax.validation.ConstraintTarget;
+import javax.validation.ConstraintValidator;
+import javax.validation.MessageInterpolator;
+import javax.validation.Payload;
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ValidateUnwrappedValue;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 收集bean中的异步约束并提交给{@link AsyncBatcher}
+ * <p>
+ * 异步约束只支持字段，首次遇到某个bean类型时扫描一次；@Valid的字段会级联收集，集合、Map、数组展开成元素。
+ * 注解相同的约束共用一个校验器，因此不同字段、不同bean上相同的约束也会合并到同一批查询中
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:20
+ */
+final class AsyncValidator {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final AsyncProperty[] NONE = new AsyncProperty[0];
+
+    /**
+     * 注解对应的校验器
+     */
+    private static final ConcurrentMap<Annotation, AsyncConstraintValidator<?>> VALIDATORS =
+            new ConcurrentHashMap<>();
+
+    private static final ClassValue<AsyncProperty[]> PROPERTIES = new ClassValue<AsyncProperty[]>() {
+        @Override
+        protected AsyncProperty[] computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private final AsyncBatcher batcher;
+
+    AsyncValidator(AsyncBatcher batcher) {
+        this.batcher = batcher;
+    }
+
+    /**
+     * 提交bean中所有需要校验的异步约束
+     *
+     * @param bean   the target bean
+     * @param groups the validate groups
+     * @return 提交的校验，没有异步约束时返回空集合
+     */
+    List<PendingCheck> submit(Object bean, Class<?>[] groups) {
+        List<PendingCheck> checks = new ArrayList<>();
+        Map<Object, Boolean> visited = new IdentityHashMap<>();
+        this.submit(bean, null, groups.length == 0 ? CompiledValidator.DEFAULT_GROUPS : groups, checks, visited);
+        return checks;
+    }
+
+    /**
+     * 预先扫描bean类型中的异步约束并创建校验器
+     *
+     * @param type the bean type
+     */
+    static void prepare(Class<?> type) {
+        PROPERTIES.get(type);
+    }
+
+    private void submit(Object bean, String path, Class<?>[] groups, List<PendingCheck> checks,
+                        Map<Object, Boolean> visited) {
+        AsyncProperty[] properties = PROPERTIES.get(bean.getClass());
+        if (properties.length == 0 || visited.put(bean, Boolean.TRUE) != null) {
+            return;
+        }
+        for (AsyncProperty property : properties) {
+            Object value = property.read(bean);
+            if (value == null) {
+                continue;
+            }
+            String propertyPath = CompiledValidator.path(path, property.name);
+            for (AsyncCheck check : property.checks) {
+                if (CompiledValidator.isActive(check.groups, groups)) {
+                    checks.add(new PendingCheck(propertyPath, check, value, batcher.submit(check.validator, value)));
+                }
+            }
+            if (property.cascade) {
+                this.cascade(value, propertyPath, groups, checks, visited);
+            }
+        }
+    }
+
+    private void cascade(Object value, String path, Class<?>[] groups, List<PendingCheck> checks,
+                         Map<Object, Boolean> visited) {
+        if (value instanceof Optional) {
+            Object present = ((Optional<?>) value).orElse(null);
+            if (present != null) {
+                this.submit(present, path, groups, checks, visited);
+            }
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getValue() != null) {
+                    this.submit(entry.getValue(), path + "[" + entry.getKey() + "]", groups, checks, visited);
+                }
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) != null) {
+                    this.submit(list.get(i), path + "[" + i + "]", groups, checks, visited);
+                }
+            }
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                if (element != null) {
+                    this.submit(element, path + "[]", groups, checks, visited);
+                }
+            }
+        } else if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                Object element = Array.get(value, i);
+                if (element != null) {
+                    this.submit(element, path + "[" + i + "]", groups, checks, visited);
+                }
+            }
+        } else {
+            this.submit(value, path, groups, checks, visited);
+        }
+    }
+
+    private static AsyncProperty[] scan(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            return NONE;
+        }
+        List<AsyncProperty> properties = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                List<AsyncCheck> checks = new ArrayList<>();
+                for (Annotation annotation : field.getDeclaredAnnotations()) {
+                    AsyncConstraint constraint = annotation.annotationType().getAnnotation(AsyncConstraint.class);
+                    if (constraint != null) {
+                        checks.add(new AsyncCheck(annotation, constraint));
+                    }
+                }
+                boolean cascade = field.isAnnotationPresent(Valid.class);
+                if (checks.isEmpty() && !cascade) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+                    properties.add(new AsyncProperty(field.getName(), getter,
+                            checks.toArray(new AsyncCheck[0]), cascade));
+                } catch (IllegalAccessException | SecurityException e) {
+                    throw new ValidationException("Unable to read property " + field.getName(), e);
+                }
+            }
+        }
+        return properties.isEmpty() ? NONE : properties.toArray(new AsyncProperty[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AsyncConstraintValidator<?> validatorOf(Annotation annotation, AsyncConstraint constraint) {
+        return VALIDATORS.computeIfAbsent(annotation, key -> {
+            try {
+                AsyncConstraintValidator<Annotation> validator =
+                        (AsyncConstraintValidator<Annotation>) constraint.validatedBy().newInstance();
+                validator.initialize(annotation);
+                return validator;
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new ValidationException("Unable to instantiate async constraint validator "
+                        + constraint.validatedBy().getName(), e);
+            }
+        });
+    }
+
+    /**
+     * 读取约束注解的属性
+     */
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            Method method = annotation.annotationType().getMethod(name);
+            method.setAccessible(true);
+            return method.invoke(annotation);
+        } catch (ReflectiveOperationException e) {
+            throw new ValidationException("Async constraint " + annotation.annotationType().getName()
+                    + " has no " + name + " attribute", e);
+        }
+    }
+
+    /**
+     * 已经提交的一个异步校验
+     */
+    static final class PendingCheck {
+
+        final String path;
+
+        final CompletableFuture<Boolean> valid;
+
+        private final AsyncCheck check;
+
+        private final Object value;
+
+        private PendingCheck(String path, AsyncCheck check, Object value, CompletableFuture<Boolean> valid) {
+            this.path = path;
+            this.check = check;
+            this.value = value;
+            this.valid = valid;
+        }
+
+        /**
+         * 插值后的错误信息
+         *
+         * @param interpolator 和同步校验相同的插值器
+         * @return the message
+         */
+        String message(MessageInterpolator interpolator) {
+            return check.message(interpolator, value);
+        }
+    }
+
+    /**
+     * 一个字段上的异步约束
+     */
+    private static final class AsyncProperty {
+
+        private final String name;
+
+        private final MethodHandle getter;
+
+        private final AsyncCheck[] checks;
+
+        private final boolean cascade;
+
+        private AsyncProperty(String name, MethodHandle getter, AsyncCheck[] checks, boolean cascade) {
+            this.name = name;
+            this.getter = getter;
+            this.checks = checks;
+            this.cascade = cascade;
+        }
+
+        private Object read(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new ValidationException("Unable to read property " + name, e);
+            }
+        }
+    }
+
+    /**
+     * 一个异步约束
+     */
+    private static final class AsyncCheck {
+
+        private final AsyncConstraintValidator<?> validator;
+
+        private final Class<?>[] groups;
+
+        private final AsyncConstraintDescriptor descriptor;
+
+        /**
+         * 不引用被校验的值的错误信息只插值一次
+         */
+        private volatile String message;
+
+        private AsyncCheck(Annotation annotation, AsyncConstraint constraint) {
+            this.validator = validatorOf(annotation, constraint);
+            Class<?>[] declared = (Class<?>[]) attribute(annotation, "groups");
+            this.groups = declared.length == 0 ? CompiledValidator.DEFAULT_GROUPS : declared;
+            this.descriptor = new AsyncConstraintDescriptor(annotation, declared);
+        }
+
+        private String message(MessageInterpolator interpolator, Object value) {
+            String template = descriptor.getMessageTemplate();
+            // EL表达式可能引用被校验的值，每次都需要插值
+            if (template.contains("${")) {
+                return interpolator.interpolate(template, new InterpolationContext(descriptor, value));
+            }
+            String interpolated = message;
+            if (interpolated == null) {
+                interpolated = interpolator.interpolate(template, new InterpolationContext(descriptor, null));
+                message = interpolated;
+            }
+            return interpolated;
+        }
+    }
+
+    /**
+     * 异步约束的描述，只用于插值错误信息
+     */
+    private static final class AsyncConstraintDescriptor implements ConstraintDescriptor<Annotation> {
+
+        private final Annotation annotation;
+
+        private final Set<Class<?>> groups;
+
+        private final Map<String, Object> attributes;
+
+        private AsyncConstraintDescriptor(Annotation annotation, Class<?>[] groups) {
+            this.annotation = annotation;
+            this.groups = groups.length == 0 ? Collections.singleton(Default.class)
+                    : Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(groups)));
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (Method method : annotation.annotationType().getDeclaredMethods()) {
+                if (method.getParameterCount() == 0) {
+                    attributes.put(method.getName(), attribute(annotation, method.getName()));
+                }
+            }
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+
+        @Override
+        public Annotation getAnnotation() {
+            return annotation;
+        }
+
+        @Override
+        public String getMessageTemplate() {
+            return (String) attributes.get("message");
+        }
+
+        @Override
+        public Set<Class<?>> getGroups() {
+            return groups;
+        }
+
+        @Override
+        public Set<Class<? extends Payload>> getPayload() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public ConstraintTarget getValidationAppliesTo() {
+            return null;
+        }
+
+        @Override
+        public List<Class<? extends ConstraintValidator<Annotation, ?>>> getConstraintValidatorClasses() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Set<ConstraintDescriptor<?>> getComposingConstraints() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public boolean isReportAsSingleViolation() {
+            return false;
+        }
+
+        @Override
+        public ValidateUnwrappedValue getValueUnwrapping() {
+            return ValidateUnwrappedValue.DEFAULT;
+        }
+
+        @Override
+        public <U> U unwrap(Class<U> type) {
+            throw new ValidationException("Type " + type.getName() + " not supported for unwrapping.");
+        }
+    }
+}
@@ -34,6 +34,10 @@ public class BusinessException extends RuntimeException {
         super(msg);
         this.code = code;
         this.shouldFillInStackTrace = shouldFillInStackTrace;
+        // 父类构造器中调用fillInStackTrace()时该字段还没有赋值
+        if (shouldFillInStackTrace) {
+            this.fillInStackTrace();
+        }
     }
 
     public BusinessException(String code, Object[] errParams) {
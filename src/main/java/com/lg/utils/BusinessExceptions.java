@@ -0,0 +1,110 @@
+package com.lg.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 预先分配的业务异常
+ * <p>
+ * 每个(错误码, 错误信息)只创建一个不可变的{@link BusinessException}，之后抛出同一个实例，
+ * 校验失败时不再为异常、错误码和错误信息分配内存。共享的实例没有堆栈，不能修改错误码、错误参数，
+ * 添加的被抑制的异常和堆栈会被忽略。
+ * 按-Dvalidator.stack-trace.sample-interval(默认0，不采样)设置的间隔随机采样，
+ * 平均每N次返回一个新创建的、带有堆栈的异常，用于定位异常的来源
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:20
+ */
+public final class BusinessExceptions {
+
+    /**
+     * 最多缓存的异常个数，错误信息中带有被校验的值时可能无限增长，超过后每次创建新的异常
+     */
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * K: 错误码, V: {K: 错误信息, V: 异常}
+     */
+    private static final ConcurrentMap<String, ConcurrentMap<String, BusinessException>> EXCEPTIONS =
+            new ConcurrentHashMap<>();
+
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    private static volatile int sampleInterval = Integer.getInteger("validator.stack-trace.sample-interval", 0);
+
+    private BusinessExceptions() {
+    }
+
+    /**
+     * 获取错误码对应的异常
+     *
+     * @param code    错误码
+     * @param message 错误信息
+     * @return 预先分配的异常，被采样时返回带有堆栈的新异常
+     */
+    public static BusinessException of(String code, String message) {
+        int interval = sampleInterval;
+        if (interval > 0 && ThreadLocalRandom.current().nextInt(interval) == 0) {
+            return new BusinessException(code, message, true);
+        }
+        if (code == null || message == null) {
+            return new BusinessException(code, message);
+        }
+        ConcurrentMap<String, BusinessException> messages = EXCEPTIONS.get(code);
+        if (messages == null) {
+            messages = EXCEPTIONS.computeIfAbsent(code, key -> new ConcurrentHashMap<>());
+        }
+        BusinessException exception = messages.get(message);
+        if (exception != null) {
+            return exception;
+        }
+        if (SIZE.get() >= MAX_SIZE) {
+            return new BusinessException(code, message);
+        }
+        exception = messages.computeIfAbsent(message, key -> {
+            SIZE.incrementAndGet();
+            return new Preallocated(code, key);
+        });
+        return exception;
+    }
+
+    /**
+     * 设置堆栈的采样间隔
+     *
+     * @param interval 平均每interval次抛出一个带有堆栈的异常，0表示不采样，1表示总是带有堆栈
+     */
+    public static void setSampleInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("interval must not be negative: " + interval);
+        }
+        sampleInterval = interval;
+    }
+
+    public static int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * 共享的不可变异常
+     */
+    private static final class Preallocated extends BusinessException {
+
+        private static final long serialVersionUID = 1L;
+
+        private Preallocated(String code, String message) {
+            super(message, null, false, false, code, null);
+        }
+
+        @Override
+        public void setCode(String code) {
+            throw new UnsupportedOperationException("Preallocated exception is immutable");
+        }
+
+        @Override
+        public void setErrParams(Object[] errParams) {
+            throw new UnsupportedOperationException("Preallocated exception is immutable");
+        }
+    }
+}
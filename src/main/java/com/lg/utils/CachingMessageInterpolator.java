@@ -0,0 +1,215 @@
+package com.lg.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 缓存解析结果的错误信息插值器
+ * <p>
+ * 每个(模板, 语言)只解析一次：先让hibernate的插值器在不带约束属性的情况下解析资源文件中的{key}，
+ * 再把结果拆分成文本片段和{属性}片段，之后的插值只需要用约束的属性填充片段。
+ * 模板或者资源文件中的信息包含EL表达式${...}或转义字符时仍然交给hibernate的插值器处理
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:55
+ */
+public final class CachingMessageInterpolator implements MessageInterpolator {
+
+    /**
+     * 每种语言最多缓存的模板个数
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * 需要交给hibernate插值器处理的模板
+     */
+    private static final CompiledMessage DELEGATE = new CompiledMessage(null, null);
+
+    private final MessageInterpolator delegate;
+
+    private final long maximumSize;
+
+    private final ConcurrentMap<Locale, Cache<String, CompiledMessage>> caches = new ConcurrentHashMap<>();
+
+    public CachingMessageInterpolator(MessageInterpolator delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param delegate    hibernate的插值器
+     * @param maximumSize 每种语言最多缓存的模板个数
+     */
+    public CachingMessageInterpolator(MessageInterpolator delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public String interpolate(String messageTemplate, Context context) {
+        return this.interpolate(messageTemplate, context, Locale.getDefault());
+    }
+
+    @Override
+    public String interpolate(String messageTemplate, Context context, Locale locale) {
+        CompiledMessage message = this.compile(messageTemplate, context, locale);
+        String result = message == DELEGATE ? null : message.fill(context.getConstraintDescriptor().getAttributes());
+        return result != null ? result : delegate.interpolate(messageTemplate, context, locale);
+    }
+
+    private CompiledMessage compile(String messageTemplate, Context context, Locale locale) {
+        Cache<String, CompiledMessage> cache = caches.get(locale);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(locale,
+                    key -> CacheBuilder.newBuilder().maximumSize(maximumSize).build());
+        }
+        CompiledMessage message = cache.getIfPresent(messageTemplate);
+        if (message != null) {
+            return message;
+        }
+        try {
+            return cache.get(messageTemplate, () -> this.doCompile(messageTemplate, context, locale));
+        } catch (ExecutionException e) {
+            return DELEGATE;
+        }
+    }
+
+    private CompiledMessage doCompile(String messageTemplate, Context context, Locale locale) {
+        if (needsDelegate(messageTemplate)) {
+            return DELEGATE;
+        }
+        // 不带约束属性解析，得到资源文件中的信息，其中的{属性}保持原样
+        ConstraintDescriptor<?> descriptor = withoutAttributes(context.getConstraintDescriptor());
+        String resolved = delegate.interpolate(messageTemplate,
+                new InterpolationContext(descriptor, context.getValidatedValue()), locale);
+        if (needsDelegate(resolved)) {
+            return DELEGATE;
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> parameters = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < resolved.length()) {
+            int open = resolved.indexOf('{', i);
+            int close = open < 0 ? -1 : resolved.indexOf('}', open);
+            if (open < 0 || close < 0) {
+                literal.append(resolved, i, resolved.length());
+                break;
+            }
+            literal.append(resolved, i, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            parameters.add(resolved.substring(open + 1, close));
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+        return new CompiledMessage(literals.toArray(new String[0]), parameters.toArray(new String[0]));
+    }
+
+    private static boolean needsDelegate(String message) {
+        return message.contains("${") || message.indexOf('\\') >= 0;
+    }
+
+    /**
+     * 属性为空的约束描述，只用于解析资源文件
+     */
+    private static ConstraintDescriptor<?> withoutAttributes(ConstraintDescriptor<?> descriptor) {
+        return (ConstraintDescriptor<?>) Proxy.newProxyInstance(ConstraintDescriptor.class.getClassLoader(),
+                new Class<?>[]{ConstraintDescriptor.class}, (proxy, method, args) -> {
+                    if ("getAttributes".equals(method.getName())) {
+                        return Collections.emptyMap();
+                    }
+                    try {
+                        return method.invoke(descriptor, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * 解析后的错误信息：literals[0] {parameters[0]} literals[1] ... literals[n]
+     */
+    private static final class CompiledMessage {
+
+        private final String[] literals;
+
+        private final String[] parameters;
+
+        private CompiledMessage(String[] literals, String[] parameters) {
+            this.literals = literals;
+            this.parameters = parameters;
+        }
+
+        /**
+         * 使用约束的属性填充
+         *
+         * @return 属性值包含转义字符时返回null，交给hibernate处理
+         */
+        String fill(Map<String, Object> attributes) {
+            if (parameters.length == 0) {
+                return literals[0];
+            }
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < parameters.length; i++) {
+                Object value = attributes.get(parameters[i]);
+                if (value == null) {
+                    // 和hibernate一样，不存在的属性保持原样
+                    sb.append('{').append(parameters[i]).append('}');
+                } else {
+                    String text = format(value);
+                    if (text.indexOf('\\') >= 0) {
+                        return null;
+                    }
+                    sb.append(text);
+                }
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+
+        private static String format(Object value) {
+            if (!value.getClass().isArray()) {
+                return value.toString();
+            }
+            if (value instanceof Object[]) {
+                return Arrays.toString((Object[]) value);
+            }
+            if (value instanceof int[]) {
+                return Arrays.toString((int[]) value);
+            }
+            if (value instanceof long[]) {
+                return Arrays.toString((long[]) value);
+            }
+            if (value instanceof boolean[]) {
+                return Arrays.toString((boolean[]) value);
+            }
+            if (value instanceof double[]) {
+                return Arrays.toString((double[]) value);
+            }
+            if (value instanceof float[]) {
+                return Arrays.toString((float[]) value);
+            }
+            if (value instanceof short[]) {
+                return Arrays.toString((short[]) value);
+            }
+            if (value instanceof byte[]) {
+                return Arrays.toString((byte[]) value);
+            }
+            return Arrays.toString((char[]) value);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.lg.utils;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Path;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.Objects;
+
+/**
+ * 编译校验器产生的违反约束信息
+ * 属性路径只在被访问时才解析成{@link PropertyPath}
+ *
+ * @author Xulg
+ * Created in 2026-10-17 11:31
+ */
+final class CompiledConstraintViolation<T> implements ConstraintViolation<T> {
+
+    private final String message;
+
+    private final String messageTemplate;
+
+    private final T rootBean;
+
+    private final Class<T> rootBeanClass;
+
+    private final Object leafBean;
+
+    private final Object invalidValue;
+
+    private final String path;
+
+    private final ConstraintDescriptor<?> constraintDescriptor;
+
+    private Path propertyPath;
+
+    CompiledConstraintViolation(String message, String messageTemplate, T rootBean, Class<T> rootBeanClass,
+                                Object leafBean, Object invalidValue, String path,
+                                ConstraintDescriptor<?> constraintDescriptor) {
+        this.message = message;
+        this.messageTemplate = messageTemplate;
+        this.rootBean = rootBean;
+        this.rootBeanClass = rootBeanClass;
+        this.leafBean = leafBean;
+        this.invalidValue = invalidValue;
+        this.path = path;
+        this.constraintDescriptor = constraintDescriptor;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    public Class<T> getRootBeanClass() {
+        return rootBeanClass;
+    }
+
+    @Override
+    public Object getLeafBean() {
+        return leafBean;
+    }
+
+    @Override
+    public Object[] getExecutableParameters() {
+        return null;
+    }
+
+    @Override
+    public Object getExecutableReturnValue() {
+        return null;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        if (propertyPath == null) {
+            propertyPath = PropertyPath.of(path);
+        }
+        return propertyPath;
+    }
+
+    @Override
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    @Override
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return constraintDescriptor;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        if (type.isAssignableFrom(CompiledConstraintViolation.class)) {
+            return type.cast(this);
+        }
+        throw new ValidationException("Type " + type.getName() + " not supported for unwrapping.");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CompiledConstraintViolation<?> that = (CompiledConstraintViolation<?>) o;
+        return rootBean == that.rootBean
+                && leafBean == that.leafBean
+                && Objects.equals(message, that.message)
+                && Objects.equals(path, that.path)
+                && Objects.equals(constraintDescriptor, that.constraintDescriptor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(message, path, constraintDescriptor);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledConstraintViolation{"
+                + "interpolatedMessage='" + message + '\''
+                + ", propertyPath=" + path
+                + ", rootBeanClass=" + rootBeanClass
+                + ", messageTemplate='" + messageTemplate + '\''
+                + '}';
+    }
+}
@@ -0,0 +1,171 @@
+package com.lg.utils;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.groups.Default;
+import java.util.Set;
+
+/**
+ * 针对某个bean类型专门生成的校验器
+ * 只处理能够直接内联执行的约束，不支持的bean类型或分组交给hibernate的Validator处理
+ *
+ * @author Xulg
+ * Created in 2026-10-17 11:02
+ */
+public abstract class CompiledValidator<T> {
+
+    static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    /**
+     * 分组是否是组序列(或者隐式分组)，这类分组需要按顺序逐个校验，交给hibernate处理
+     */
+    private static final ClassValue<Boolean> SEQUENCE_GROUP = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> group) {
+            return group.isAnnotationPresent(GroupSequence.class);
+        }
+    };
+
+    protected final Class<T> beanClass;
+
+    protected CompiledValidator(Class<T> beanClass) {
+        this.beanClass = beanClass;
+    }
+
+    public Class<T> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * 是否支持按指定的分组校验
+     *
+     * @param groups the validate groups
+     * @return false表示需要交给hibernate校验
+     */
+    public boolean supports(Class<?>[] groups) {
+        return isPlainGroups(beanClass, groups);
+    }
+
+    /**
+     * 分组中是否没有组序列以及bean的隐式分组
+     *
+     * @param beanClass the bean class
+     * @param groups    the validate groups
+     * @return true if all groups are plain groups
+     */
+    static boolean isPlainGroups(Class<?> beanClass, Class<?>[] groups) {
+        for (Class<?> group : groups) {
+            if (group == Default.class) {
+                continue;
+            }
+            // 组序列以及bean自身实现的接口(隐式分组)
+            if (SEQUENCE_GROUP.get(group) || group.isAssignableFrom(beanClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 校验对象
+     *
+     * @param bean   the target bean
+     * @param groups the validate groups
+     * @return 违反的约束，校验通过时返回空集合
+     */
+    public final Set<ConstraintViolation<T>> validate(T bean, Class<?>[] groups, CompiledValidators registry) {
+        return this.validate(bean, groups, registry, false);
+    }
+
+    /**
+     * 校验对象
+     *
+     * @param bean     the target bean
+     * @param groups   the validate groups
+     * @param failFast 是否在第一个违反的约束处结束校验
+     * @return 违反的约束，校验通过时返回空集合
+     */
+    public final Set<ConstraintViolation<T>> validate(T bean, Class<?>[] groups, CompiledValidators registry,
+                                                     boolean failFast) {
+        ViolationCollector<T> collector = new ViolationCollector<>(bean, beanClass, registry, failFast);
+        this.validateInto(bean, null, groups.length == 0 ? DEFAULT_GROUPS : groups, collector);
+        return collector.getViolations();
+    }
+
+    /**
+     * 校验bean的某一个属性，不做级联校验
+     *
+     * @param bean         the target bean
+     * @param propertyName 属性名称，必须是{@link #isCompiledProperty(String)}返回true的属性
+     * @param groups       the validate groups
+     * @return 违反的约束，校验通过时返回空集合
+     */
+    public final Set<ConstraintViolation<T>> validateProperty(T bean, String propertyName,
+                                                             Class<?>[] groups, CompiledValidators registry) {
+        ViolationCollector<T> collector = new ViolationCollector<>(bean, beanClass, registry, false);
+        this.validatePropertyInto(bean, null, propertyName, groups.length == 0 ? DEFAULT_GROUPS : groups,
+                collector, false);
+        return collector.getViolations();
+    }
+
+    /**
+     * 属性是否由当前校验器处理
+     *
+     * @param propertyName 属性名称
+     * @return false表示需要交给hibernate校验
+     */
+    public abstract boolean isCompiledProperty(String propertyName);
+
+    /**
+     * 校验bean，违反的约束添加到collector中
+     * 快速结束模式下{@link ViolationCollector#isDone()}为true时可以直接返回
+     *
+     * @param bean      the target bean
+     * @param path      bean所在的属性路径，根对象为null
+     * @param groups    the validate groups，不会为空
+     * @param collector 违反约束的收集器
+     */
+    protected abstract void validateInto(T bean, String path, Class<?>[] groups, ViolationCollector<?> collector);
+
+    /**
+     * 校验bean的某一个属性，违反的约束添加到collector中
+     *
+     * @param bean         the target bean
+     * @param path         bean所在的属性路径，根对象为null
+     * @param propertyName 属性名称
+     * @param groups       the validate groups，不会为空
+     * @param collector    违反约束的收集器
+     * @param cascade      属性是@Valid时是否级联校验属性值
+     */
+    protected abstract void validatePropertyInto(T bean, String path, String propertyName, Class<?>[] groups,
+                                                 ViolationCollector<?> collector, boolean cascade);
+
+    /**
+     * 约束声明的分组是否在本次校验的分组内
+     *
+     * @param declared  约束声明的分组
+     * @param requested 本次校验的分组
+     * @return true if the constraint should be validated
+     */
+    protected static boolean isActive(Class<?>[] declared, Class<?>[] requested) {
+        for (Class<?> group : requested) {
+            for (Class<?> declaredGroup : declared) {
+                if (declaredGroup.isAssignableFrom(group)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 拼接属性路径
+     *
+     * @param path     父路径，根对象为null
+     * @param property 属性名称
+     * @return the property path
+     */
+    protected static String path(String path, String property) {
+        return path == null ? property : path + "." + property;
+    }
+}
@@ -0,0 +1,131 @@
+package com.lg.utils;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 编译校验器的缓存
+ * 编译期生成的校验器存在时总是优先使用，其次是元数据快照中的校验计划；开启编译模式时，其余的bean类型在运行时编译校验计划。
+ * 每个bean类型只查找/编译一次，不支持编译的类型也会被记录下来，之后直接交给hibernate校验
+ *
+ * @author Xulg
+ * Created in 2026-10-17 11:45
+ */
+public final class CompiledValidators {
+
+    private final ValidatorFactory factory;
+
+    private final ValidatorFactory failFastFactory;
+
+    private final Validator validator;
+
+    private final Validator failFastValidator;
+
+    private final MessageInterpolator messageInterpolator;
+
+    /**
+     * 编译期生成的校验器以及从元数据快照中恢复的校验计划
+     */
+    private final ConcurrentMap<Class<?>, Optional<CompiledValidator<?>>> generated = new ConcurrentHashMap<>();
+
+    /**
+     * 运行时编译的校验计划
+     */
+    private final ConcurrentMap<Class<?>, Optional<CompiledValidator<?>>> plans = new ConcurrentHashMap<>();
+
+    /**
+     * 是否在运行时编译校验计划
+     */
+    private volatile boolean compiling;
+
+    /**
+     * 元数据快照，快照中的类型不受编译模式的影响
+     */
+    private volatile MetadataSnapshot snapshot;
+
+    CompiledValidators(ValidatorFactory factory, ValidatorFactory failFastFactory) {
+        this.factory = factory;
+        this.failFastFactory = failFastFactory;
+        this.validator = factory.getValidator();
+        this.failFastValidator = failFastFactory.getValidator();
+        this.messageInterpolator = factory.getMessageInterpolator();
+    }
+
+    /**
+     * 获取bean类型的编译校验器
+     *
+     * @param beanClass the bean class
+     * @return null表示该类型不支持编译
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompiledValidator<T> get(Class<T> beanClass) {
+        Optional<CompiledValidator<?>> compiled = generated.get(beanClass);
+        if (compiled == null) {
+            compiled = generated.computeIfAbsent(beanClass,
+                    type -> Optional.ofNullable(this.load(type)));
+        }
+        if (compiled.isPresent() || !compiling) {
+            return (CompiledValidator<T>) compiled.orElse(null);
+        }
+        compiled = plans.get(beanClass);
+        if (compiled == null) {
+            // 编译过程中不会递归编译级联的类型，可以放心使用computeIfAbsent
+            compiled = plans.computeIfAbsent(beanClass,
+                    type -> Optional.ofNullable(ValidationPlan.compile(type, this)));
+        }
+        return (CompiledValidator<T>) compiled.orElse(null);
+    }
+
+    private CompiledValidator<?> load(Class<?> beanClass) {
+        CompiledValidator<?> validator = GeneratedValidator.load(beanClass);
+        MetadataSnapshot current = snapshot;
+        return validator != null || current == null ? validator : current.restore(beanClass);
+    }
+
+    /**
+     * 替换元数据快照，已经查找过的类型会重新查找
+     */
+    void setSnapshot(MetadataSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.generated.clear();
+    }
+
+    boolean isCompiling() {
+        return compiling;
+    }
+
+    void setCompiling(boolean compiling) {
+        this.compiling = compiling;
+    }
+
+    Validator getValidator() {
+        return validator;
+    }
+
+    Validator getValidator(boolean failFast) {
+        return failFast ? failFastValidator : validator;
+    }
+
+    /**
+     * 获取从级联对象开始校验时使用的validator，不会沿着引用级联进入当前路径上的对象，见{@link AncestorTraversableResolver}
+     *
+     * @param failFast  是否快速结束
+     * @param ancestors 判断对象是否在当前级联路径上
+     * @return the validator
+     */
+    Validator getValidator(boolean failFast, Predicate<Object> ancestors) {
+        ValidatorFactory current = failFast ? failFastFactory : factory;
+        return current.usingContext()
+                .traversableResolver(new AncestorTraversableResolver(current.getTraversableResolver(), ancestors))
+                .getValidator();
+    }
+
+    MessageInterpolator getMessageInterpolator() {
+        return messageInterpolator;
+    }
+}
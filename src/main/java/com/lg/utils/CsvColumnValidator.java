@@ -0,0 +1,484 @@
+package com.lg.utils;
+
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.validator.CheckEnumValidator;
+import com.lg.validator.MobileValidator;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批量导入时直接在文件的字节上校验csv的列
+ * <p>
+ * 文件按窗口内存映射，逐条记录扫描分隔符，只记录每个单元格的起止位置，不为每一行创建String或DTO。
+ * 列和约束的对应关系来自导入DTO的属性：第i列使用第i个属性上的约束，
+ * 支持{@link Mobile}、{@link CheckEnum}、{@link NotNull}、{@link NotEmpty}、{@link NotBlank}，
+ * 前两者与注解在bean上的校验语义相同。
+ * <p>
+ * 文件需要是UTF-8(或者兼容ASCII的)编码，支持双引号包裹的单元格以及其中的换行和转义的双引号，
+ * 空单元格和缺少的列视为null。
+ * <p>
+ * 行的下标按文件中的记录计数，空行也占一个下标，单元格中没有换行时数据行i对应文件的第i + 2行(跳过表头时)。
+ * 只有换行符、没有任何内容的记录是空行。文件中的记录(按已读到的最宽的记录计算)有多列时空行跳过校验；
+ * 只有一列时空行无法和空单元格区分，按空单元格校验
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:50
+ */
+public final class CsvColumnValidator {
+
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private final Class<?> rowType;
+
+    private final String[] columns;
+
+    private Class<?>[] groups = CompiledValidator.DEFAULT_GROUPS;
+
+    private InvalidCellHandler invalidHandler = (row, column, message) -> {
+    };
+
+    private byte delimiter = ',';
+
+    private boolean skipHeader = true;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    private CsvColumnValidator(Class<?> rowType, String[] columns) {
+        this.rowType = rowType;
+        this.columns = columns;
+    }
+
+    /**
+     * 创建校验器
+     *
+     * @param rowType 声明约束的导入DTO类型，不会被实例化
+     * @param columns 每一列对应的属性名称，null表示该列不校验
+     * @return the validator
+     */
+    public static CsvColumnValidator of(Class<?> rowType, String... columns) {
+        return new CsvColumnValidator(rowType, columns.clone());
+    }
+
+    /**
+     * 校验的分组，默认为Default
+     */
+    public CsvColumnValidator groups(Class<?>... groups) {
+        this.groups = groups.length == 0 ? CompiledValidator.DEFAULT_GROUPS : groups;
+        return this;
+    }
+
+    /**
+     * 校验失败单元格的回调
+     */
+    public CsvColumnValidator onInvalid(InvalidCellHandler invalidHandler) {
+        this.invalidHandler = invalidHandler;
+        return this;
+    }
+
+    /**
+     * 列的分隔符，默认为逗号
+     */
+    public CsvColumnValidator delimiter(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("illegal delimiter: " + delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        return this;
+    }
+
+    /**
+     * 是否跳过第一行的表头，默认跳过
+     */
+    public CsvColumnValidator skipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+        return this;
+    }
+
+    /**
+     * 每次映射的字节数，默认256MB，一条记录不能超过该大小
+     */
+    public CsvColumnValidator windowSize(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * 逐条记录校验文件，回调在调用线程中按行、列的顺序执行
+     *
+     * @param file the csv file
+     * @return 数据行数，不包括表头，包括空行
+     * @throws IOException              读取文件失败，或者一条记录超过了映射窗口
+     * @throws IllegalArgumentException 属性上有不支持在字节上校验的约束
+     */
+    public long validate(File file) throws IOException {
+        Scanner scanner = new Scanner(this.compile());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowSize, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = scanner.scan(buffer, last);
+                if (consumed == 0) {
+                    throw new IOException("csv record at byte " + position
+                            + " exceeds the window size " + windowSize);
+                }
+                position += consumed;
+            }
+        }
+        return scanner.rows;
+    }
+
+    /**
+     * 为每一列生成校验
+     */
+    private CellCheck[][] compile() {
+        CompiledValidators registry = ValidatorUtils.getCompiledValidators();
+        BeanDescriptor beanDescriptor = registry.getValidator().getConstraintsForClass(rowType);
+        CellCheck[][] checks = new CellCheck[columns.length][];
+        for (int column = 0; column < columns.length; column++) {
+            List<CellCheck> columnChecks = new ArrayList<>();
+            PropertyDescriptor property = columns[column] == null
+                    ? null : beanDescriptor.getConstraintsForProperty(columns[column]);
+            if (property != null) {
+                for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                    if (!CompiledValidator.isActive(descriptor.getGroups().toArray(new Class<?>[0]), groups)) {
+                        continue;
+                    }
+                    String message = registry.getMessageInterpolator().interpolate(
+                            descriptor.getMessageTemplate(), new InterpolationContext(descriptor, null));
+                    columnChecks.add(new CellCheck(predicateOf(descriptor.getAnnotation(), columns[column]), message));
+                }
+            }
+            checks[column] = columnChecks.toArray(new CellCheck[0]);
+        }
+        return checks;
+    }
+
+    private static CellPredicate predicateOf(Annotation annotation, String property) {
+        if (annotation instanceof Mobile) {
+            boolean strict = ((Mobile) annotation).isStrict();
+            return cell -> cell == null || MobileValidator.isMobile(cell, strict);
+        }
+        if (annotation instanceof CheckEnum) {
+            CheckEnum checkEnum = (CheckEnum) annotation;
+            CheckEnumValidator validator = CheckEnumValidator.of(
+                    checkEnum.value(), checkEnum.getter(), checkEnum.whitelist());
+            // 非ASCII的code需要先按UTF-8解码
+            return cell -> cell == null || validator.isValidText(cell.isAscii() ? cell : cell.toString());
+        }
+        if (annotation instanceof NotNull || annotation instanceof NotEmpty) {
+            return cell -> cell != null;
+        }
+        if (annotation instanceof NotBlank) {
+            return cell -> cell != null && !cell.isBlank();
+        }
+        throw new IllegalArgumentException("Constraint " + annotation.annotationType().getName()
+                + " on property " + property + " is not supported for csv columns");
+    }
+
+    /**
+     * 单元格校验失败的回调
+     */
+    @FunctionalInterface
+    public interface InvalidCellHandler {
+
+        /**
+         * 单元格校验失败，同一个单元格违反多个约束时回调多次
+         *
+         * @param row     数据行的下标，从0开始，不包括表头，包括空行
+         * @param column  列的下标，从0开始
+         * @param message 错误信息
+         */
+        void onInvalid(long row, int column, String message);
+    }
+
+    @FunctionalInterface
+    private interface CellPredicate {
+
+        /**
+         * @param cell 单元格，空单元格或者缺少的列为null
+         */
+        boolean test(Cell cell);
+    }
+
+    private static final class CellCheck {
+
+        private final CellPredicate predicate;
+
+        private final String message;
+
+        private CellCheck(CellPredicate predicate, String message) {
+            this.predicate = predicate;
+            this.message = message;
+        }
+    }
+
+    /**
+     * 扫描映射的窗口，跨窗口的记录在下一个窗口中重新扫描
+     */
+    private final class Scanner {
+
+        private final CellCheck[][] checks;
+
+        /**
+         * 当前记录中需要校验的单元格的起止位置，-1表示缺少该列
+         */
+        private final int[] starts;
+
+        private final int[] ends;
+
+        /**
+         * 单元格中是否有转义的双引号
+         */
+        private final boolean[] escaped;
+
+        private final Cell cell = new Cell();
+
+        private byte[] unescaped = new byte[64];
+
+        private long rows;
+
+        private boolean header = skipHeader;
+
+        /**
+         * 最近解析的记录是否是空行，即除了换行符之外没有任何字节
+         */
+        private boolean blank;
+
+        /**
+         * 已经解析的非空记录中最多的列数
+         */
+        private int width;
+
+        private Scanner(CellCheck[][] checks) {
+            this.checks = checks;
+            this.starts = new int[checks.length];
+            this.ends = new int[checks.length];
+            this.escaped = new boolean[checks.length];
+        }
+
+        /**
+         * @param buffer 映射的窗口
+         * @param last   是否是文件的最后一个窗口
+         * @return 已经处理完的完整记录的字节数
+         */
+        private int scan(ByteBuffer buffer, boolean last) {
+            int limit = buffer.limit();
+            int position = 0;
+            while (position < limit) {
+                int end = this.parseRecord(buffer, position, limit, last);
+                if (end < 0) {
+                    break;
+                }
+                this.checkRecord(buffer);
+                position = end;
+            }
+            return position;
+        }
+
+        /**
+         * 解析一条记录中各单元格的位置
+         *
+         * @return 下一条记录的开始位置，记录不完整时返回-1
+         */
+        private int parseRecord(ByteBuffer buffer, int position, int limit, boolean last) {
+            Arrays.fill(starts, -1);
+            int column = 0;
+            int i = position;
+            while (true) {
+                int start = i;
+                int end;
+                boolean hasEscape = false;
+                if (i < limit && buffer.get(i) == '"') {
+                    start = ++i;
+                    while (true) {
+                        if (i >= limit) {
+                            if (!last) {
+                                return -1;
+                            }
+                            // 没有闭合的引号，到文件末尾为止
+                            end = i;
+                            break;
+                        }
+                        if (buffer.get(i) == '"') {
+                            if (i + 1 >= limit && !last) {
+                                return -1;
+                            }
+                            if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                                hasEscape = true;
+                                i += 2;
+                                continue;
+                            }
+                            end = i++;
+                            break;
+                        }
+                        i++;
+                    }
+                    // 忽略闭合引号之后到分隔符之间的内容
+                    while (i < limit && buffer.get(i) != delimiter && buffer.get(i) != '\n') {
+                        i++;
+                    }
+                } else {
+                    while (i < limit && buffer.get(i) != delimiter && buffer.get(i) != '\n') {
+                        i++;
+                    }
+                    end = i;
+                    if (end > start && buffer.get(end - 1) == '\r') {
+                        end--;
+                    }
+                }
+                if (column == 0) {
+                    blank = end == start && buffer.get(position) != '"';
+                } else {
+                    blank = false;
+                }
+                if (column < starts.length) {
+                    starts[column] = start;
+                    ends[column] = end;
+                    escaped[column] = hasEscape;
+                }
+                column++;
+                if (!blank) {
+                    width = Math.max(width, column);
+                }
+                if (i >= limit) {
+                    return last ? limit : -1;
+                }
+                if (buffer.get(i++) == '\n') {
+                    return i;
+                }
+            }
+        }
+
+        private void checkRecord(ByteBuffer buffer) {
+            if (header) {
+                header = false;
+                return;
+            }
+            long row = rows++;
+            if (blank && width > 1) {
+                return;
+            }
+            for (int column = 0; column < checks.length; column++) {
+                if (checks[column].length == 0) {
+                    continue;
+                }
+                Cell value = null;
+                if (starts[column] >= 0 && ends[column] > starts[column]) {
+                    value = escaped[column]
+                            ? this.unescape(buffer, starts[column], ends[column])
+                            : cell.reset(buffer, starts[column], ends[column] - starts[column]);
+                }
+                for (CellCheck check : checks[column]) {
+                    if (!check.predicate.test(value)) {
+                        invalidHandler.onInvalid(row, column, check.message);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 把转义的双引号还原后复制到临时数组中
+         */
+        private Cell unescape(ByteBuffer buffer, int start, int end) {
+            if (unescaped.length < end - start) {
+                unescaped = new byte[Math.max(end - start, unescaped.length << 1)];
+            }
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                unescaped[length++] = b;
+                if (b == '"') {
+                    i++;
+                }
+            }
+            return cell.reset(ByteBuffer.wrap(unescaped), 0, length);
+        }
+    }
+
+    /**
+     * 单元格字节的字符视图，每个字节作为一个字符，只在回调之前有效
+     */
+    private static final class Cell implements CharSequence {
+
+        private ByteBuffer buffer;
+
+        private int offset;
+
+        private int length;
+
+        private Cell reset(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+            return this;
+        }
+
+        private boolean isAscii() {
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(offset + i) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < length; i++) {
+                if (!Character.isWhitespace(buffer.get(offset + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Cell().reset(buffer, offset + start, end - start);
+        }
+
+        /**
+         * 按UTF-8解码
+         */
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
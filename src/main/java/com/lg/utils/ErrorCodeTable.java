@@ -0,0 +1,209 @@
+package com.lg.utils;
+
+import com.google.common.base.CaseFormat;
+
+import javax.validation.ConstraintViolation;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 错误码表
+ * 按(bean类型, 属性路径, 约束类型)缓存错误码，同一个属性第二次校验失败时只需要查表。
+ * 默认的错误码为"err_" + 下划线形式的属性路径，可以通过{@link #register}为某个属性指定错误码和错误信息
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:25
+ */
+public final class ErrorCodeTable implements ViolationTranslator {
+
+    /**
+     * 每个bean类型最多缓存的属性路径个数，集合元素的路径带有下标，超过后不再缓存
+     */
+    private static final int MAX_PATHS_PER_CLASS = 1024;
+
+    /**
+     * 注册错误码时表示所有约束类型
+     */
+    private static final Class<? extends Annotation> ANY_CONSTRAINT = Annotation.class;
+
+    /**
+     * K: bean类型, V: {K: 属性路径, V: {K: 约束类型, V: 错误码}}
+     * 同时保存注册的错误码和查询时缓存的错误码，后者见{@link ErrorCode#cached}
+     */
+    private final ClassValue<ConcurrentMap<String, ConcurrentMap<Class<? extends Annotation>, ErrorCode>>> codes =
+            new ClassValue<ConcurrentMap<String, ConcurrentMap<Class<? extends Annotation>, ErrorCode>>>() {
+                @Override
+                protected ConcurrentMap<String, ConcurrentMap<Class<? extends Annotation>, ErrorCode>> computeValue(
+                        Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final ViolationTranslator preallocated = violation -> this.resolve(violation).toException();
+
+    /**
+     * 为某个属性的某种约束指定错误码
+     *
+     * @param beanClass    the root bean class
+     * @param propertyPath 属性路径，如address.addressInfo
+     * @param constraint   约束类型，null表示该属性的所有约束
+     * @param code         错误码
+     * @param message      错误信息，null表示使用约束插值后的错误信息
+     */
+    public void register(Class<?> beanClass, String propertyPath, Class<? extends Annotation> constraint,
+                         String code, String message) {
+        ConcurrentMap<Class<? extends Annotation>, ErrorCode> constraints = codes.get(beanClass)
+                .computeIfAbsent(propertyPath, path -> new ConcurrentHashMap<>());
+        if (constraint == null) {
+            // 先发布新的错误码，再清除按旧配置缓存的错误码，为具体约束注册的错误码保留
+            constraints.put(ANY_CONSTRAINT, new ErrorCode(code, message));
+            constraints.values().removeIf(errorCode -> errorCode.cached);
+        } else {
+            constraints.put(constraint, new ErrorCode(code, message));
+        }
+    }
+
+    /**
+     * 查找违反的约束对应的错误码
+     *
+     * @param violation the violation
+     * @return the error code
+     */
+    public ErrorCode lookup(ConstraintViolation<?> violation) {
+        String path = violation.getPropertyPath().toString();
+        Class<? extends Annotation> constraint = violation.getConstraintDescriptor().getAnnotation().annotationType();
+        ConcurrentMap<String, ConcurrentMap<Class<? extends Annotation>, ErrorCode>> paths =
+                codes.get(violation.getRootBeanClass());
+        ConcurrentMap<Class<? extends Annotation>, ErrorCode> constraints = paths.get(path);
+        if (constraints == null) {
+            if (paths.size() >= MAX_PATHS_PER_CLASS) {
+                return defaultCode(path);
+            }
+            constraints = paths.computeIfAbsent(path, key -> new ConcurrentHashMap<>());
+        }
+        ErrorCode errorCode = constraints.get(constraint);
+        while (errorCode == null) {
+            ErrorCode any = constraints.get(ANY_CONSTRAINT);
+            ErrorCode cached = any != null ? new ErrorCode(any.code, any.message, true) : defaultCode(path);
+            errorCode = constraints.putIfAbsent(constraint, cached);
+            if (errorCode == null) {
+                if (constraints.get(ANY_CONSTRAINT) == any) {
+                    errorCode = cached;
+                } else {
+                    // 缓存期间注册了新的错误码，register可能已经清除过缓存，需要重新计算
+                    constraints.remove(constraint, cached);
+                }
+            }
+        }
+        return errorCode;
+    }
+
+    /**
+     * 查找违反的约束对应的错误码，没有指定错误信息时使用约束插值后的错误信息
+     *
+     * @param violation the violation
+     * @return 带有错误信息的错误码，错误信息不变时返回同一个实例
+     */
+    public ErrorCode resolve(ConstraintViolation<?> violation) {
+        return this.lookup(violation).withMessage(violation.getMessage());
+    }
+
+    /**
+     * 转换成新创建的异常，调用方可以修改异常的错误码和错误参数
+     */
+    @Override
+    public RuntimeException translate(ConstraintViolation<?> violation) {
+        ErrorCode errorCode = this.resolve(violation);
+        return new BusinessException(errorCode.getCode(), errorCode.getMessage());
+    }
+
+    /**
+     * 转换成预先分配的异常的策略，见{@link BusinessExceptions}，通过{@link ValidatorUtils#setViolationTranslator}启用。
+     * 抛出的异常是共享的，修改错误码和错误参数时会抛出UnsupportedOperationException
+     *
+     * @return the translator
+     */
+    public ViolationTranslator preallocated() {
+        return preallocated;
+    }
+
+    private static ErrorCode defaultCode(String path) {
+        return new ErrorCode("err_" + CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, path), null, true);
+    }
+
+    /**
+     * 错误码
+     */
+    public static final class ErrorCode {
+
+        /**
+         * 校验通过
+         */
+        public static final ErrorCode OK = new ErrorCode(null, null);
+
+        private final String code;
+
+        /**
+         * null表示使用约束插值后的错误信息
+         */
+        private final String message;
+
+        /**
+         * 是否是查询时缓存的错误码，而不是注册的错误码
+         */
+        private final boolean cached;
+
+        /**
+         * 最近一次使用的带有错误信息的错误码，错误信息不变时不需要重新创建
+         */
+        private volatile ErrorCode resolved;
+
+        private ErrorCode(String code, String message) {
+            this(code, message, false);
+        }
+
+        private ErrorCode(String code, String message, boolean cached) {
+            this.code = code;
+            this.message = message;
+            this.cached = cached;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isOk() {
+            return this == OK;
+        }
+
+        /**
+         * 转换成预先分配的异常
+         *
+         * @return the exception
+         * @throws IllegalStateException 校验通过
+         */
+        public BusinessException toException() {
+            if (this.isOk()) {
+                throw new IllegalStateException("No error");
+            }
+            return BusinessExceptions.of(code, message);
+        }
+
+        private ErrorCode withMessage(String violationMessage) {
+            if (message != null) {
+                return this;
+            }
+            ErrorCode current = resolved;
+            if (current == null || !current.message.equals(violationMessage)) {
+                current = new ErrorCode(code, violationMessage);
+                resolved = current;
+            }
+            return current;
+        }
+    }
+}
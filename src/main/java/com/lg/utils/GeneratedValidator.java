@@ -0,0 +1,175 @@
+package com.lg.utils;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+
+/**
+ * 编译期由validator-processor为DTO生成的校验器的父类
+ * <p>
+ * 生成的校验器命名为bean的类名加上Validator后缀(内部类的类名用下划线连接)，与bean在同一个包下，
+ * 例如com.lg.dto.Order.Item对应com.lg.dto.Order_ItemValidator。
+ * 生成的代码直接调用getter并内联执行约束检查，校验通过时不会访问hibernate的元数据；
+ * 只有出现违反的约束时才根据约束所在的属性和注解类型找到约束描述并插值错误信息，结果会被缓存。
+ *
+ * @author Xulg
+ * Created in 2026-10-17 14:10
+ */
+public abstract class GeneratedValidator<T> extends CompiledValidator<T> {
+
+    /**
+     * 生成的校验器的类名后缀
+     */
+    public static final String SUFFIX = "Validator";
+
+    private final String[] properties;
+
+    private final Slot[] slots;
+
+    /**
+     * @param beanClass  the bean class
+     * @param properties 校验器处理的属性
+     * @param slots      所有约束，按生成代码中的下标排列
+     */
+    protected GeneratedValidator(Class<T> beanClass, String[] properties, Slot... slots) {
+        super(beanClass);
+        this.properties = properties;
+        this.slots = slots;
+    }
+
+    /**
+     * 声明一个约束
+     *
+     * @param property       约束所在的属性
+     * @param annotationType 约束的注解类型
+     * @return the slot
+     */
+    protected static Slot slot(String property, Class<? extends Annotation> annotationType) {
+        return new Slot(property, annotationType);
+    }
+
+    @Override
+    public boolean isCompiledProperty(String propertyName) {
+        for (String property : properties) {
+            if (property.equals(propertyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 报告一个违反的约束
+     *
+     * @param slot      约束的下标
+     * @param path      bean所在的属性路径，根对象为null
+     * @param leafBean  约束所在的bean
+     * @param value     the invalid value
+     * @param collector 违反约束的收集器
+     */
+    protected final void report(int slot, String path, Object leafBean, Object value,
+                                ViolationCollector<?> collector) {
+        Slot constraint = slots[slot];
+        CompiledValidators registry = collector.getRegistry();
+        Resolved resolved = constraint.resolved;
+        if (resolved == null || resolved.registry != registry) {
+            resolved = this.resolve(constraint, registry);
+            constraint.resolved = resolved;
+        }
+        String message = resolved.message;
+        if (message == null) {
+            // EL表达式可能引用被校验的值，每次都需要插值
+            message = registry.getMessageInterpolator().interpolate(resolved.descriptor.getMessageTemplate(),
+                    new InterpolationContext(resolved.descriptor, value));
+        }
+        collector.add(path(path, constraint.property), leafBean, value, resolved.descriptor, message);
+    }
+
+    private Resolved resolve(Slot slot, CompiledValidators registry) {
+        PropertyDescriptor property = registry.getValidator().getConstraintsForClass(beanClass)
+                .getConstraintsForProperty(slot.property);
+        if (property != null) {
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                if (descriptor.getAnnotation().annotationType() == slot.annotationType) {
+                    String template = descriptor.getMessageTemplate();
+                    String message = template.contains("${") ? null : registry.getMessageInterpolator()
+                            .interpolate(template, new InterpolationContext(descriptor, null));
+                    return new Resolved(registry, descriptor, message);
+                }
+            }
+        }
+        throw new IllegalStateException("No constraint " + slot.annotationType.getName()
+                + " found on " + beanClass.getName() + "." + slot.property
+                + ", the generated validator is out of date.");
+    }
+
+    /**
+     * 加载bean类型对应的生成的校验器
+     *
+     * @param beanClass the bean class
+     * @return null表示没有生成的校验器
+     */
+    static CompiledValidator<?> load(Class<?> beanClass) {
+        if (beanClass.isPrimitive() || beanClass.isArray()) {
+            return null;
+        }
+        try {
+            // 同名的类可能是业务代码中的校验器(如Order的OrderValidator)，确认是生成的校验器之后才初始化
+            Class<?> type = Class.forName(generatedName(beanClass), false, beanClass.getClassLoader());
+            if (!GeneratedValidator.class.isAssignableFrom(type)) {
+                return null;
+            }
+            GeneratedValidator<?> validator = (GeneratedValidator<?>) type.newInstance();
+            return validator.getBeanClass() == beanClass ? validator : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 生成的校验器的类名
+     *
+     * @param beanClass the bean class
+     * @return the qualified name
+     */
+    static String generatedName(Class<?> beanClass) {
+        String name = beanClass.getName();
+        int index = name.lastIndexOf('.');
+        return name.substring(0, index + 1) + name.substring(index + 1).replace('$', '_') + SUFFIX;
+    }
+
+    /**
+     * 生成代码中声明的约束
+     */
+    protected static final class Slot {
+
+        private final String property;
+
+        private final Class<? extends Annotation> annotationType;
+
+        private volatile Resolved resolved;
+
+        private Slot(String property, Class<? extends Annotation> annotationType) {
+            this.property = property;
+            this.annotationType = annotationType;
+        }
+    }
+
+    /**
+     * 约束描述以及插值后的错误信息
+     */
+    private static final class Resolved {
+
+        private final CompiledValidators registry;
+
+        private final ConstraintDescriptor<?> descriptor;
+
+        private final String message;
+
+        private Resolved(CompiledValidators registry, ConstraintDescriptor<?> descriptor, String message) {
+            this.registry = registry;
+            this.descriptor = descriptor;
+            this.message = message;
+        }
+    }
+}
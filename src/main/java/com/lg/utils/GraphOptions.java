@@ -0,0 +1,67 @@
+package com.lg.utils;
+
+/**
+ * 大对象图级联校验的参数，不可变对象
+ * 默认值可以通过-Dvalidator.graph.max-depth(默认64)和-Dvalidator.graph.parallel-threshold(默认1024)设置
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:10
+ */
+public final class GraphOptions {
+
+    private static final GraphOptions DEFAULTS = new GraphOptions(
+            Integer.getInteger("validator.graph.max-depth", 64),
+            Integer.getInteger("validator.graph.parallel-threshold", 1024));
+
+    /**
+     * 最大的级联深度，根对象的深度为0
+     */
+    private final int maxDepth;
+
+    /**
+     * 集合元素个数达到该值时并行校验
+     */
+    private final int parallelThreshold;
+
+    private GraphOptions(int maxDepth, int parallelThreshold) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative: " + maxDepth);
+        }
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("parallelThreshold must be positive: " + parallelThreshold);
+        }
+        this.maxDepth = maxDepth;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static GraphOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 设置最大的级联深度，超过时抛出{@link javax.validation.ValidationException}
+     */
+    public GraphOptions maxDepth(int maxDepth) {
+        return new GraphOptions(maxDepth, parallelThreshold);
+    }
+
+    /**
+     * 设置并行校验的集合元素个数，Integer.MAX_VALUE表示不并行
+     */
+    public GraphOptions parallelThreshold(int parallelThreshold) {
+        return new GraphOptions(maxDepth, parallelThreshold);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphOptions{maxDepth=" + maxDepth + ", parallelThreshold=" + parallelThreshold + '}';
+    }
+}
@@ -0,0 +1,394 @@
+package com.lg.utils;
+
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.GroupConversionDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 大对象图的级联校验
+ * <p>
+ * 使用显式的工作栈代替递归，级联深度超过限制时抛出异常；循环引用按当前级联路径上的对象引用检测，
+ * 同一个对象出现在不同路径上时和hibernate一样会分别校验。
+ * 元素个数达到并行阈值的集合拆分成多个子树，在fork-join公共池中并行校验后按元素顺序合并结果。
+ * <p>
+ * 能编译的bean使用编译校验器校验自身的约束，级联对象由工作栈接管；其余的bean逐个属性交给hibernate校验，
+ * 级联的属性值同样放入工作栈。类级别约束、组序列、Map的key级联等情况下该bean的整个子树交给hibernate校验，
+ * 此时hibernate不会级联进入当前路径上的上层对象。
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:20
+ */
+final class GraphValidator {
+
+    private final CompiledValidators registry;
+
+    GraphValidator(CompiledValidators registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 校验对象图
+     *
+     * @param bean    the root bean
+     * @param options 级联深度和并行阈值
+     * @param groups  the validate groups
+     * @return 违反的约束，校验通过时返回空集合
+     */
+    @SuppressWarnings("unchecked")
+    <T> Set<ConstraintViolation<T>> validate(T bean, GraphOptions options, Class<?>[] groups) {
+        if (bean == null) {
+            throw new IllegalArgumentException("The object to be validated must not be null");
+        }
+        ViolationCollector<T> collector = new ViolationCollector<>(bean, (Class<T>) bean.getClass(), registry, false);
+        Traversal traversal = new Traversal(collector, options);
+        traversal.stack.push(new Node(bean, null, 0, null,
+                groups.length == 0 ? CompiledValidator.DEFAULT_GROUPS : groups));
+        traversal.run();
+        return collector.getViolations();
+    }
+
+    /**
+     * 工作栈中待校验的对象
+     */
+    private static final class Node {
+
+        private final Object bean;
+
+        private final String path;
+
+        private final int depth;
+
+        /**
+         * 级联路径上的上一个对象，用于检测循环引用
+         */
+        private final Node parent;
+
+        private final Class<?>[] groups;
+
+        private Node(Object bean, String path, int depth, Node parent, Class<?>[] groups) {
+            this.bean = bean;
+            this.path = path;
+            this.depth = depth;
+            this.parent = parent;
+            this.groups = groups;
+        }
+
+        private boolean isOnPath(Object value) {
+            for (Node node = this; node != null; node = node.parent) {
+                if (node.bean == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 单线程的遍历过程，每个并行的子树使用各自的遍历过程和收集器
+     */
+    private final class Traversal implements ViolationCollector.CascadeHandler {
+
+        private final ViolationCollector<?> collector;
+
+        private final GraphOptions options;
+
+        private final Deque<Node> stack = new ArrayDeque<>();
+
+        /**
+         * 正在使用编译校验器校验的对象
+         */
+        private Node current;
+
+        private Traversal(ViolationCollector<?> collector, GraphOptions options) {
+            this.collector = collector;
+            this.options = options;
+            collector.setCascadeHandler(this);
+        }
+
+        private void run() {
+            while (!stack.isEmpty()) {
+                this.visit(stack.pop());
+            }
+        }
+
+        @Override
+        public void cascade(Object value, String path, Class<?>[] groups) {
+            this.cascadeValue(value, path, current, groups, false);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void visit(Node node) {
+            Object bean = node.bean;
+            CompiledValidator<Object> compiled = (CompiledValidator<Object>) registry.get(bean.getClass());
+            if (compiled != null && compiled.supports(node.groups)) {
+                // 编译校验器中的级联通过cascade回调放入工作栈
+                current = node;
+                compiled.validateInto(bean, node.path, node.groups, collector);
+                current = null;
+                return;
+            }
+            Validator validator = registry.getValidator();
+            BeanDescriptor beanDescriptor = validator.getConstraintsForClass(bean.getClass());
+            if (!beanDescriptor.isBeanConstrained()) {
+                return;
+            }
+            if (!this.isExpandable(bean.getClass(), beanDescriptor, node.groups)) {
+                // 子树交给hibernate时，不能再沿着反向引用进入级联路径上的上层对象
+                Validator subtreeValidator = node.parent == null ? validator
+                        : registry.getValidator(false, node::isOnPath);
+                collector.addAll(node.path, subtreeValidator.validate(bean, node.groups));
+                return;
+            }
+            for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+                String name = property.getPropertyName();
+                if (property.hasConstraints() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                    collector.addAll(node.path, validator.validateProperty(bean, name, node.groups));
+                }
+                boolean cascaded = property.isCascaded();
+                Set<GroupConversionDescriptor> conversions = property.getGroupConversions();
+                for (ContainerElementTypeDescriptor element : property.getConstrainedContainerElementTypes()) {
+                    if (element.isCascaded()) {
+                        cascaded = true;
+                        conversions = union(conversions, element.getGroupConversions());
+                    }
+                }
+                if (cascaded) {
+                    Object value = PropertyReader.read(bean, name);
+                    if (value != null) {
+                        this.cascadeValue(value, CompiledValidator.path(node.path, name), node,
+                                convert(conversions, node.groups), true);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 是否可以逐个属性校验并由工作栈接管级联
+         */
+        private boolean isExpandable(Class<?> beanClass, BeanDescriptor beanDescriptor, Class<?>[] groups) {
+            if (!beanDescriptor.getConstraintDescriptors().isEmpty()
+                    || beanClass.isAnnotationPresent(GroupSequence.class)
+                    || beanClass.isAnnotationPresent(GroupSequenceProvider.class)
+                    || !CompiledValidator.isPlainGroups(beanClass, groups)) {
+                return false;
+            }
+            boolean cascaded = false;
+            for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+                cascaded |= property.isCascaded();
+                for (ContainerElementTypeDescriptor element : property.getConstrainedContainerElementTypes()) {
+                    // Map的key或者多层嵌套的容器
+                    if (element.isCascaded() && (!element.getConstrainedContainerElementTypes().isEmpty()
+                            || (Map.class.isAssignableFrom(element.getContainerClass())
+                            && element.getTypeArgumentIndex() == 0))) {
+                        return false;
+                    }
+                    cascaded |= element.isCascaded();
+                }
+            }
+            // 没有级联的bean直接交给hibernate整体校验
+            return cascaded;
+        }
+
+        /**
+         * 处理级联的属性值，容器类型的值展开成元素
+         */
+        private void cascadeValue(Object value, String path, Node parent, Class<?>[] groups, boolean container) {
+            if (container) {
+                if (value instanceof Optional) {
+                    ((Optional<?>) value).ifPresent(present -> this.push(present, path, parent, groups));
+                    return;
+                }
+                if (value instanceof Map || value instanceof Iterable || value.getClass().isArray()) {
+                    this.pushElements(Elements.of(value, path), parent, groups);
+                    return;
+                }
+            }
+            this.push(value, path, parent, groups);
+        }
+
+        private void push(Object value, String path, Node parent, Class<?>[] groups) {
+            if (value == null || parent.isOnPath(value)) {
+                return;
+            }
+            int depth = parent.depth + 1;
+            if (depth > options.getMaxDepth()) {
+                throw new ValidationException("Cascaded validation exceeds the max depth "
+                        + options.getMaxDepth() + " at " + path);
+            }
+            stack.push(new Node(value, path, depth, parent, groups));
+        }
+
+        private void pushElements(Elements elements, Node parent, Class<?>[] groups) {
+            if (elements.size() >= options.getParallelThreshold()) {
+                ViolationCollector<?> result = ForkJoinPool.commonPool().invoke(new SubtreeTask(
+                        elements, 0, elements.size(), parent, groups, options, collector));
+                collector.merge(result);
+                return;
+            }
+            // 倒序入栈，出栈时按元素顺序校验
+            for (int i = elements.size() - 1; i >= 0; i--) {
+                this.push(elements.values[i], elements.path(i), parent, groups);
+            }
+        }
+    }
+
+    /**
+     * 并行校验集合中的一段元素
+     */
+    @SuppressWarnings("serial")
+    private final class SubtreeTask extends RecursiveTask<ViolationCollector<?>> {
+
+        private final Elements elements;
+
+        private final int from;
+
+        private final int to;
+
+        private final Node parent;
+
+        private final Class<?>[] groups;
+
+        private final GraphOptions options;
+
+        /**
+         * 用于创建同一个根对象的收集器
+         */
+        private final ViolationCollector<?> root;
+
+        private SubtreeTask(Elements elements, int from, int to, Node parent, Class<?>[] groups,
+                            GraphOptions options, ViolationCollector<?> root) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.parent = parent;
+            this.groups = groups;
+            this.options = options;
+            this.root = root;
+        }
+
+        @Override
+        protected ViolationCollector<?> compute() {
+            if (to - from > Math.max(16, options.getParallelThreshold() / 4)) {
+                int middle = (from + to) >>> 1;
+                SubtreeTask left = new SubtreeTask(elements, from, middle, parent, groups, options, root);
+                SubtreeTask right = new SubtreeTask(elements, middle, to, parent, groups, options, root);
+                right.fork();
+                ViolationCollector<?> result = left.compute();
+                result.merge(right.join());
+                return result;
+            }
+            Traversal traversal = new Traversal(root.newCollector(), options);
+            for (int i = from; i < to; i++) {
+                traversal.push(elements.values[i], elements.path(i), parent, groups);
+                traversal.run();
+            }
+            return traversal.collector;
+        }
+    }
+
+    /**
+     * 容器展开后的元素，路径格式和hibernate一致：list[0]、map[key]、set[]
+     */
+    private static final class Elements {
+
+        private final Object[] values;
+
+        private final Object[] keys;
+
+        private final String path;
+
+        private final boolean indexed;
+
+        private Elements(Object[] values, Object[] keys, String path, boolean indexed) {
+            this.values = values;
+            this.keys = keys;
+            this.path = path;
+            this.indexed = indexed;
+        }
+
+        private static Elements of(Object container, String path) {
+            if (container instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) container;
+                return new Elements(map.values().toArray(), map.keySet().toArray(), path, false);
+            }
+            if (container instanceof Iterable) {
+                Object[] values;
+                if (container instanceof Collection) {
+                    values = ((Collection<?>) container).toArray();
+                } else {
+                    List<Object> list = new ArrayList<>();
+                    ((Iterable<?>) container).forEach(list::add);
+                    values = list.toArray();
+                }
+                return new Elements(values, null, path, container instanceof List);
+            }
+            Object[] values = new Object[Array.getLength(container)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Array.get(container, i);
+            }
+            return new Elements(values, null, path, true);
+        }
+
+        private int size() {
+            return values.length;
+        }
+
+        private String path(int index) {
+            if (keys != null) {
+                return path + "[" + keys[index] + "]";
+            }
+            return indexed ? path + "[" + index + "]" : path + "[]";
+        }
+    }
+
+    /**
+     * 级联时的分组转换
+     */
+    private static Class<?>[] convert(Set<GroupConversionDescriptor> conversions, Class<?>[] groups) {
+        if (conversions.isEmpty()) {
+            return groups;
+        }
+        Class<?>[] converted = groups.clone();
+        for (int i = 0; i < converted.length; i++) {
+            for (GroupConversionDescriptor conversion : conversions) {
+                if (conversion.getFrom() == converted[i]) {
+                    converted[i] = conversion.getTo();
+                    break;
+                }
+            }
+        }
+        return converted;
+    }
+
+    private static Set<GroupConversionDescriptor> union(Set<GroupConversionDescriptor> a,
+                                                        Set<GroupConversionDescriptor> b) {
+        if (a.isEmpty()) {
+            return b;
+        }
+        if (b.isEmpty()) {
+            return a;
+        }
+        Set<GroupConversionDescriptor> union = new HashSet<>(a);
+        union.addAll(b);
+        return union;
+    }
+}
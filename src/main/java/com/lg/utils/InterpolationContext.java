@@ -0,0 +1,41 @@
+package com.lg.utils;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * 编译校验器插值错误信息时使用的上下文
+ *
+ * @author Xulg
+ * Created in 2026-10-17 14:02
+ */
+final class InterpolationContext implements MessageInterpolator.Context {
+
+    private final ConstraintDescriptor<?> descriptor;
+
+    private final Object validatedValue;
+
+    InterpolationContext(ConstraintDescriptor<?> descriptor, Object validatedValue) {
+        this.descriptor = descriptor;
+        this.validatedValue = validatedValue;
+    }
+
+    @Override
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return descriptor;
+    }
+
+    @Override
+    public Object getValidatedValue() {
+        return validatedValue;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new ValidationException("Type " + type.getName() + " not supported for unwrapping.");
+    }
+}
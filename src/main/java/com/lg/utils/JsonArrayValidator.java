@@ -0,0 +1,101 @@
+package com.lg.utils;
+
+import com.alibaba.fastjson.JSONReader;
+import com.lg.utils.ValidatorUtils.InvalidElementHandler;
+import com.lg.utils.ValidatorUtils.ValidResult;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 流式校验json数组
+ * 每次只绑定数组中的一个元素并立即校验，不需要先把整个数组反序列化成List，
+ * 内存占用和数组长度无关，第一个错误在解析到该元素时就能回调
+ *
+ * @author Xulg
+ * Created in 2026-10-17 16:50
+ */
+public final class JsonArrayValidator<T> {
+
+    private final Class<T> elementType;
+
+    private final Class<?>[] groups;
+
+    private Consumer<? super T> validHandler = element -> {
+    };
+
+    private InvalidElementHandler<? super T> invalidHandler = (index, element, result) -> {
+    };
+
+    private Charset charset = StandardCharsets.UTF_8;
+
+    private JsonArrayValidator(Class<T> elementType, Class<?>[] groups) {
+        this.elementType = elementType;
+        this.groups = groups;
+    }
+
+    /**
+     * 创建校验器
+     *
+     * @param elementType 数组元素的类型
+     * @param groups      the validate groups
+     * @return the validator
+     */
+    public static <T> JsonArrayValidator<T> of(Class<T> elementType, Class<?>... groups) {
+        return new JsonArrayValidator<>(elementType, groups);
+    }
+
+    /**
+     * 校验通过元素的回调
+     */
+    public JsonArrayValidator<T> onValid(Consumer<? super T> validHandler) {
+        this.validHandler = validHandler;
+        return this;
+    }
+
+    /**
+     * 校验失败元素的回调
+     */
+    public JsonArrayValidator<T> onInvalid(InvalidElementHandler<? super T> invalidHandler) {
+        this.invalidHandler = invalidHandler;
+        return this;
+    }
+
+    /**
+     * 输入流的编码，默认UTF-8
+     */
+    public JsonArrayValidator<T> charset(Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * 逐个读取并校验数组元素，回调在调用线程中按元素顺序执行
+     * 数组中的null元素和{@link ValidatorUtils#validateBean}一样会抛出异常
+     *
+     * @param in json数组的输入流，读取结束后关闭
+     * @return 读取的元素个数
+     * @throws com.alibaba.fastjson.JSONException json格式错误或者元素无法绑定
+     */
+    public long validate(InputStream in) {
+        long index = 0;
+        try (JSONReader reader = new JSONReader(new InputStreamReader(in, charset))) {
+            reader.startArray();
+            while (reader.hasNext()) {
+                T element = reader.readObject(elementType);
+                ValidResult result = ValidatorUtils.validateBean(element, groups);
+                if (result.hasErrors()) {
+                    invalidHandler.onInvalid(index, element, result);
+                } else {
+                    validHandler.accept(element);
+                }
+                index++;
+            }
+            reader.endArray();
+        }
+        return index;
+    }
+}
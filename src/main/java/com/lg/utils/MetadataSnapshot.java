@@ -0,0 +1,479 @@
+package com.lg.utils;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * 校验计划的元数据快照
+ * <p>
+ * 把运行时编译的校验计划(属性、约束类型和属性值、分组、级联、插值后的错误信息、CheckEnum的code)
+ * 写成紧凑的二进制文件，下次启动时直接恢复校验计划，不需要扫描注解，也不需要构建hibernate的元数据；
+ * 只有出现违反的约束时才会查找hibernate的约束描述。
+ * 每个bean类型记录了相关class文件(bean及其父类、枚举、分组)的CRC32，恢复时不一致的类型被忽略。
+ * 错误信息是按写入时的默认语言插值的，文件头中记录了默认语言和ValidationMessages资源文件的CRC32，
+ * 两者任何一项和读取时不一致，整个快照失效
+ *
+ * @author Xulg
+ * Created in 2026-10-17 20:50
+ */
+final class MetadataSnapshot {
+
+    private static final int MAGIC = 0x4C475653;
+
+    private static final int VERSION = 2;
+
+    /**
+     * 插值时使用的资源文件，包括hibernate内置的错误信息
+     */
+    private static final String[] MESSAGE_BUNDLES = {
+            "ValidationMessages", "ContributorValidationMessages", "org.hibernate.validator.ValidationMessages"};
+
+    private static final byte BOOLEAN = 'Z';
+
+    private static final byte STRING = 'S';
+
+    private static final byte STRING_ARRAY = 'A';
+
+    private static final byte CLASS = 'C';
+
+    private static final byte CODES = 'E';
+
+    private static final byte LONG = 'J';
+
+    private static final byte NULL = 0;
+
+    /**
+     * K: bean的类名
+     */
+    private final Map<String, BeanEntry> beans;
+
+    private MetadataSnapshot(Map<String, BeanEntry> beans) {
+        this.beans = beans;
+    }
+
+    /**
+     * 编译bean类型以及级联的bean类型，生成快照
+     *
+     * @param beanClasses the bean types
+     * @param registry    编译校验器的缓存
+     * @return the snapshot，不支持编译的类型不包括在内
+     */
+    static MetadataSnapshot create(Collection<Class<?>> beanClasses, CompiledValidators registry) {
+        Map<String, BeanEntry> beans = new LinkedHashMap<>();
+        Deque<Class<?>> pending = new ArrayDeque<>(beanClasses);
+        Set<Class<?>> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            Class<?> beanClass = pending.poll();
+            if (!visited.add(beanClass)) {
+                continue;
+            }
+            ValidationPlan<?> plan = ValidationPlan.compile(beanClass, registry);
+            if (plan == null) {
+                continue;
+            }
+            pending.addAll(plan.getCascadeTypes());
+            BeanEntry entry;
+            try {
+                entry = plan.describe();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            Long fingerprint = fingerprint(beanClass, entry);
+            if (fingerprint != null) {
+                beans.put(beanClass.getName(), new BeanEntry(entry.className, fingerprint, entry.properties));
+            }
+        }
+        return new MetadataSnapshot(beans);
+    }
+
+    /**
+     * 恢复bean类型的校验计划
+     *
+     * @param beanClass the bean type
+     * @return 快照中没有该类型、class文件已经变化或者无法恢复时返回null
+     */
+    <T> CompiledValidator<T> restore(Class<T> beanClass) {
+        BeanEntry entry = beans.get(beanClass.getName());
+        if (entry == null) {
+            return null;
+        }
+        try {
+            Long fingerprint = fingerprint(beanClass, entry);
+            if (fingerprint == null || fingerprint != entry.fingerprint) {
+                return null;
+            }
+            return ValidationPlan.restore(beanClass, entry);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    int size() {
+        return beans.size();
+    }
+
+    /**
+     * 读取快照
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException 读取失败或者格式错误
+     */
+    static MetadataSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a validation metadata snapshot: " + file);
+            }
+            if (in.readLong() != messagesFingerprint()) {
+                // 默认语言或者错误信息的资源文件已经变化，快照中的错误信息不能再使用
+                return new MetadataSnapshot(Collections.emptyMap());
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            int beanCount = in.readInt();
+            Map<String, BeanEntry> beans = new HashMap<>(beanCount * 2);
+            for (int i = 0; i < beanCount; i++) {
+                String className = strings[in.readInt()];
+                long fingerprint = in.readLong();
+                PropertyEntry[] properties = new PropertyEntry[in.readInt()];
+                for (int j = 0; j < properties.length; j++) {
+                    properties[j] = readProperty(in, strings);
+                }
+                beans.put(className, new BeanEntry(className, fingerprint, properties));
+            }
+            return new MetadataSnapshot(beans);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted validation metadata snapshot: " + file, e);
+        }
+    }
+
+    private static PropertyEntry readProperty(DataInputStream in, String[] strings) throws IOException {
+        String name = strings[in.readInt()];
+        String declaringClass = strings[in.readInt()];
+        boolean cascade = in.readBoolean();
+        CheckEntry[] checks = new CheckEntry[in.readInt()];
+        for (int i = 0; i < checks.length; i++) {
+            String annotationType = strings[in.readInt()];
+            String message = strings[in.readInt()];
+            String[] groups = readStrings(in, strings);
+            int attributeCount = in.readInt();
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (int j = 0; j < attributeCount; j++) {
+                String attribute = strings[in.readInt()];
+                byte tag = in.readByte();
+                switch (tag) {
+                    case BOOLEAN:
+                        attributes.put(attribute, in.readBoolean());
+                        break;
+                    case STRING:
+                        attributes.put(attribute, strings[in.readInt()]);
+                        break;
+                    case STRING_ARRAY:
+                        attributes.put(attribute, readStrings(in, strings));
+                        break;
+                    case CLASS:
+                        attributes.put(attribute, new ClassRef(strings[in.readInt()]));
+                        break;
+                    case CODES:
+                        Object[] codes = new Object[in.readInt()];
+                        for (int k = 0; k < codes.length; k++) {
+                            byte type = in.readByte();
+                            codes[k] = type == STRING ? strings[in.readInt()] : type == LONG ? (Object) in.readLong() : null;
+                        }
+                        attributes.put(attribute, codes);
+                        break;
+                    default:
+                        throw new IOException("Unknown attribute type: " + tag);
+                }
+            }
+            checks[i] = new CheckEntry(annotationType, groups, message, attributes);
+        }
+        return new PropertyEntry(name, declaringClass, cascade, checks);
+    }
+
+    private static String[] readStrings(DataInputStream in, String[] strings) throws IOException {
+        String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = strings[in.readInt()];
+        }
+        return values;
+    }
+
+    /**
+     * 写入快照，文件开头是所有字符串组成的常量表，之后用下标引用
+     *
+     * @param file the snapshot file
+     * @return 写入的bean类型个数
+     */
+    int write(File file) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeInt(beans.size());
+        for (BeanEntry bean : beans.values()) {
+            out.writeInt(index(strings, bean.className));
+            out.writeLong(bean.fingerprint);
+            out.writeInt(bean.properties.length);
+            for (PropertyEntry property : bean.properties) {
+                writeProperty(out, strings, property);
+            }
+        }
+        out.flush();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(messagesFingerprint());
+            output.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                output.writeUTF(string);
+            }
+            body.writeTo(output);
+        }
+        return beans.size();
+    }
+
+    private static void writeProperty(DataOutputStream out, Map<String, Integer> strings,
+                                      PropertyEntry property) throws IOException {
+        out.writeInt(index(strings, property.name));
+        out.writeInt(index(strings, property.declaringClass));
+        out.writeBoolean(property.cascade);
+        out.writeInt(property.checks.length);
+        for (CheckEntry check : property.checks) {
+            out.writeInt(index(strings, check.annotationType));
+            out.writeInt(index(strings, check.message));
+            writeStrings(out, strings, check.groups);
+            out.writeInt(check.attributes.size());
+            for (Map.Entry<String, Object> attribute : check.attributes.entrySet()) {
+                out.writeInt(index(strings, attribute.getKey()));
+                Object value = attribute.getValue();
+                if (value instanceof Boolean) {
+                    out.writeByte(BOOLEAN);
+                    out.writeBoolean((Boolean) value);
+                } else if (value instanceof String) {
+                    out.writeByte(STRING);
+                    out.writeInt(index(strings, (String) value));
+                } else if (value instanceof String[]) {
+                    out.writeByte(STRING_ARRAY);
+                    writeStrings(out, strings, (String[]) value);
+                } else if (value instanceof Class || value instanceof ClassRef) {
+                    out.writeByte(CLASS);
+                    out.writeInt(index(strings, value instanceof Class
+                            ? ((Class<?>) value).getName() : ((ClassRef) value).name));
+                } else if (value instanceof Object[]) {
+                    Object[] codes = (Object[]) value;
+                    out.writeByte(CODES);
+                    out.writeInt(codes.length);
+                    for (Object code : codes) {
+                        if (code instanceof String) {
+                            out.writeByte(STRING);
+                            out.writeInt(index(strings, (String) code));
+                        } else if (code instanceof Long) {
+                            out.writeByte(LONG);
+                            out.writeLong((Long) code);
+                        } else {
+                            out.writeByte(NULL);
+                        }
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unsupported attribute " + attribute.getKey() + ": " + value);
+                }
+            }
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Map<String, Integer> strings,
+                                     String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String value : values) {
+            out.writeInt(index(strings, value));
+        }
+    }
+
+    private static int index(Map<String, Integer> strings, String value) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * 把约束属性中引用的类名解析成类
+     *
+     * @param attributes 快照中的约束属性
+     * @param loader     bean的类加载器
+     * @return 解析后的约束属性
+     */
+    static Map<String, Object> resolve(Map<String, Object> attributes, ClassLoader loader)
+            throws ClassNotFoundException {
+        Map<String, Object> resolved = new LinkedHashMap<>(attributes);
+        for (Map.Entry<String, Object> attribute : resolved.entrySet()) {
+            if (attribute.getValue() instanceof ClassRef) {
+                attribute.setValue(Class.forName(((ClassRef) attribute.getValue()).name, false, loader));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * bean及其父类、约束引用的类和分组的class文件的CRC32
+     *
+     * @return class文件不可读时返回null
+     */
+    private static Long fingerprint(Class<?> beanClass, BeanEntry entry) {
+        ClassLoader loader = beanClass.getClassLoader();
+        Set<String> classNames = new LinkedHashSet<>();
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            classNames.add(type.getName());
+        }
+        for (PropertyEntry property : entry.properties) {
+            for (CheckEntry check : property.checks) {
+                Collections.addAll(classNames, check.groups);
+                for (Object value : check.attributes.values()) {
+                    if (value instanceof Class || value instanceof ClassRef) {
+                        classNames.add(value instanceof Class ? ((Class<?>) value).getName() : ((ClassRef) value).name);
+                    }
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        for (String className : classNames) {
+            if (className.startsWith("java.") || className.startsWith("javax.")) {
+                continue;
+            }
+            String resource = className.replace('.', '/') + ".class";
+            try (InputStream in = loader == null
+                    ? ClassLoader.getSystemResourceAsStream(resource) : loader.getResourceAsStream(resource)) {
+                if (in == null) {
+                    return null;
+                }
+                crc.update(IOUtils.toByteArray(in));
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * 默认语言以及该语言下所有ValidationMessages资源文件的CRC32
+     */
+    private static long messagesFingerprint() throws IOException {
+        Locale locale = Locale.getDefault();
+        CRC32 crc = new CRC32();
+        crc.update(locale.toLanguageTag().getBytes(StandardCharsets.UTF_8));
+        ResourceBundle.Control control = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+        ClassLoader loader = MetadataSnapshot.class.getClassLoader();
+        for (String baseName : MESSAGE_BUNDLES) {
+            for (Locale candidate : control.getCandidateLocales(baseName, locale)) {
+                String resource = control.toResourceName(control.toBundleName(baseName, candidate), "properties");
+                Enumeration<URL> urls = loader.getResources(resource);
+                while (urls.hasMoreElements()) {
+                    crc.update(IOUtils.toByteArray(urls.nextElement()));
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * 一个bean类型的校验计划
+     */
+    static final class BeanEntry {
+
+        final String className;
+
+        final long fingerprint;
+
+        final PropertyEntry[] properties;
+
+        BeanEntry(String className, long fingerprint, PropertyEntry[] properties) {
+            this.className = className;
+            this.fingerprint = fingerprint;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * 一个属性上的约束
+     */
+    static final class PropertyEntry {
+
+        final String name;
+
+        final String declaringClass;
+
+        final boolean cascade;
+
+        final CheckEntry[] checks;
+
+        PropertyEntry(String name, String declaringClass, boolean cascade, CheckEntry[] checks) {
+            this.name = name;
+            this.declaringClass = declaringClass;
+            this.cascade = cascade;
+            this.checks = checks;
+        }
+    }
+
+    /**
+     * 一个约束，attributes只包含内联检查用到的注解属性
+     */
+    static final class CheckEntry {
+
+        final String annotationType;
+
+        final String[] groups;
+
+        final String message;
+
+        final Map<String, Object> attributes;
+
+        CheckEntry(String annotationType, String[] groups, String message, Map<String, Object> attributes) {
+            this.annotationType = annotationType;
+            this.groups = groups;
+            this.message = message;
+            this.attributes = attributes;
+        }
+    }
+
+    /**
+     * 快照中引用的类，恢复时才加载
+     */
+    private static final class ClassRef {
+
+        private final String name;
+
+        private ClassRef(String name) {
+            this.name = name;
+        }
+    }
+}
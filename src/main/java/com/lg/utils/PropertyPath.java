@@ -0,0 +1,178 @@
+package com.lg.utils;
+
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 编译校验器使用的属性路径，从hibernate格式的字符串解析：address.addressInfo、items[0].sku、extras[gift].sku、notes[]
+ * <p>
+ * 和hibernate一样，方括号中的下标或者key属于下一个节点，路径以方括号结束时最后一个节点没有名称。
+ * toString()返回原来的字符串
+ *
+ * @author Xulg
+ * Created in 2026-10-17 22:30
+ */
+final class PropertyPath implements Path {
+
+    private final String path;
+
+    private final List<Node> nodes;
+
+    private PropertyPath(String path, List<Node> nodes) {
+        this.path = path;
+        this.nodes = nodes;
+    }
+
+    /**
+     * 解析属性路径
+     *
+     * @param path 属性路径，空字符串表示根对象
+     * @return the path
+     */
+    static PropertyPath of(String path) {
+        if (path.isEmpty()) {
+            return new PropertyPath(path, Collections.singletonList(new PathNode(null, false, null, null)));
+        }
+        List<Node> nodes = new ArrayList<>();
+        boolean inIterable = false;
+        Integer index = null;
+        Object key = null;
+        int i = 0;
+        while (i < path.length()) {
+            int start = i;
+            while (i < path.length() && path.charAt(i) != '.' && path.charAt(i) != '[') {
+                i++;
+            }
+            nodes.add(new PathNode(path.substring(start, i), inIterable, index, key));
+            inIterable = false;
+            index = null;
+            key = null;
+            if (i < path.length() && path.charAt(i) == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Invalid property path: " + path);
+                }
+                String element = path.substring(i + 1, end);
+                inIterable = true;
+                if (!element.isEmpty() && isDigits(element)) {
+                    index = Integer.valueOf(element);
+                } else if (!element.isEmpty()) {
+                    key = element;
+                }
+                i = end + 1;
+                if (i == path.length()) {
+                    // 以方括号结束，例如容器元素本身违反的约束
+                    nodes.add(new PathNode(null, true, index, key));
+                }
+            }
+            if (i < path.length() && path.charAt(i) == '.') {
+                i++;
+            }
+        }
+        return new PropertyPath(path, Collections.unmodifiableList(nodes));
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        return nodes.iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof PropertyPath && path.equals(((PropertyPath) o).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * 属性节点，没有名称时是bean节点
+     */
+    private static final class PathNode implements Path.PropertyNode, Path.BeanNode {
+
+        private final String name;
+
+        private final boolean inIterable;
+
+        private final Integer index;
+
+        private final Object key;
+
+        private PathNode(String name, boolean inIterable, Integer index, Object key) {
+            this.name = name;
+            this.inIterable = inIterable;
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isInIterable() {
+            return inIterable;
+        }
+
+        @Override
+        public Integer getIndex() {
+            return index;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public ElementKind getKind() {
+            return name == null ? ElementKind.BEAN : ElementKind.PROPERTY;
+        }
+
+        @Override
+        public Class<?> getContainerClass() {
+            return null;
+        }
+
+        @Override
+        public Integer getTypeArgumentIndex() {
+            return null;
+        }
+
+        @Override
+        public <T extends Path.Node> T as(Class<T> nodeType) {
+            if ((getKind() == ElementKind.BEAN && nodeType == Path.BeanNode.class)
+                    || (getKind() == ElementKind.PROPERTY && nodeType == Path.PropertyNode.class)
+                    || nodeType == Path.Node.class) {
+                return nodeType.cast(this);
+            }
+            throw new ClassCastException("Unable to cast " + getKind() + " node to " + nodeType.getName());
+        }
+
+        @Override
+        public String toString() {
+            return name == null ? "" : name;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lg.utils;
+
+import javax.validation.ValidationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按属性名称读取bean的属性值，每个属性的MethodHandle只查找一次
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:15
+ */
+final class PropertyReader {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 属性的读取方法，K: 属性名称
+     */
+    private static final ClassValue<ConcurrentMap<String, MethodHandle>> ACCESSORS =
+            new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+                @Override
+                protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private PropertyReader() {
+    }
+
+    /**
+     * 读取属性值，优先读取字段，没有字段时调用getter
+     */
+    static Object read(Object bean, String name) {
+        ConcurrentMap<String, MethodHandle> accessors = ACCESSORS.get(bean.getClass());
+        MethodHandle accessor = accessors.get(name);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(name, key -> findAccessor(bean.getClass(), key));
+        }
+        try {
+            return (Object) accessor.invokeExact(bean);
+        } catch (Throwable e) {
+            throw new ValidationException("Unable to read property " + name, e);
+        }
+    }
+
+    private static MethodHandle findAccessor(Class<?> type, String name) {
+        try {
+            for (Class<?> current = type; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+                    }
+                }
+            }
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String getterName : new String[]{"get" + suffix, "is" + suffix}) {
+                try {
+                    Method getter = type.getMethod(getterName);
+                    getter.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(getter).asType(GETTER_TYPE);
+                } catch (NoSuchMethodException e) {
+                    // try next
+                }
+            }
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new ValidationException("Unable to read property " + name, e);
+        }
+        throw new IllegalArgumentException("No property " + name + " in " + type.getName());
+    }
+}
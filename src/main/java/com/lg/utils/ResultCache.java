@@ -0,0 +1,138 @@
+package com.lg.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.lg.annotation.ImmutableBean;
+import com.lg.validator.CodeDictionary;
+
+import javax.validation.ConstraintViolation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ImmutableBean}类型的校验结果缓存
+ * 以(bean, 校验模式, 分组, 字典版本)为key，bean按自身的equals/hashCode比较。
+ * key中包含{@link CodeDictionary}默认字典的版本，字典刷新后@CheckDict的结果不会继续使用旧的缓存；
+ * 其它外部数据(如枚举之外的配置)变化时，缓存的结果在有效期内仍然可能是旧的。
+ * 缓存的违反约束中rootBean是第一次校验的那个对象，和本次校验的对象相等但不一定是同一个实例
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:25
+ */
+final class ResultCache {
+
+    /**
+     * 类型是否可以缓存：标记了ImmutableBean并且重写了equals和hashCode
+     */
+    private static final ClassValue<Boolean> CACHEABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!type.isAnnotationPresent(ImmutableBean.class)) {
+                return false;
+            }
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class
+                        && type.getMethod("hashCode").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final Cache<Key, Set<? extends ConstraintViolation<?>>> cache;
+
+    /**
+     * @param maximumSize       最多缓存的结果个数
+     * @param expireAfterWrite  缓存的有效期(秒)
+     */
+    ResultCache(long maximumSize, long expireAfterWrite) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    static boolean isCacheable(Class<?> beanClass) {
+        return CACHEABLE.get(beanClass);
+    }
+
+    /**
+     * 获取缓存的校验结果，不存在时校验并缓存
+     */
+    @SuppressWarnings("unchecked")
+    <T> Set<ConstraintViolation<T>> get(T bean, ValidateMode mode, Class<?>[] groups,
+                                        Callable<Set<ConstraintViolation<T>>> validate) {
+        // 复制分组，调用方可能会修改传入的数组
+        Key key = new Key(bean, mode, groups.clone(), CodeDictionary.getDefault().getVersion());
+        try {
+            return (Set<ConstraintViolation<T>>) cache.get(key, () -> Collections.unmodifiableSet(validate.call()));
+        } catch (UncheckedExecutionException e) {
+            // 和不缓存时一样抛出校验过程中的异常，如ValidationException
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static final class Key {
+
+        private final Object bean;
+
+        private final ValidateMode mode;
+
+        private final Class<?>[] groups;
+
+        /**
+         * 校验时字典的版本
+         */
+        private final long dictVersion;
+
+        private final int hash;
+
+        private Key(Object bean, ValidateMode mode, Class<?>[] groups, long dictVersion) {
+            this.bean = bean;
+            this.mode = mode;
+            this.groups = groups;
+            this.dictVersion = dictVersion;
+            this.hash = ((bean.hashCode() * 31 + mode.hashCode()) * 31 + Arrays.hashCode(groups)) * 31
+                    + Long.hashCode(dictVersion);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && mode == key.mode && dictVersion == key.dictVersion
+                    && bean.getClass() == key.bean.getClass()
+                    && Arrays.equals(groups, key.groups) && bean.equals(key.bean);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.lg.utils;
+
+/**
+ * 校验模式
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:40
+ */
+public enum ValidateMode {
+
+    /**
+     * 校验所有约束，返回全部违反的约束
+     */
+    FULL,
+
+    /**
+     * 快速结束模式，遇到第一个违反的约束就结束校验
+     */
+    FAIL_FAST
+}
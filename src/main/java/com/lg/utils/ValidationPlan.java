@@ -0,0 +1,670 @@
+package com.lg.utils;
+
+import com.lg.annotation.CheckDict;
+import com.lg.annotation.CheckEnum;
+import com.lg.annotation.Mobile;
+import com.lg.validator.CheckDictValidator;
+import com.lg.validator.CheckEnumValidator;
+import com.lg.validator.EnumCodeIndex;
+import com.lg.validator.MobileValidator;
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import javax.validation.Constraint;
+import javax.validation.GroupSequence;
+import javax.validation.Valid;
+import javax.validation.ValidationException;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.ConvertGroup;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * 运行时根据bean的字段编译出的校验计划
+ * <p>
+ * 首次遇到某个bean类型时扫描字段上的约束注解，生成一个直接读取字段值(MethodHandle)并内联执行
+ * NotNull、NotEmpty、Mobile、CheckEnum、CheckDict校验的检查列表，错误信息在编译时完成插值。
+ * 只要bean上出现了其他约束、类级别约束、getter约束、组序列、容器级联等情况，就不编译，交给hibernate处理。
+ * 同时传入多个分组时，每种分组组合首次出现时筛选出生效的约束并缓存，之后一次遍历属性完成所有分组的校验。
+ * 校验计划可以写入{@link MetadataSnapshot}，从快照恢复时不扫描注解，约束描述在第一次违反时才查找。
+ *
+ * @author Xulg
+ * Created in 2026-10-17 12:05
+ */
+final class ValidationPlan<T> extends CompiledValidator<T> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 不支持编译的属性
+     */
+    private static final PropertyPlan UNSUPPORTED = new PropertyPlan(null, null, null, null, false);
+
+    /**
+     * 快照中保存的CheckEnum的code的属性名
+     */
+    private static final String CODES = "codes";
+
+    /**
+     * 缓存的分组组合的最大数量，超过后每次校验时重新筛选
+     */
+    private static final int MAX_GROUP_PLANS = 64;
+
+    private final PropertyPlan[] properties;
+
+    /**
+     * 只按默认分组校验时的计划
+     */
+    private final PropertyPlan[] defaultPlan;
+
+    /**
+     * 按分组组合筛选后的计划，K: 本次校验的分组
+     */
+    private final ConcurrentMap<GroupsKey, PropertyPlan[]> groupPlans = new ConcurrentHashMap<>();
+
+    private ValidationPlan(Class<T> beanClass, PropertyPlan[] properties) {
+        super(beanClass);
+        this.properties = properties;
+        this.defaultPlan = plan(properties, DEFAULT_GROUPS);
+    }
+
+    /**
+     * 编译bean类型的校验计划
+     *
+     * @param beanClass the bean class
+     * @param registry  编译校验器的缓存
+     * @return null表示该类型不支持编译
+     */
+    static <T> ValidationPlan<T> compile(Class<T> beanClass, CompiledValidators registry) {
+        try {
+            return doCompile(beanClass, registry);
+        } catch (RuntimeException e) {
+            // 注解配置错误等情况交给hibernate，由hibernate抛出对应的异常
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isCompiledProperty(String propertyName) {
+        return findProperty(properties, propertyName) != null;
+    }
+
+    @Override
+    protected void validateInto(T bean, String path, Class<?>[] groups, ViolationCollector<?> collector) {
+        // 计划中只有本次分组下生效的约束，一次遍历完成所有分组的校验
+        for (PropertyPlan property : this.planFor(groups)) {
+            if (collector.isDone()) {
+                return;
+            }
+            Object value = property.read(bean);
+            for (ConstraintCheck check : property.checks) {
+                if (!check.isValid(value)) {
+                    collector.add(path(path, property.name), bean, value,
+                            check.descriptor(collector.getRegistry(), beanClass, property.name), check.message);
+                    if (collector.isDone()) {
+                        return;
+                    }
+                }
+            }
+            if (property.cascade && value != null) {
+                collector.cascade(value, path(path, property.name), groups);
+            }
+        }
+    }
+
+    @Override
+    protected void validatePropertyInto(T bean, String path, String propertyName, Class<?>[] groups,
+                                        ViolationCollector<?> collector, boolean cascade) {
+        PropertyPlan property = findProperty(this.planFor(groups), propertyName);
+        if (property == null) {
+            return;
+        }
+        Object value = property.read(bean);
+        for (ConstraintCheck check : property.checks) {
+            if (!check.isValid(value)) {
+                collector.add(path(path, property.name), bean, value,
+                        check.descriptor(collector.getRegistry(), beanClass, property.name), check.message);
+            }
+        }
+        if (cascade && property.cascade && value != null) {
+            collector.cascade(value, path(path, property.name), groups);
+        }
+    }
+
+    /**
+     * 获取分组组合对应的计划，首次遇到某个分组组合时筛选出生效的约束并缓存
+     */
+    private PropertyPlan[] planFor(Class<?>[] groups) {
+        if (groups == DEFAULT_GROUPS) {
+            return defaultPlan;
+        }
+        GroupsKey key = new GroupsKey(groups);
+        PropertyPlan[] plan = groupPlans.get(key);
+        if (plan == null) {
+            plan = plan(properties, groups);
+            if (groupPlans.size() < MAX_GROUP_PLANS) {
+                // 放入缓存的key需要复制分组，调用方可能会修改传入的数组
+                groupPlans.putIfAbsent(new GroupsKey(groups.clone()), plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * 筛选出分组下生效的约束，同一个约束只会出现一次；既没有生效的约束也不需要级联的属性被去掉
+     */
+    private static PropertyPlan[] plan(PropertyPlan[] properties, Class<?>[] groups) {
+        List<PropertyPlan> plan = new ArrayList<>(properties.length);
+        for (PropertyPlan property : properties) {
+            List<ConstraintCheck> checks = new ArrayList<>(property.checks.length);
+            for (ConstraintCheck check : property.checks) {
+                if (isActive(check.groups, groups)) {
+                    checks.add(check);
+                }
+            }
+            if (!checks.isEmpty() || property.cascade) {
+                plan.add(checks.size() == property.checks.length ? property
+                        : new PropertyPlan(property.name, property.field, property.getter,
+                        checks.toArray(new ConstraintCheck[0]), property.cascade));
+            }
+        }
+        return plan.toArray(new PropertyPlan[0]);
+    }
+
+    private static PropertyPlan findProperty(PropertyPlan[] properties, String propertyName) {
+        for (PropertyPlan property : properties) {
+            if (property.name.equals(propertyName)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private static <T> ValidationPlan<T> doCompile(Class<T> beanClass, CompiledValidators registry) {
+        if (beanClass.isInterface() || beanClass.isArray() || beanClass.isPrimitive()
+                || beanClass.getName().startsWith("java.")) {
+            return null;
+        }
+        // 类级别的约束、组序列以及getter上的约束都不支持
+        for (Class<?> type : hierarchy(beanClass)) {
+            if (type.isAnnotationPresent(GroupSequence.class)
+                    || type.isAnnotationPresent(GroupSequenceProvider.class)
+                    || hasConstraint(type.getDeclaredAnnotations())) {
+                return null;
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())
+                        && (method.isAnnotationPresent(Valid.class) || hasConstraint(method.getDeclaredAnnotations()))) {
+                    return null;
+                }
+            }
+        }
+        BeanDescriptor beanDescriptor = registry.getValidator().getConstraintsForClass(beanClass);
+        List<PropertyPlan> properties = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                PropertyPlan property = compileProperty(field, beanDescriptor, registry);
+                // 父类和子类存在同名的属性时，hibernate会合并两者的约束，这里不做处理
+                if (property == UNSUPPORTED || (property != null && !names.add(property.name))) {
+                    return null;
+                }
+                if (property != null) {
+                    properties.add(property);
+                }
+            }
+        }
+        return new ValidationPlan<>(beanClass, properties.toArray(new PropertyPlan[0]));
+    }
+
+    private static PropertyPlan compileProperty(Field field, BeanDescriptor beanDescriptor,
+                                                CompiledValidators registry) {
+        List<ConstraintCheck> checks = new ArrayList<>();
+        boolean cascade = false;
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+            if (annotation instanceof Valid) {
+                cascade = true;
+            } else if (annotation instanceof ConvertGroup || annotation instanceof ConvertGroup.List) {
+                return UNSUPPORTED;
+            } else if (isConstraint(annotation)) {
+                ConstraintCheck check = compileCheck(annotation, field, beanDescriptor, registry);
+                if (check == null) {
+                    return UNSUPPORTED;
+                }
+                checks.add(check);
+            } else if (isConstraintContainer(annotation)) {
+                return UNSUPPORTED;
+            }
+        }
+        // List<@NotNull String>这类容器元素上的约束
+        if (hasTypeArgumentConstraint(field.getAnnotatedType())) {
+            return UNSUPPORTED;
+        }
+        if (cascade && !isPlainBeanType(field.getType())) {
+            return UNSUPPORTED;
+        }
+        if (checks.isEmpty() && !cascade) {
+            return null;
+        }
+        MethodHandle getter;
+        try {
+            field.setAccessible(true);
+            getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | SecurityException e) {
+            return UNSUPPORTED;
+        }
+        return new PropertyPlan(field.getName(), field, getter, checks.toArray(new ConstraintCheck[0]), cascade);
+    }
+
+    private static ConstraintCheck compileCheck(Annotation annotation, Field field, BeanDescriptor beanDescriptor,
+                                                CompiledValidators registry) {
+        Map<String, Object> attributes = attributesOf(annotation);
+        Predicate<Object> predicate = inline(annotation.annotationType(), attributes, field.getType());
+        if (predicate == null) {
+            return null;
+        }
+        ConstraintDescriptor<?> descriptor = findDescriptor(beanDescriptor, field.getName(), annotation);
+        if (descriptor == null || !descriptor.getComposingConstraints().isEmpty()) {
+            return null;
+        }
+        // EL表达式可能引用被校验的值，只能在校验时插值
+        String template = descriptor.getMessageTemplate();
+        if (template.contains("${")) {
+            return null;
+        }
+        String message = registry.getMessageInterpolator().interpolate(template, new InterpolationContext(descriptor, null));
+        Class<?>[] groups = descriptor.getGroups().toArray(new Class<?>[0]);
+        return new ConstraintCheck(predicate, annotation.annotationType(), attributes, groups, descriptor, message);
+    }
+
+    /**
+     * 内联检查用到的注解属性
+     */
+    private static Map<String, Object> attributesOf(Annotation annotation) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (annotation instanceof Mobile) {
+            attributes.put("isStrict", ((Mobile) annotation).isStrict());
+        } else if (annotation instanceof CheckDict) {
+            attributes.put("value", ((CheckDict) annotation).value());
+        } else if (annotation instanceof CheckEnum) {
+            CheckEnum checkEnum = (CheckEnum) annotation;
+            attributes.put("value", checkEnum.value());
+            attributes.put("getter", checkEnum.getter());
+            attributes.put("whitelist", checkEnum.whitelist());
+        }
+        return attributes;
+    }
+
+    /**
+     * 根据快照恢复校验计划，只通过类名和属性名查找字段，不扫描注解
+     *
+     * @param beanClass the bean class
+     * @param entry     快照中的校验计划
+     * @return the plan
+     * @throws ReflectiveOperationException 字段或者约束引用的类不存在
+     * @throws IllegalStateException        快照中的约束不支持内联
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ValidationPlan<T> restore(Class<T> beanClass, MetadataSnapshot.BeanEntry entry)
+            throws ReflectiveOperationException {
+        ClassLoader loader = beanClass.getClassLoader();
+        PropertyPlan[] properties = new PropertyPlan[entry.properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            MetadataSnapshot.PropertyEntry property = entry.properties[i];
+            Field field = Class.forName(property.declaringClass, false, loader).getDeclaredField(property.name);
+            ConstraintCheck[] checks = new ConstraintCheck[property.checks.length];
+            for (int j = 0; j < checks.length; j++) {
+                MetadataSnapshot.CheckEntry check = property.checks[j];
+                Class<? extends Annotation> annotationType =
+                        (Class<? extends Annotation>) Class.forName(check.annotationType, false, loader);
+                Map<String, Object> attributes = MetadataSnapshot.resolve(check.attributes, loader);
+                Object[] codes = (Object[]) attributes.remove(CODES);
+                if (codes != null) {
+                    EnumCodeIndex.preload((Class<? extends Enum>) attributes.get("value"),
+                            (String) attributes.get("getter"), codes);
+                }
+                Predicate<Object> predicate = inline(annotationType, attributes, field.getType());
+                if (predicate == null) {
+                    throw new IllegalStateException("Can not inline " + annotationType.getName());
+                }
+                Class<?>[] groups = new Class<?>[check.groups.length];
+                for (int k = 0; k < groups.length; k++) {
+                    groups[k] = Class.forName(check.groups[k], false, loader);
+                }
+                checks[j] = new ConstraintCheck(predicate, annotationType, attributes, groups, null, check.message);
+            }
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+            properties[i] = new PropertyPlan(property.name, field, getter, checks, property.cascade);
+        }
+        return new ValidationPlan<>(beanClass, properties);
+    }
+
+    /**
+     * 生成写入快照的校验计划，CheckEnum同时保存枚举的code
+     *
+     * @return the entry，fingerprint由快照计算
+     */
+    @SuppressWarnings("unchecked")
+    MetadataSnapshot.BeanEntry describe() {
+        MetadataSnapshot.PropertyEntry[] entries = new MetadataSnapshot.PropertyEntry[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            PropertyPlan property = properties[i];
+            MetadataSnapshot.CheckEntry[] checks = new MetadataSnapshot.CheckEntry[property.checks.length];
+            for (int j = 0; j < checks.length; j++) {
+                ConstraintCheck check = property.checks[j];
+                Map<String, Object> attributes = new LinkedHashMap<>(check.attributes);
+                if (check.annotationType == CheckEnum.class) {
+                    attributes.put(CODES, EnumCodeIndex.of((Class<? extends Enum>) attributes.get("value"),
+                            (String) attributes.get("getter")).codes());
+                }
+                String[] groups = new String[check.groups.length];
+                for (int k = 0; k < groups.length; k++) {
+                    groups[k] = check.groups[k].getName();
+                }
+                checks[j] = new MetadataSnapshot.CheckEntry(check.annotationType.getName(), groups,
+                        check.message, attributes);
+            }
+            entries[i] = new MetadataSnapshot.PropertyEntry(property.name,
+                    property.field.getDeclaringClass().getName(), property.cascade, checks);
+        }
+        return new MetadataSnapshot.BeanEntry(beanClass.getName(), 0, entries);
+    }
+
+    /**
+     * 级联的属性的类型
+     */
+    List<Class<?>> getCascadeTypes() {
+        List<Class<?>> types = new ArrayList<>();
+        for (PropertyPlan property : properties) {
+            if (property.cascade) {
+                types.add(property.field.getType());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 生成约束的内联检查
+     *
+     * @param annotationType 约束注解的类型
+     * @param attributes     内联检查用到的注解属性
+     * @param type           字段的类型
+     * @return null表示不支持内联
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> inline(Class<? extends Annotation> annotationType,
+                                            Map<String, Object> attributes, Class<?> type) {
+        if (annotationType == NotNull.class) {
+            return Objects::nonNull;
+        }
+        if (annotationType == NotEmpty.class) {
+            if (CharSequence.class.isAssignableFrom(type)) {
+                return value -> value != null && ((CharSequence) value).length() > 0;
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return value -> value != null && !((Collection<?>) value).isEmpty();
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return value -> value != null && !((Map<?, ?>) value).isEmpty();
+            }
+            if (type.isArray()) {
+                return value -> value != null && Array.getLength(value) > 0;
+            }
+            return null;
+        }
+        if (annotationType == Mobile.class) {
+            if (type != String.class) {
+                return null;
+            }
+            MobileValidator validator = MobileValidator.of((Boolean) attributes.get("isStrict"));
+            return value -> validator.isValid((String) value, null);
+        }
+        if (annotationType == CheckDict.class) {
+            CheckDictValidator validator = CheckDictValidator.of((String) attributes.get("value"));
+            return value -> validator.isValid(value, null);
+        }
+        if (annotationType == CheckEnum.class) {
+            CheckEnumValidator validator = CheckEnumValidator.of((Class<? extends Enum>) attributes.get("value"),
+                    (String) attributes.get("getter"), (String[]) attributes.get("whitelist"));
+            return value -> validator.isValid(value, null);
+        }
+        return null;
+    }
+
+    private static ConstraintDescriptor<?> findDescriptor(BeanDescriptor beanDescriptor, String propertyName,
+                                                          Annotation annotation) {
+        PropertyDescriptor propertyDescriptor = beanDescriptor.getConstraintsForProperty(propertyName);
+        if (propertyDescriptor == null) {
+            return null;
+        }
+        for (ConstraintDescriptor<?> descriptor : propertyDescriptor.getConstraintDescriptors()) {
+            if (descriptor.getAnnotation().equals(annotation)) {
+                return descriptor;
+            }
+        }
+        return null;
+    }
+
+    private static Set<Class<?>> hierarchy(Class<?> beanClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            addWithInterfaces(type, types);
+        }
+        return types;
+    }
+
+    private static void addWithInterfaces(Class<?> type, Set<Class<?>> types) {
+        if (types.add(type)) {
+            for (Class<?> anInterface : type.getInterfaces()) {
+                addWithInterfaces(anInterface, types);
+            }
+        }
+    }
+
+    private static boolean hasConstraint(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (isConstraint(annotation) || isConstraintContainer(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConstraint(Annotation annotation) {
+        return annotation.annotationType().isAnnotationPresent(Constraint.class);
+    }
+
+    private static boolean isConstraintContainer(Annotation annotation) {
+        try {
+            Class<?> returnType = annotation.annotationType().getDeclaredMethod("value").getReturnType();
+            return returnType.isArray() && returnType.getComponentType().isAnnotationPresent(Constraint.class);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasTypeArgumentConstraint(AnnotatedType annotatedType) {
+        List<AnnotatedType> arguments = Collections.emptyList();
+        if (annotatedType instanceof AnnotatedParameterizedType) {
+            Collections.addAll(arguments = new ArrayList<>(),
+                    ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments());
+        } else if (annotatedType instanceof AnnotatedArrayType) {
+            arguments = Collections.singletonList(((AnnotatedArrayType) annotatedType).getAnnotatedGenericComponentType());
+        }
+        for (AnnotatedType argument : arguments) {
+            if (argument.isAnnotationPresent(Valid.class) || hasConstraint(argument.getAnnotations())
+                    || hasTypeArgumentConstraint(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 级联的属性是否是普通的bean类型，容器类型需要hibernate的值提取器处理
+     */
+    static boolean isPlainBeanType(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray()
+                && !type.isAssignableFrom(ArrayList.class) && !type.isAssignableFrom(HashMap.class)
+                && !Iterable.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type)
+                && !Optional.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 一个属性上的所有检查
+     */
+    private static final class PropertyPlan {
+
+        private final String name;
+
+        private final Field field;
+
+        private final MethodHandle getter;
+
+        private final ConstraintCheck[] checks;
+
+        private final boolean cascade;
+
+        private PropertyPlan(String name, Field field, MethodHandle getter, ConstraintCheck[] checks,
+                             boolean cascade) {
+            this.name = name;
+            this.field = field;
+            this.getter = getter;
+            this.checks = checks;
+            this.cascade = cascade;
+        }
+
+        private Object read(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new ValidationException("Unable to read property " + name, e);
+            }
+        }
+    }
+
+    /**
+     * 分组组合的缓存key，分组的顺序不同视为不同的组合
+     */
+    private static final class GroupsKey {
+
+        private final Class<?>[] groups;
+
+        private final int hash;
+
+        private GroupsKey(Class<?>[] groups) {
+            this.groups = groups;
+            this.hash = Arrays.hashCode(groups);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof GroupsKey && Arrays.equals(groups, ((GroupsKey) o).groups));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 一个约束的检查
+     */
+    private static final class ConstraintCheck {
+
+        private final Predicate<Object> predicate;
+
+        private final Class<? extends Annotation> annotationType;
+
+        private final Map<String, Object> attributes;
+
+        private final Class<?>[] groups;
+
+        /**
+         * 从快照恢复的约束在第一次违反时才查找
+         */
+        private volatile ConstraintDescriptor<?> descriptor;
+
+        private final String message;
+
+        private ConstraintCheck(Predicate<Object> predicate, Class<? extends Annotation> annotationType,
+                                Map<String, Object> attributes, Class<?>[] groups,
+                                ConstraintDescriptor<?> descriptor, String message) {
+            this.predicate = predicate;
+            this.annotationType = annotationType;
+            this.attributes = attributes;
+            this.groups = groups;
+            this.descriptor = descriptor;
+            this.message = message;
+        }
+
+        private ConstraintDescriptor<?> descriptor(CompiledValidators registry, Class<?> beanClass,
+                                                   String propertyName) {
+            ConstraintDescriptor<?> current = descriptor;
+            if (current == null) {
+                current = this.resolve(registry, beanClass, propertyName);
+                descriptor = current;
+            }
+            return current;
+        }
+
+        private ConstraintDescriptor<?> resolve(CompiledValidators registry, Class<?> beanClass,
+                                                String propertyName) {
+            PropertyDescriptor property = registry.getValidator().getConstraintsForClass(beanClass)
+                    .getConstraintsForProperty(propertyName);
+            if (property != null) {
+                Set<Class<?>> expected = new HashSet<>(Arrays.asList(groups));
+                for (ConstraintDescriptor<?> candidate : property.getConstraintDescriptors()) {
+                    if (candidate.getAnnotation().annotationType() == annotationType
+                            && candidate.getGroups().equals(expected)) {
+                        return candidate;
+                    }
+                }
+            }
+            throw new IllegalStateException("No constraint " + annotationType.getName()
+                    + " found on " + beanClass.getName() + "." + propertyName
+                    + ", the metadata snapshot is out of date.");
+        }
+
+        private boolean isValid(Object value) {
+            try {
+                return predicate.test(value);
+            } catch (RuntimeException e) {
+                throw new ValidationException("Unexpected exception in compiled constraint check", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.lg.utils;
+
+import org.hibernate.validator.spi.resourceloading.ResourceBundleLocator;
+
+import javax.validation.ClockProvider;
+import javax.validation.TraversableResolver;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * validator的配置，不可变对象，作为{@link ValidatorRegistry}的缓存key
+ * <p>
+ * 常用的配置应该定义成常量复用；按请求切换语言时每次创建一个新的配置，只有一次小对象的分配。
+ * 错误信息的资源、时钟和可遍历解析器按实例比较，每次传入新创建的实例会导致缓存无法命中
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:50
+ */
+public final class ValidatorConfig {
+
+    private static final ValidatorConfig DEFAULTS = new ValidatorConfig(false, null, null, null, null, null, null);
+
+    /**
+     * 快速结束模式
+     */
+    private final boolean failFast;
+
+    /**
+     * 错误信息的语言，为null时使用Locale.getDefault()
+     */
+    private final Locale locale;
+
+    /**
+     * 错误信息的资源文件，为null时使用ValidationMessages
+     */
+    private final String messageBundle;
+
+    /**
+     * 错误信息的资源，优先于messageBundle
+     */
+    private final ResourceBundleLocator messageSource;
+
+    private final ClockProvider clockProvider;
+
+    private final TraversableResolver traversableResolver;
+
+    /**
+     * 租户，同一租户的validator可以通过{@link ValidatorRegistry#invalidate(String)}一起清除
+     */
+    private final String tenant;
+
+    private final int hash;
+
+    private ValidatorConfig(boolean failFast, Locale locale, String messageBundle, ResourceBundleLocator messageSource,
+                            ClockProvider clockProvider, TraversableResolver traversableResolver, String tenant) {
+        this.failFast = failFast;
+        this.locale = locale;
+        this.messageBundle = messageBundle;
+        this.messageSource = messageSource;
+        this.clockProvider = clockProvider;
+        this.traversableResolver = traversableResolver;
+        this.tenant = tenant;
+        int h = Boolean.hashCode(failFast);
+        h = 31 * h + Objects.hashCode(locale);
+        h = 31 * h + Objects.hashCode(messageBundle);
+        h = 31 * h + System.identityHashCode(messageSource);
+        h = 31 * h + System.identityHashCode(clockProvider);
+        h = 31 * h + System.identityHashCode(traversableResolver);
+        h = 31 * h + Objects.hashCode(tenant);
+        this.hash = h;
+    }
+
+    /**
+     * 和{@link ValidatorUtils}默认的validator相同的配置
+     */
+    public static ValidatorConfig defaults() {
+        return DEFAULTS;
+    }
+
+    public ValidatorConfig failFast(boolean failFast) {
+        return new ValidatorConfig(failFast, locale, messageBundle, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    /**
+     * 设置错误信息的语言，null表示使用Locale.getDefault()
+     */
+    public ValidatorConfig locale(Locale locale) {
+        return new ValidatorConfig(failFast, locale, messageBundle, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    /**
+     * 设置错误信息的资源文件，例如"i18n/OrderMessages"，找不到的key仍然从hibernate内置的资源文件中查找
+     */
+    public ValidatorConfig messageBundle(String messageBundle) {
+        return new ValidatorConfig(failFast, locale, messageBundle, null, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    /**
+     * 设置错误信息的资源，例如从数据库或者配置中心加载的资源
+     */
+    public ValidatorConfig messageSource(ResourceBundleLocator messageSource) {
+        return new ValidatorConfig(failFast, locale, null, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    /**
+     * 设置@Past、@Future等约束使用的时钟
+     */
+    public ValidatorConfig clockProvider(ClockProvider clockProvider) {
+        return new ValidatorConfig(failFast, locale, messageBundle, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    /**
+     * 设置判断属性是否可以访问、是否级联的解析器，例如跳过JPA中未加载的延迟属性
+     */
+    public ValidatorConfig traversableResolver(TraversableResolver traversableResolver) {
+        return new ValidatorConfig(failFast, locale, messageBundle, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    public ValidatorConfig tenant(String tenant) {
+        return new ValidatorConfig(failFast, locale, messageBundle, messageSource, clockProvider,
+                traversableResolver, tenant);
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public String getMessageBundle() {
+        return messageBundle;
+    }
+
+    public ResourceBundleLocator getMessageSource() {
+        return messageSource;
+    }
+
+    public ClockProvider getClockProvider() {
+        return clockProvider;
+    }
+
+    public TraversableResolver getTraversableResolver() {
+        return traversableResolver;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * 是否只有快速结束模式和默认的validator不同
+     */
+    boolean isDefault() {
+        return locale == null && messageBundle == null && messageSource == null && clockProvider == null
+                && traversableResolver == null && tenant == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ValidatorConfig)) {
+            return false;
+        }
+        ValidatorConfig that = (ValidatorConfig) o;
+        return hash == that.hash
+                && failFast == that.failFast
+                && messageSource == that.messageSource
+                && clockProvider == that.clockProvider
+                && traversableResolver == that.traversableResolver
+                && Objects.equals(locale, that.locale)
+                && Objects.equals(messageBundle, that.messageBundle)
+                && Objects.equals(tenant, that.tenant);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatorConfig{failFast=" + failFast + ", locale=" + locale + ", messageBundle=" + messageBundle
+                + ", messageSource=" + messageSource + ", clockProvider=" + clockProvider
+                + ", traversableResolver=" + traversableResolver + ", tenant=" + tenant + '}';
+    }
+}
@@ -0,0 +1,189 @@
+package com.lg.utils;
+
+import org.hibernate.validator.HibernateValidatorContext;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator;
+import org.hibernate.validator.resourceloading.PlatformResourceBundleLocator;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按配置缓存的validator
+ * <p>
+ * 所有的validator都通过同一个ValidatorFactory的usingContext()创建，共享hibernate的约束元数据和约束校验器，
+ * 创建一个新配置的validator只需要组装上下文，不会重新扫描注解。
+ * 查询时只有一次ConcurrentHashMap的get，不加锁；首次遇到的配置在computeIfAbsent中创建。
+ * 默认配置和快速结束模式直接返回{@link ValidatorUtils}原来的validator
+ *
+ * @author Xulg
+ * Created in 2026-10-17 21:50
+ */
+public final class ValidatorRegistry {
+
+    /**
+     * 最多缓存的validator(以及错误信息插值器)个数，超过后每次创建新的
+     */
+    private static final int MAX_SIZE = 1024;
+
+    private final HibernateValidatorFactory factory;
+
+    /**
+     * 默认的错误信息插值器
+     */
+    private final MessageInterpolator messageInterpolator;
+
+    private final ConcurrentMap<ValidatorConfig, Validator> validators = new ConcurrentHashMap<>();
+
+    /**
+     * 每个租户的每个资源文件(或资源)的错误信息插值器，不同语言的配置共享解析结果的缓存，
+     * 清除租户时一起清除，最多缓存MAX_SIZE个
+     */
+    private final ConcurrentMap<InterpolatorKey, MessageInterpolator> messageInterpolators =
+            new ConcurrentHashMap<>();
+
+    /**
+     * @param factory           创建validator的factory
+     * @param validator         默认配置的validator
+     * @param failFastValidator 快速结束模式的validator
+     */
+    ValidatorRegistry(ValidatorFactory factory, Validator validator, Validator failFastValidator) {
+        this.factory = factory.unwrap(HibernateValidatorFactory.class);
+        this.messageInterpolator = factory.getMessageInterpolator();
+        validators.put(ValidatorConfig.defaults(), validator);
+        validators.put(ValidatorConfig.defaults().failFast(true), failFastValidator);
+    }
+
+    /**
+     * 获取配置对应的validator
+     *
+     * @param config the validator config
+     * @return the validator
+     */
+    public Validator get(ValidatorConfig config) {
+        Validator validator = validators.get(config);
+        if (validator != null) {
+            return validator;
+        }
+        if (validators.size() >= MAX_SIZE) {
+            return this.create(config);
+        }
+        return validators.computeIfAbsent(config, this::create);
+    }
+
+    /**
+     * 清除租户的所有validator和错误信息插值器，用于租户的错误信息等配置变化后重新创建
+     *
+     * @param tenant the tenant
+     */
+    public void invalidate(String tenant) {
+        validators.keySet().removeIf(config -> Objects.equals(config.getTenant(), tenant) && !config.isDefault());
+        messageInterpolators.keySet().removeIf(key -> Objects.equals(key.tenant, tenant));
+    }
+
+    /**
+     * 缓存的validator个数
+     */
+    public int size() {
+        return validators.size();
+    }
+
+    private Validator create(ValidatorConfig config) {
+        HibernateValidatorContext context = factory.usingContext()
+                .failFast(config.isFailFast())
+                .messageInterpolator(this.messageInterpolator(config));
+        if (config.getClockProvider() != null) {
+            context.clockProvider(config.getClockProvider());
+        }
+        if (config.getTraversableResolver() != null) {
+            context.traversableResolver(config.getTraversableResolver());
+        }
+        return context.getValidator();
+    }
+
+    private MessageInterpolator messageInterpolator(ValidatorConfig config) {
+        MessageInterpolator interpolator = messageInterpolator;
+        if (config.getMessageSource() != null || config.getMessageBundle() != null) {
+            InterpolatorKey key = new InterpolatorKey(config.getTenant(), config.getMessageSource() != null
+                    ? config.getMessageSource() : config.getMessageBundle());
+            interpolator = messageInterpolators.get(key);
+            if (interpolator == null) {
+                interpolator = messageInterpolators.size() >= MAX_SIZE
+                        ? this.createInterpolator(config)
+                        : messageInterpolators.computeIfAbsent(key, k -> this.createInterpolator(config));
+            }
+        }
+        return config.getLocale() == null ? interpolator
+                : new LocaleMessageInterpolator(interpolator, config.getLocale());
+    }
+
+    private MessageInterpolator createInterpolator(ValidatorConfig config) {
+        return new CachingMessageInterpolator(new ResourceBundleMessageInterpolator(config.getMessageSource() != null
+                ? config.getMessageSource() : new PlatformResourceBundleLocator(config.getMessageBundle())));
+    }
+
+    /**
+     * 错误信息插值器的缓存key
+     */
+    private static final class InterpolatorKey {
+
+        private final String tenant;
+
+        /**
+         * 资源文件名或者ResourceBundleLocator
+         */
+        private final Object source;
+
+        private InterpolatorKey(String tenant, Object source) {
+            this.tenant = tenant;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InterpolatorKey)) {
+                return false;
+            }
+            InterpolatorKey that = (InterpolatorKey) o;
+            return Objects.equals(tenant, that.tenant) && source.equals(that.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(tenant) + source.hashCode();
+        }
+    }
+
+    /**
+     * 使用固定语言的插值器
+     */
+    private static final class LocaleMessageInterpolator implements MessageInterpolator {
+
+        private final MessageInterpolator delegate;
+
+        private final Locale locale;
+
+        private LocaleMessageInterpolator(MessageInterpolator delegate, Locale locale) {
+            this.delegate = delegate;
+            this.locale = locale;
+        }
+
+        @Override
+        public String interpolate(String messageTemplate, Context context) {
+            return delegate.interpolate(messageTemplate, context, locale);
+        }
+
+        @Override
+        public String interpolate(String messageTemplate, Context context, Locale locale) {
+            return delegate.interpolate(messageTemplate, context, this.locale);
+        }
+    }
+}
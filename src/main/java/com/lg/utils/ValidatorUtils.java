@@ -1,16 +1,35 @@
 package com.lg.utils;
 
-import com.google.common.base.CaseFormat;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Iterables;
+import com.lg.metrics.BeanMetrics;
+import com.lg.metrics.ValidationMetrics;
 import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.MessageInterpolator;
 import javax.validation.Validation;
 import javax.validation.ValidationException;
 import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * 基于validator框架的校验工具
@@ -18,18 +37,87 @@ import java.util.Set;
  * @author Xulg
  * Created in 2019-09-18 11:05
  */
-@SuppressWarnings("ConstantConditions")
 public class ValidatorUtils {
     private static Validator validator;
 
+    /**
+     * 快速结束模式的validator
+     */
+    private static Validator failFastValidator;
+
+    /**
+     * 编译校验器的缓存
+     */
+    private static CompiledValidators compiledValidators;
+
+    /**
+     * 增量校验
+     */
+    private static IncrementalValidator incrementalValidator;
+
+    /**
+     * 大对象图的级联校验
+     */
+    private static GraphValidator graphValidator;
+
+    /**
+     * 按配置缓存的validator
+     */
+    private static ValidatorRegistry validatorRegistry;
+
+    /**
+     * 异步约束的校验，同一个校验器的查询在-Dvalidator.async.window-micros(默认2000微秒)内合并成一批，
+     * 每批最多-Dvalidator.async.batch-size(默认500)个值，在-Dvalidator.async.io-threads(默认4)个I/O线程中执行
+     */
+    private static final AsyncValidator ASYNC_VALIDATOR = new AsyncValidator(new AsyncBatcher(
+            Long.getLong("validator.async.window-micros", 2000L),
+            Integer.getInteger("validator.async.batch-size", 500),
+            Integer.getInteger("validator.async.io-threads", 4)));
+
+    /**
+     * ImmutableBean类型的校验结果缓存，大小和有效期可以通过
+     * -Dvalidator.result-cache.size(默认10000)和-Dvalidator.result-cache.ttl(秒，默认600)设置
+     */
+    private static final ResultCache RESULT_CACHE = new ResultCache(
+            Long.getLong("validator.result-cache.size", 10000L),
+            Long.getLong("validator.result-cache.ttl", 600L));
+
+    /**
+     * 错误码表
+     */
+    private static final ErrorCodeTable ERROR_CODE_TABLE = new ErrorCodeTable();
+
+    /**
+     * 断言验证失败时违反的约束转换成异常的策略，默认使用错误码表
+     */
+    private static volatile ViolationTranslator violationTranslator = ERROR_CODE_TABLE;
+
     static {
         try {
-            if (false) {
-                // 开启快速结束模式failFast(true)
-                validator = Validation.byProvider(HibernateValidator.class).configure()
-                        .failFast(false).buildValidatorFactory().getValidator();
-            } else {
-                validator = Validation.buildDefaultValidatorFactory().getValidator();
+            HibernateValidatorConfiguration configuration = Validation.byProvider(HibernateValidator.class).configure();
+            // 错误信息的模板只解析一次
+            MessageInterpolator messageInterpolator =
+                    new CachingMessageInterpolator(configuration.getDefaultMessageInterpolator());
+            ValidatorFactory factory = configuration.messageInterpolator(messageInterpolator).buildValidatorFactory();
+            // 开启快速结束模式failFast(true)
+            ValidatorFactory failFastFactory = Validation.byProvider(HibernateValidator.class).configure()
+                    .messageInterpolator(messageInterpolator).failFast(true).buildValidatorFactory();
+            validator = factory.getValidator();
+            failFastValidator = failFastFactory.getValidator();
+            compiledValidators = new CompiledValidators(factory, failFastFactory);
+            incrementalValidator = new IncrementalValidator(compiledValidators);
+            graphValidator = new GraphValidator(compiledValidators);
+            validatorRegistry = new ValidatorRegistry(factory, validator, failFastValidator);
+            // 是否开启编译模式，可以通过-Dvalidator.compiled=true开启
+            compiledValidators.setCompiling(Boolean.getBoolean("validator.compiled"));
+            // 元数据快照的路径，可以通过-Dvalidator.snapshot指定，文件不存在或者无法读取时忽略
+            String snapshot = System.getProperty("validator.snapshot");
+            if (snapshot != null && new File(snapshot).isFile()) {
+                try {
+                    compiledValidators.setSnapshot(MetadataSnapshot.read(new File(snapshot)));
+                } catch (IOException ignored) {
+                    // 快照只是加速启动，读取失败时按原来的方式加载元数据
+                }
             }
         } catch (ValidationException e) {
             throw new Error(e);
@@ -39,24 +127,166 @@ public class ValidatorUtils {
     private ValidatorUtils() {
     }
 
+    static CompiledValidators getCompiledValidators() {
+        return compiledValidators;
+    }
+
+    /**
+     * 获取配置对应的validator，需要不同语言、时钟等配置时使用，不要自己调用Validation.buildDefaultValidatorFactory()
+     * 同一配置总是返回同一个validator，查询不加锁，可以在每次请求中调用
+     *
+     * @param config the validator config
+     * @return the validator
+     */
+    public static Validator getValidator(ValidatorConfig config) {
+        return validatorRegistry.get(config);
+    }
+
+    public static ValidatorRegistry getValidatorRegistry() {
+        return validatorRegistry;
+    }
+
+    /**
+     * 开启或关闭编译模式
+     * 编译模式下首次遇到某个bean类型时会为其生成专门的校验器，不支持的bean类型仍然使用hibernate校验。
+     * 编译期由validator-processor生成的校验器不受该开关影响，存在时总是会被使用
+     *
+     * @param compiledMode true if enable
+     */
+    public static void setCompiledMode(boolean compiledMode) {
+        compiledValidators.setCompiling(compiledMode);
+    }
+
+    public static boolean isCompiledMode() {
+        return compiledValidators.isCompiling();
+    }
+
+    /**
+     * 预热bean类型的校验：构建hibernate的约束元数据，初始化属性上所有约束的校验器，
+     * 并准备编译校验器和异步约束，避免这些开销落在首次校验的请求上。
+     * 类级别的约束需要bean实例，只构建元数据
+     *
+     * @param beanClass the bean type
+     */
+    public static void warmUp(Class<?> beanClass) {
+        for (Validator current : new Validator[]{validator, failFastValidator}) {
+            BeanDescriptor beanDescriptor = current.getConstraintsForClass(beanClass);
+            for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+                Set<Class<?>> groups = new LinkedHashSet<>();
+                for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                    groups.addAll(descriptor.getGroups());
+                }
+                if (!groups.isEmpty()) {
+                    // 校验null值时hibernate会初始化该属性上所有约束的校验器并缓存
+                    current.validateValue(beanClass, property.getPropertyName(), null,
+                            groups.toArray(new Class<?>[0]));
+                }
+            }
+        }
+        compiledValidators.get(beanClass);
+        AsyncValidator.prepare(beanClass);
+    }
+
+    /**
+     * 把bean类型(以及级联的bean类型)的约束模型写入元数据快照，用于下次启动时跳过注解扫描和hibernate元数据的构建。
+     * 可以在构建时或者首次运行结束时生成，之后通过-Dvalidator.snapshot或者{@link #loadSnapshot}加载
+     *
+     * @param file        the snapshot file
+     * @param beanClasses the bean types
+     * @return 写入的bean类型个数，不支持编译的类型不会写入
+     * @throws IOException 写入失败
+     */
+    public static int writeSnapshot(File file, Collection<Class<?>> beanClasses) throws IOException {
+        return MetadataSnapshot.create(beanClasses, compiledValidators).write(file);
+    }
+
+    /**
+     * 加载元数据快照，替换原来的快照
+     * 快照中的bean类型在首次校验时恢复校验计划，class文件已经变化的类型按原来的方式校验
+     *
+     * @param file the snapshot file
+     * @return 快照中的bean类型个数
+     * @throws IOException 读取失败或者格式错误
+     */
+    public static int loadSnapshot(File file) throws IOException {
+        MetadataSnapshot snapshot = MetadataSnapshot.read(file);
+        compiledValidators.setSnapshot(snapshot);
+        return snapshot.size();
+    }
+
+    /**
+     * 不再使用元数据快照
+     */
+    public static void clearSnapshot() {
+        compiledValidators.setSnapshot(null);
+    }
+
+    /**
+     * {@link com.lg.annotation.ImmutableBean}类型的校验结果缓存的命中统计
+     *
+     * @return the cache stats
+     */
+    public static CacheStats getResultCacheStats() {
+        return RESULT_CACHE.stats();
+    }
+
+    /**
+     * 清空校验结果缓存
+     */
+    public static void clearResultCache() {
+        RESULT_CACHE.invalidateAll();
+    }
+
+    /**
+     * 错误码表，可以为属性注册自定义的错误码和错误信息
+     *
+     * @return the error code table
+     */
+    public static ErrorCodeTable getErrorCodeTable() {
+        return ERROR_CODE_TABLE;
+    }
+
+    /**
+     * 替换断言验证失败时违反的约束转换成异常的策略
+     *
+     * @param translator the translator, null表示恢复默认的错误码表
+     */
+    public static void setViolationTranslator(ViolationTranslator translator) {
+        violationTranslator = translator == null ? ERROR_CODE_TABLE : translator;
+    }
+
     /**
      * 断言验证
+     * 使用快速结束模式，遇到第一个违反的约束就抛出异常
      *
      * @param bean   the target bean
      * @param groups the validate groups
      * @param <T>    the target bean type
-     * @throws BusinessException e
+     * @throws BusinessException e, 异常由{@link #setViolationTranslator}设置的策略生成
      */
     public static <T> void assertValidate(T bean, Class<?>... groups) throws BusinessException {
-        Set<ConstraintViolation<T>> violations = validator.validate(bean, groups);
+        Set<ConstraintViolation<T>> violations = doValidate(bean, ValidateMode.FAIL_FAST, groups);
         ConstraintViolation<T> violation = Iterables.getFirst(violations, null);
         if (violation != null) {
-            String property = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE,
-                    violation.getPropertyPath().toString());
-            throw new BusinessException("err_" + property, violation.getMessage());
+            throw violationTranslator.translate(violation);
         }
     }
 
+    /**
+     * 断言验证，不抛出异常
+     * 使用快速结束模式，第一个违反的约束通过{@link #getErrorCodeTable()}转换成错误码，不受{@link #setViolationTranslator}的影响
+     *
+     * @param bean   the target bean
+     * @param groups the validate groups
+     * @param <T>    the target bean type
+     * @return 校验通过时返回{@link ErrorCodeTable.ErrorCode#OK}，需要抛出时调用{@link ErrorCodeTable.ErrorCode#toException()}
+     */
+    public static <T> ErrorCodeTable.ErrorCode checkValidate(T bean, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violations = doValidate(bean, ValidateMode.FAIL_FAST, groups);
+        ConstraintViolation<T> violation = Iterables.getFirst(violations, null);
+        return violation == null ? ErrorCodeTable.ErrorCode.OK : ERROR_CODE_TABLE.resolve(violation);
+    }
+
     /**
      * 校验对象
      *
@@ -65,16 +295,43 @@ public class ValidatorUtils {
      * @return the valid result
      */
     public static <T> ValidResult validateBean(T bean, Class<?>... groups) {
-        ValidResult result = new ValidResult();
-        Set<ConstraintViolation<T>> violationSet = validator.validate(bean, groups);
-        boolean hasError = violationSet != null && violationSet.size() > 0;
-        result.setHasErrors(hasError);
-        if (hasError) {
-            for (ConstraintViolation<T> violation : violationSet) {
-                result.addError(violation.getPropertyPath().toString(), violation.getMessage());
-            }
+        return validateBean(bean, ValidateMode.FULL, groups);
+    }
+
+    /**
+     * 按指定的模式校验对象
+     *
+     * @param bean   the target bean
+     * @param mode   校验模式，快速结束模式下最多返回一个错误
+     * @param groups the validate groups
+     * @return the valid result
+     */
+    public static <T> ValidResult validateBean(T bean, ValidateMode mode, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violationSet = doValidate(bean, mode, groups);
+        return toValidResult(violationSet, null);
+    }
+
+    /**
+     * 按指定的配置校验对象
+     * 只设置了快速结束模式的配置仍然使用编译校验器和结果缓存，其它配置使用{@link #getValidator(ValidatorConfig)}
+     *
+     * @param bean   the target bean
+     * @param config the validator config
+     * @param groups the validate groups
+     * @return the valid result
+     */
+    public static <T> ValidResult validateBean(T bean, ValidatorConfig config, Class<?>... groups) {
+        if (config.isDefault()) {
+            return validateBean(bean, config.isFailFast() ? ValidateMode.FAIL_FAST : ValidateMode.FULL, groups);
         }
-        return result;
+        Validator current = validatorRegistry.get(config);
+        if (bean == null || !ValidationMetrics.isEnabled()) {
+            return toValidResult(current.validate(bean, groups), null);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = current.validate(bean, groups);
+        recordMetrics(bean, System.nanoTime() - start, violations);
+        return toValidResult(violations, null);
     }
 
     /**
@@ -86,36 +343,477 @@ public class ValidatorUtils {
      * @return the valid result
      */
     public static <T> ValidResult validateProperty(T bean, String propertyName, Class<?>... groups) {
-        ValidResult result = new ValidResult();
-        Set<ConstraintViolation<T>> violationSet = validator.validateProperty(bean, propertyName, groups);
-        boolean hasError = violationSet != null && violationSet.size() > 0;
-        result.setHasErrors(hasError);
-        if (hasError) {
-            for (ConstraintViolation<T> violation : violationSet) {
-                result.addError(propertyName, violation.getMessage());
+        Set<ConstraintViolation<T>> violationSet = doValidateProperty(bean, propertyName, groups);
+        return toValidResult(violationSet, propertyName);
+    }
+
+    /**
+     * 增量校验，只校验发生变化的属性
+     * 属性路径用点号分隔：address表示整个属性发生了变化，会同时级联校验属性值；
+     * address.addressInfo表示只校验address自身的约束以及address的addressInfo属性
+     *
+     * @param bean          the target bean
+     * @param propertyPaths 发生变化的属性路径
+     * @param groups        the validate groups
+     * @return the valid result
+     */
+    public static <T> ValidResult validateProperties(T bean, Collection<String> propertyPaths, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violationSet = doValidateProperties(bean, propertyPaths, groups);
+        return toValidResult(violationSet, null);
+    }
+
+    /**
+     * 增量校验，比较修改前后的对象，只校验值发生变化的属性
+     * 修改前的对象应当已经校验通过，属性值使用equals比较，
+     * 没有重写equals的级联对象按引用比较，原地修改的级联对象需要使用{@link #validateProperties}
+     *
+     * @param before 修改前的对象，为null时校验整个对象
+     * @param after  修改后的对象
+     * @param groups the validate groups
+     * @return the valid result
+     */
+    public static <T> ValidResult validateChanged(T before, T after, Class<?>... groups) {
+        if (before == null || after == null) {
+            return validateBean(after, groups);
+        }
+        List<String> changed = incrementalValidator.changedProperties(before, after);
+        if (changed.isEmpty()) {
+            return ValidResult.VALID;
+        }
+        return validateProperties(after, changed, groups);
+    }
+
+    /**
+     * 异步校验
+     * 同步约束在调用线程中校验，{@link com.lg.annotation.AsyncConstraint}标记的异步约束(如{@link com.lg.annotation.Exists})
+     * 提交到I/O线程批量校验，一次校验中以及并发的多次校验中相同约束的查询会合并，不会阻塞调用线程
+     *
+     * @param bean   the target bean
+     * @param groups the validate groups
+     * @return 所有约束校验完成后的结果，异步约束校验出错时以该异常结束
+     */
+    public static <T> CompletableFuture<ValidResult> validateAsync(T bean, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violations;
+        List<AsyncValidator.PendingCheck> checks;
+        try {
+            violations = doValidate(bean, ValidateMode.FULL, groups);
+            checks = ASYNC_VALIDATOR.submit(bean, groups);
+        } catch (RuntimeException e) {
+            CompletableFuture<ValidResult> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        if (checks.isEmpty()) {
+            return CompletableFuture.completedFuture(toValidResult(violations, null));
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[checks.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = checks.get(i).valid;
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            ValidResult result = null;
+            for (AsyncValidator.PendingCheck check : checks) {
+                if (!check.valid.join()) {
+                    if (result == null) {
+                        result = violations.isEmpty() ? new ValidResult() : new ValidResult(violations, null);
+                    }
+                    result.addError(check.path, check.message(compiledValidators.getMessageInterpolator()));
+                    result.setHasErrors(true);
+                }
+            }
+            return result == null ? toValidResult(violations, null) : result;
+        });
+    }
+
+    /**
+     * 校验大对象图
+     * 级联校验使用显式的工作栈而不是递归，元素较多的@Valid集合拆分后并行校验，适合包含成千上万个明细的单据
+     *
+     * @param bean   the target bean
+     * @param groups the validate groups
+     * @return the valid result
+     * @see GraphOptions#defaults()
+     */
+    public static <T> ValidResult validateGraph(T bean, Class<?>... groups) {
+        return validateGraph(bean, GraphOptions.defaults(), groups);
+    }
+
+    /**
+     * 按指定的级联深度和并行阈值校验大对象图
+     *
+     * @param bean    the target bean
+     * @param options 级联深度和并行阈值
+     * @param groups  the validate groups
+     * @return the valid result
+     * @throws ValidationException 级联深度超过限制
+     */
+    public static <T> ValidResult validateGraph(T bean, GraphOptions options, Class<?>... groups) {
+        Set<ConstraintViolation<T>> violationSet = doValidateGraph(bean, options, groups);
+        return toValidResult(violationSet, null);
+    }
+
+    /**
+     * 并行批量校验
+     * 任务在fork-join公共池中按下标区间拆分，校验通过的元素不会产生任何结果对象。
+     * 返回结果中错误的属性路径以元素下标开头，如[3].username
+     *
+     * @param beans  the target beans
+     * @param groups the validate groups
+     * @return 汇总的校验结果
+     */
+    public static <T> BatchValidResult validateAll(Collection<? extends T> beans, Class<?>... groups) {
+        List<?> elements = beans instanceof RandomAccess && beans instanceof List
+                ? (List<?>) beans : Arrays.asList(beans.toArray());
+        List<ElementResult> invalid = elements.isEmpty() ? null
+                : ForkJoinPool.commonPool().invoke(new BatchValidateTask(elements, 0, elements.size(), groups));
+        return new BatchValidResult(elements.size(), invalid);
+    }
+
+    /**
+     * 流式批量校验
+     * 每次从迭代器中取出batchSize个元素并行校验，不需要把所有元素加载到内存中。
+     * 校验失败的元素按下标顺序在调用线程中回调
+     *
+     * @param beans     the target beans, 如stream.iterator()
+     * @param batchSize 每批并行校验的元素个数
+     * @param handler   校验失败元素的回调
+     * @param groups    the validate groups
+     * @return 校验的元素总数
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long validateAll(Iterator<? extends T> beans, int batchSize,
+                                       InvalidElementHandler<? super T> handler, Class<?>... groups) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        long offset = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        while (beans.hasNext()) {
+            batch.add(beans.next());
+            if (batch.size() < batchSize && beans.hasNext()) {
+                continue;
+            }
+            List<ElementResult> invalid = ForkJoinPool.commonPool()
+                    .invoke(new BatchValidateTask(batch, 0, batch.size(), groups));
+            if (invalid != null) {
+                for (ElementResult element : invalid) {
+                    handler.onInvalid(offset + element.index, batch.get(element.index), element.result);
+                }
+            }
+            offset += batch.size();
+            batch.clear();
+        }
+        return offset;
+    }
+
+    private static <T> Set<ConstraintViolation<T>> doValidate(T bean, ValidateMode mode, Class<?>... groups) {
+        if (bean == null || !ValidationMetrics.isEnabled()) {
+            return runValidate(bean, mode, groups);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = runValidate(bean, mode, groups);
+        recordMetrics(bean, System.nanoTime() - start, violations);
+        return violations;
+    }
+
+    private static <T> Set<ConstraintViolation<T>> doValidateProperty(T bean, String propertyName, Class<?>... groups) {
+        if (bean == null || !ValidationMetrics.isEnabled()) {
+            return runValidateProperty(bean, propertyName, groups);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = runValidateProperty(bean, propertyName, groups);
+        recordMetrics(bean, System.nanoTime() - start, violations);
+        return violations;
+    }
+
+    private static <T> Set<ConstraintViolation<T>> doValidateProperties(T bean, Collection<String> propertyPaths,
+                                                                      Class<?>... groups) {
+        if (bean == null || !ValidationMetrics.isEnabled()) {
+            return incrementalValidator.validate(bean, propertyPaths, groups);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = incrementalValidator.validate(bean, propertyPaths, groups);
+        recordMetrics(bean, System.nanoTime() - start, violations);
+        return violations;
+    }
+
+    private static <T> Set<ConstraintViolation<T>> doValidateGraph(T bean, GraphOptions options,
+                                                                 Class<?>... groups) {
+        if (bean == null || !ValidationMetrics.isEnabled()) {
+            return graphValidator.validate(bean, options, groups);
+        }
+        long start = System.nanoTime();
+        Set<ConstraintViolation<T>> violations = graphValidator.validate(bean, options, groups);
+        recordMetrics(bean, System.nanoTime() - start, violations);
+        return violations;
+    }
+
+    private static <T> void recordMetrics(T bean, long nanos, Set<ConstraintViolation<T>> violations) {
+        BeanMetrics metrics = ValidationMetrics.bean(bean.getClass());
+        metrics.record(nanos, violations.isEmpty());
+        for (ConstraintViolation<T> violation : violations) {
+            metrics.recordViolation(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName());
+        }
+    }
+
+    private static <T> Set<ConstraintViolation<T>> runValidate(T bean, ValidateMode mode, Class<?>... groups) {
+        if (bean != null && ResultCache.isCacheable(bean.getClass())) {
+            return RESULT_CACHE.get(bean, mode, groups, () -> validateUncached(bean, mode, groups));
+        }
+        return validateUncached(bean, mode, groups);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Set<ConstraintViolation<T>> validateUncached(T bean, ValidateMode mode, Class<?>... groups) {
+        boolean failFast = mode == ValidateMode.FAIL_FAST;
+        if (bean != null) {
+            CompiledValidator<T> compiled = compiledValidators.get((Class<T>) bean.getClass());
+            if (compiled != null && compiled.supports(groups)) {
+                return compiled.validate(bean, groups, compiledValidators, failFast);
+            }
+        }
+        return failFast ? failFastValidator.validate(bean, groups) : validator.validate(bean, groups);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Set<ConstraintViolation<T>> runValidateProperty(T bean, String propertyName, Class<?>... groups) {
+        if (bean != null) {
+            CompiledValidator<T> compiled = compiledValidators.get((Class<T>) bean.getClass());
+            if (compiled != null && compiled.supports(groups) && compiled.isCompiledProperty(propertyName)) {
+                return compiled.validateProperty(bean, propertyName, groups, compiledValidators);
             }
         }
-        return result;
+        return validator.validateProperty(bean, propertyName, groups);
+    }
+
+    /**
+     * 批量校验的任务，返回区间内校验失败的元素，全部通过时返回null
+     */
+    @SuppressWarnings("serial")
+    private static class BatchValidateTask extends RecursiveTask<List<ElementResult>> {
+
+        /**
+         * 区间小于该值时不再拆分
+         */
+        private static final int THRESHOLD = 256;
+
+        private final List<?> beans;
+
+        private final int from;
+
+        private final int to;
+
+        private final Class<?>[] groups;
+
+        private BatchValidateTask(List<?> beans, int from, int to, Class<?>[] groups) {
+            this.beans = beans;
+            this.from = from;
+            this.to = to;
+            this.groups = groups;
+        }
+
+        @Override
+        protected List<ElementResult> compute() {
+            if (to - from <= THRESHOLD) {
+                List<ElementResult> invalid = null;
+                for (int i = from; i < to; i++) {
+                    Set<ConstraintViolation<Object>> violations = doValidate(beans.get(i), ValidateMode.FULL, groups);
+                    if (!violations.isEmpty()) {
+                        if (invalid == null) {
+                            invalid = new ArrayList<>();
+                        }
+                        invalid.add(new ElementResult(i, toValidResult(violations, null)));
+                    }
+                }
+                return invalid;
+            }
+            int middle = (from + to) >>> 1;
+            BatchValidateTask left = new BatchValidateTask(beans, from, middle, groups);
+            left.fork();
+            List<ElementResult> right = new BatchValidateTask(beans, middle, to, groups).compute();
+            List<ElementResult> result = left.join();
+            if (result == null) {
+                return right;
+            }
+            if (right != null) {
+                result.addAll(right);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 没有违反的约束时返回共享的{@link ValidResult#VALID}，否则保留违反的约束，错误信息在使用时才生成
+     */
+    private static <T> ValidResult toValidResult(Set<ConstraintViolation<T>> violations, String propertyName) {
+        if (violations == null || violations.isEmpty()) {
+            return ValidResult.VALID;
+        }
+        return new ValidResult(violations, propertyName);
+    }
+
+    /**
+     * 批量校验中校验失败元素的回调
+     */
+    @FunctionalInterface
+    public interface InvalidElementHandler<T> {
+
+        /**
+         * 元素校验失败
+         *
+         * @param index  元素的下标
+         * @param bean   the element
+         * @param result 该元素的校验结果
+         */
+        void onInvalid(long index, T bean, ValidResult result);
+    }
+
+    /**
+     * 批量校验中某个元素的校验结果
+     */
+    @SuppressWarnings("all")
+    public static class ElementResult {
+
+        private final int index;
+
+        private final ValidResult result;
+
+        private ElementResult(int index, ValidResult result) {
+            this.index = index;
+            this.result = result;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public ValidResult getResult() {
+            return result;
+        }
+    }
+
+    /**
+     * 批量校验结果类
+     * 错误信息汇总了所有校验失败的元素，属性路径以元素下标开头
+     */
+    @SuppressWarnings("all")
+    public static class BatchValidResult extends ValidResult {
+
+        /**
+         * 校验的元素总数
+         */
+        private final int total;
+
+        /**
+         * 校验失败的元素，按下标排序
+         */
+        private final List<ElementResult> invalidElements;
+
+        private BatchValidResult(int total, List<ElementResult> invalidElements) {
+            this.total = total;
+            this.invalidElements = invalidElements == null
+                    ? Collections.<ElementResult>emptyList() : invalidElements;
+            this.setHasErrors(!this.invalidElements.isEmpty());
+        }
+
+        @Override
+        List<ErrorMessage> buildErrors() {
+            List<ErrorMessage> errors = new ArrayList<>();
+            for (ElementResult element : this.invalidElements) {
+                for (ErrorMessage error : element.result.getAllErrors()) {
+                    errors.add(new ErrorMessage("[" + element.index + "]" + (error.getPropertyPath().isEmpty()
+                            ? "" : "." + error.getPropertyPath()), error.getMessage()));
+                }
+            }
+            return errors;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * 获取校验失败的元素
+         *
+         * @return 按下标排序
+         */
+        public List<ElementResult> getInvalidElements() {
+            return invalidElements;
+        }
+
+        /**
+         * 获取校验失败元素的下标
+         *
+         * @return 升序的下标
+         */
+        public int[] getInvalidIndexes() {
+            int[] indexes = new int[invalidElements.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = invalidElements.get(i).index;
+            }
+            return indexes;
+        }
     }
 
     /**
      * 校验结果类
+     * 校验失败时只保留违反的约束，错误信息在第一次获取时才生成，拼接的字符串会被缓存
      */
     @SuppressWarnings("all")
     public static class ValidResult {
 
+        /**
+         * 校验通过的结果，所有校验通过的调用共享这一个不可变的实例
+         */
+        public static final ValidResult VALID = new ValidResult(true);
+
         /**
          * 是否有错误
          */
         private boolean hasErrors;
 
         /**
-         * 错误信息
+         * 错误信息，第一次获取时生成
          */
         private List<ErrorMessage> errors;
 
+        /**
+         * 违反的约束，生成错误信息后释放
+         */
+        private Set<? extends ConstraintViolation<?>> violations;
+
+        /**
+         * 不为null时所有错误信息的属性路径都使用该属性名称
+         */
+        private String propertyName;
+
+        /**
+         * 字符串形式的错误信息的缓存
+         */
+        private String errorsText;
+
+        /**
+         * 是否是不可变的
+         */
+        private final boolean immutable;
+
         private ValidResult() {
-            this.errors = new ArrayList<>();
+            this(false);
+        }
+
+        private ValidResult(boolean immutable) {
+            this.immutable = immutable;
+            if (immutable) {
+                this.errors = Collections.emptyList();
+                this.errorsText = "";
+            }
+        }
+
+        private ValidResult(Set<? extends ConstraintViolation<?>> violations, String propertyName) {
+            this.immutable = false;
+            this.hasErrors = true;
+            this.violations = violations;
+            this.propertyName = propertyName;
         }
 
         public boolean isHasErrors() {
@@ -123,7 +821,10 @@ public class ValidatorUtils {
         }
 
         public void setErrors(List<ErrorMessage> errors) {
+            this.checkMutable();
             this.errors = errors;
+            this.violations = null;
+            this.errorsText = null;
         }
 
         public boolean hasErrors() {
@@ -131,6 +832,7 @@ public class ValidatorUtils {
         }
 
         public void setHasErrors(boolean hasErrors) {
+            this.checkMutable();
             this.hasErrors = hasErrors;
         }
 
@@ -140,6 +842,10 @@ public class ValidatorUtils {
          * @return 集合形式
          */
         public List<ErrorMessage> getAllErrors() {
+            if (errors == null) {
+                errors = this.buildErrors();
+                violations = null;
+            }
             return errors;
         }
 
@@ -149,15 +855,40 @@ public class ValidatorUtils {
          * @return 字符串形式
          */
         public String getErrors() {
-            StringBuilder sb = new StringBuilder();
-            for (ErrorMessage error : errors) {
-                sb.append(error.getPropertyPath()).append(":").append(error.getMessage()).append(" ");
+            if (errorsText == null) {
+                StringBuilder sb = new StringBuilder();
+                for (ErrorMessage error : this.getAllErrors()) {
+                    sb.append(error.getPropertyPath()).append(":").append(error.getMessage()).append(" ");
+                }
+                errorsText = sb.toString();
             }
-            return sb.toString();
+            return errorsText;
         }
 
         public void addError(String propertyName, String message) {
-            this.errors.add(new ErrorMessage(propertyName, message));
+            this.checkMutable();
+            this.getAllErrors().add(new ErrorMessage(propertyName, message));
+            this.errorsText = null;
+        }
+
+        /**
+         * 根据违反的约束生成错误信息
+         */
+        List<ErrorMessage> buildErrors() {
+            List<ErrorMessage> errors = new ArrayList<>(violations == null ? 4 : violations.size());
+            if (violations != null) {
+                for (ConstraintViolation<?> violation : violations) {
+                    errors.add(new ErrorMessage(propertyName != null ? propertyName
+                            : violation.getPropertyPath().toString(), violation.getMessage()));
+                }
+            }
+            return errors;
+        }
+
+        private void checkMutable() {
+            if (immutable) {
+                throw new UnsupportedOperationException("ValidResult.VALID is shared and immutable");
+            }
         }
     }
 
@@ -0,0 +1,219 @@
+package com.lg.utils;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一次校验过程中违反约束的收集器
+ * 校验通过时不会创建任何集合
+ *
+ * @author Xulg
+ * Created in 2026-10-17 11:20
+ */
+public final class ViolationCollector<T> {
+
+    private final T rootBean;
+
+    private final Class<T> rootBeanClass;
+
+    private final CompiledValidators registry;
+
+    /**
+     * 是否在第一个违反的约束处结束校验
+     */
+    private final boolean failFast;
+
+    private Set<ConstraintViolation<T>> violations;
+
+    /**
+     * 当前级联路径上的对象，用于检测循环引用
+     */
+    private List<Object> ancestors;
+
+    /**
+     * 级联对象的处理者，不为null时级联对象交给它处理，而不是在当前调用栈中递归校验
+     */
+    private CascadeHandler cascadeHandler;
+
+    ViolationCollector(T rootBean, Class<T> rootBeanClass, CompiledValidators registry, boolean failFast) {
+        this.rootBean = rootBean;
+        this.rootBeanClass = rootBeanClass;
+        this.registry = registry;
+        this.failFast = failFast;
+    }
+
+    /**
+     * 快速结束模式下已经收集到违反的约束，后续的校验可以跳过
+     *
+     * @return true if done
+     */
+    public boolean isDone() {
+        return failFast && violations != null;
+    }
+
+    /**
+     * 添加一个违反的约束
+     *
+     * @param path       the property path
+     * @param leafBean   约束所在的bean
+     * @param value      the invalid value
+     * @param descriptor the constraint descriptor
+     * @param message    插值后的错误信息
+     */
+    public void add(String path, Object leafBean, Object value,
+                    ConstraintDescriptor<?> descriptor, String message) {
+        if (this.isDone()) {
+            return;
+        }
+        this.violations().add(new CompiledConstraintViolation<>(message, descriptor.getMessageTemplate(),
+                rootBean, rootBeanClass, leafBean, value, path, descriptor));
+    }
+
+    /**
+     * 级联校验属性值
+     *
+     * @param value  the property value
+     * @param path   属性路径
+     * @param groups the validate groups
+     */
+    @SuppressWarnings("unchecked")
+    public void cascade(Object value, String path, Class<?>[] groups) {
+        if (value == null || this.isDone()) {
+            return;
+        }
+        if (cascadeHandler != null) {
+            cascadeHandler.cascade(value, path, groups);
+            return;
+        }
+        if (!this.enter(value)) {
+            return;
+        }
+        try {
+            CompiledValidator<Object> compiled = (CompiledValidator<Object>) registry.get(value.getClass());
+            if (compiled != null && compiled.supports(groups)) {
+                compiled.validateInto(value, path, groups, this);
+            } else {
+                // hibernate从级联对象开始校验，不能再沿着反向引用进入当前路径上的对象
+                this.addAll(path, registry.getValidator(failFast, this::isAncestor).validate(value, groups));
+            }
+        } finally {
+            ancestors.remove(ancestors.size() - 1);
+        }
+    }
+
+    /**
+     * 添加hibernate校验某个bean得到的违反的约束，属性路径加上bean所在的路径作为前缀
+     *
+     * @param path       bean所在的属性路径，根对象为null
+     * @param violations 违反的约束
+     */
+    @SuppressWarnings("unchecked")
+    void addAll(String path, Set<? extends ConstraintViolation<?>> violations) {
+        for (ConstraintViolation<?> violation : violations) {
+            if (this.isDone()) {
+                return;
+            }
+            if (path == null && violation.getRootBean() == rootBean) {
+                // 根对象的违反约束直接使用，保留容器元素节点(如<list element>)等无法从字符串解析的路径
+                this.violations().add((ConstraintViolation<T>) violation);
+                continue;
+            }
+            String leafPath = violation.getPropertyPath().toString();
+            String fullPath = path == null ? leafPath : leafPath.isEmpty() ? path : path + "." + leafPath;
+            this.violations().add(new CompiledConstraintViolation<>(violation.getMessage(),
+                    violation.getMessageTemplate(), rootBean, rootBeanClass, violation.getLeafBean(),
+                    violation.getInvalidValue(), fullPath, violation.getConstraintDescriptor()));
+        }
+    }
+
+    /**
+     * 合并另一个收集器中违反的约束，两者的根对象必须相同
+     *
+     * @param other the other collector
+     */
+    @SuppressWarnings("unchecked")
+    void merge(ViolationCollector<?> other) {
+        if (other.violations != null && !this.isDone()) {
+            this.violations().addAll((Set<ConstraintViolation<T>>) (Set<?>) other.violations);
+        }
+    }
+
+    /**
+     * 创建一个根对象相同的空收集器
+     *
+     * @return the new collector
+     */
+    ViolationCollector<T> newCollector() {
+        return new ViolationCollector<>(rootBean, rootBeanClass, registry, failFast);
+    }
+
+    void setCascadeHandler(CascadeHandler cascadeHandler) {
+        this.cascadeHandler = cascadeHandler;
+    }
+
+    CompiledValidators getRegistry() {
+        return registry;
+    }
+
+    Set<ConstraintViolation<T>> getViolations() {
+        return violations == null ? Collections.<ConstraintViolation<T>>emptySet() : violations;
+    }
+
+    private Set<ConstraintViolation<T>> violations() {
+        if (violations == null) {
+            violations = new LinkedHashSet<>();
+        }
+        return violations;
+    }
+
+    /**
+     * 进入级联对象，对象已经在当前路径上时返回false
+     */
+    private boolean enter(Object value) {
+        if (this.isAncestor(value)) {
+            return false;
+        }
+        if (ancestors == null) {
+            ancestors = new ArrayList<>();
+        }
+        ancestors.add(value);
+        return true;
+    }
+
+    /**
+     * 对象是否是根对象或者在当前级联路径上
+     */
+    private boolean isAncestor(Object value) {
+        if (value == rootBean) {
+            return true;
+        }
+        if (ancestors != null) {
+            for (Object ancestor : ancestors) {
+                if (ancestor == value) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 级联对象的处理者
+     */
+    interface CascadeHandler {
+
+        /**
+         * 处理需要级联校验的属性值
+         *
+         * @param value  the property value, not null
+         * @param path   属性路径
+         * @param groups the validate groups
+         */
+        void cascade(Object value, String path, Class<?>[] groups);
+    }
+}
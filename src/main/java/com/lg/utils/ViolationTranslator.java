@@ -0,0 +1,21 @@
+package com.lg.utils;
+
+import javax.validation.ConstraintViolation;
+
+/**
+ * 把违反的约束转换成异常，{@link ValidatorUtils#assertValidate}校验失败时抛出该异常
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:20
+ */
+@FunctionalInterface
+public interface ViolationTranslator {
+
+    /**
+     * 转换违反的约束
+     *
+     * @param violation 第一个违反的约束
+     * @return 需要抛出的异常
+     */
+    RuntimeException translate(ConstraintViolation<?> violation);
+}
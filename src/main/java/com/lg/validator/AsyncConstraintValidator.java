@@ -0,0 +1,34 @@
+package com.lg.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+/**
+ * 异步约束的校验器，用于需要查询数据库、远程服务的约束
+ * <p>
+ * 校验器不逐个校验属性值，而是在I/O线程中批量校验：一次校验过程中以及短时间内并发的多次校验里，
+ * 同一个校验器收到的属性值会合并成一批(已去重，不含null)。实现类必须是线程安全的，需要一个无参构造方法
+ *
+ * @param <A> 约束注解
+ * @author Xulg
+ * Created in 2026-10-17 18:00
+ */
+public interface AsyncConstraintValidator<A extends Annotation> {
+
+    /**
+     * 初始化校验器
+     *
+     * @param annotation 约束注解
+     */
+    default void initialize(A annotation) {
+    }
+
+    /**
+     * 批量校验
+     *
+     * @param values 一批属性值
+     * @return 其中合法的属性值
+     * @throws Exception 校验失败，这一批校验对应的结果都会以该异常结束
+     */
+    Set<?> validValues(Set<Object> values) throws Exception;
+}
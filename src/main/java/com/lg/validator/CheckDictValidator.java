@@ -0,0 +1,60 @@
+package com.lg.validator;
+
+import com.lg.annotation.CheckDict;
+import com.lg.metrics.ConstraintMetrics;
+import com.lg.metrics.ValidationMetrics;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * 数据字典的校验器
+ * 从{@link CodeDictionary#getDefault()}的当前快照中查找，字典不存在时视为不合法
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:15
+ */
+public class CheckDictValidator implements ConstraintValidator<CheckDict, Object> {
+
+    private String dictName;
+
+    private ConstraintMetrics metrics;
+
+    @Override
+    public void initialize(CheckDict annotation) {
+        this.dictName = annotation.value();
+        this.metrics = ValidationMetrics.constraint("CheckDict(" + dictName + ")");
+    }
+
+    /**
+     * 不通过注解直接创建校验器
+     *
+     * @param dictName 字典名称
+     * @return the validator
+     */
+    public static CheckDictValidator of(String dictName) {
+        CheckDictValidator validator = new CheckDictValidator();
+        validator.dictName = dictName;
+        validator.metrics = ValidationMetrics.constraint("CheckDict(" + dictName + ")");
+        return validator;
+    }
+
+    @Override
+    public boolean isValid(Object value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        if (!ValidationMetrics.isEnabled()) {
+            return this.isValidCode(value);
+        }
+        long start = System.nanoTime();
+        boolean valid = this.isValidCode(value);
+        metrics.record(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    private boolean isValidCode(Object value) {
+        String code = value instanceof CharSequence || value instanceof Number ? value.toString() : null;
+        return code != null && CodeDictionary.getDefault().contains(dictName, code);
+    }
+}
@@ -1,11 +1,11 @@
 package com.lg.validator;
 
 import com.lg.annotation.CheckEnum;
+import com.lg.metrics.ConstraintMetrics;
+import com.lg.metrics.ValidationMetrics;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.lang.reflect.Method;
-import java.util.*;
 
 /**
  * 自定义枚举值的校验器
@@ -21,14 +21,16 @@ public class CheckEnumValidator implements ConstraintValidator<CheckEnum, Object
     private Class<? extends Enum> enumClass;
 
     /**
-     * 枚举的所有值的映射
+     * 枚举的所有值的索引，同一个枚举的校验器共享
      */
-    private Map<String, Enum> enumValues = new HashMap<>();
+    private EnumCodeIndex enumValues;
 
     /**
-     * 白名单，有效的枚举值约束
+     * 白名单，有效的枚举值约束，按ordinal记录在位图中
      */
-    private Set<Enum> whitelistEnumValues = new HashSet<>();
+    private long[] whitelistEnumValues;
+
+    private ConstraintMetrics metrics;
 
     @Override
     public void initialize(CheckEnum annotation) {
@@ -41,15 +43,71 @@ public class CheckEnumValidator implements ConstraintValidator<CheckEnum, Object
         this.initEnumValues(enumClass, methodName, whitelist);
     }
 
+    /**
+     * 不通过注解直接创建校验器，供编译期生成的校验器使用
+     *
+     * @param enumClass  枚举类型
+     * @param methodName 获取枚举值的方法名称
+     * @param whitelist  白名单
+     * @return the validator
+     */
+    public static CheckEnumValidator of(Class<? extends Enum> enumClass, String methodName, String... whitelist) {
+        CheckEnumValidator validator = new CheckEnumValidator();
+        validator.initEnumValues(enumClass, methodName, whitelist);
+        return validator;
+    }
+
     @Override
     public boolean isValid(Object value, ConstraintValidatorContext context) {
         // 必须先这么写...
         if (value == null) {
             return true;
         }
-        Enum target = this.parseEnum(value);
-        // 当解析出的枚举对象存在并且也在白名单重时，返回true
-        return target != null && this.whitelistEnumValues.contains(target);
+        if (!ValidationMetrics.isEnabled()) {
+            // 当解析出的枚举对象存在并且也在白名单重时，返回true
+            return this.isWhitelisted(this.parseEnum(value));
+        }
+        long start = System.nanoTime();
+        boolean valid = this.isWhitelisted(this.parseEnum(value));
+        metrics.record(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    /**
+     * 校验数值code，供int/long类型的字段使用，不需要装箱
+     *
+     * @param code the code
+     * @return true if valid
+     * @throws ClassCastException 枚举的code不是数值
+     */
+    public boolean isValidCode(long code) {
+        if (!ValidationMetrics.isEnabled()) {
+            return this.isWhitelisted(this.enumValues.ordinalOf(code));
+        }
+        long start = System.nanoTime();
+        boolean valid = this.isWhitelisted(this.enumValues.ordinalOf(code));
+        metrics.record(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    /**
+     * 校验文本形式的code，数值code按十进制解析，用于直接校验文件中的内容
+     *
+     * @param text the code, not null
+     * @return true if valid
+     */
+    public boolean isValidText(CharSequence text) {
+        if (!ValidationMetrics.isEnabled()) {
+            return this.isWhitelisted(this.parseText(text));
+        }
+        long start = System.nanoTime();
+        boolean valid = this.isWhitelisted(this.parseText(text));
+        metrics.record(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    private boolean isWhitelisted(int ordinal) {
+        return ordinal >= 0 && (this.whitelistEnumValues[ordinal >>> 6] & (1L << ordinal)) != 0;
     }
 
     /**
@@ -62,50 +120,70 @@ public class CheckEnumValidator implements ConstraintValidator<CheckEnum, Object
     private void initEnumValues(Class<? extends Enum> enumClass,
                                 String methodName, String[] whitelist) {
         this.enumClass = enumClass;
-        if (methodName == null || methodName.isEmpty()) {
-            throw new IllegalArgumentException("CheckEnum Constraint: "
-                    + "getter is override by empty method name.");
-        }
-        Enum[] enums = enumClass.getEnumConstants();
-        try {
-            // 获取枚举的获取code的方法
-            Method method = enumClass.getMethod(methodName);
-            // 枚举类型的所有值建立索引(K: code, V: enum)
-            for (Enum enumValue : enums) {
-                String enumCode = (String) method.invoke(enumValue);
-                this.enumValues.put(enumCode, enumValue);
-            }
-        } catch (ReflectiveOperationException e) {
-            throw new IllegalArgumentException(e);
-        }
+        this.metrics = ValidationMetrics.constraint("CheckEnum(" + enumClass.getName() + ")");
+        // 获取枚举的获取code的方法，为枚举类型的所有值建立索引
+        this.enumValues = EnumCodeIndex.of(enumClass, methodName);
+        this.whitelistEnumValues = new long[(this.enumValues.size() + 63) >>> 6];
         // 设置白名单
         if (whitelist.length > 0) {
             for (String code : whitelist) {
-                Enum anEnum = this.parseEnum(code);
-                if (anEnum == null) {
+                int ordinal = this.enumValues.ordinalOfWhitelist(code);
+                if (ordinal < 0) {
                     throw new IllegalArgumentException("Enum Value: "
                             + code + " is not exist for the " + enumClass);
                 }
-                this.whitelistEnumValues.add(anEnum);
+                this.whitelistEnumValues[ordinal >>> 6] |= 1L << ordinal;
             }
         } else {
             // ~~没有指定白名单，则所有枚举都要添加到白名单范围内
-            Collections.addAll(this.whitelistEnumValues, enums);
+            for (int ordinal = 0; ordinal < this.enumValues.size(); ordinal++) {
+                this.whitelistEnumValues[ordinal >>> 6] |= 1L << ordinal;
+            }
         }
     }
 
+    /**
+     * 根据文本形式的code解析成枚举
+     *
+     * @param text the code
+     * @return 枚举对象的ordinal，不存在或者不是合法的数值时返回-1
+     */
+    private int parseText(CharSequence text) {
+        if (!this.enumValues.isNumeric()) {
+            return this.enumValues.ordinalOf(text);
+        }
+        int length = text.length();
+        boolean negative = length > 0 && text.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        if (i == length) {
+            return -1;
+        }
+        long code = 0;
+        for (; i < length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || code > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            code = code * 10 + digit;
+        }
+        return this.enumValues.ordinalOf(negative ? -code : code);
+    }
+
     /**
      * 根据枚举值解析成枚举
      *
      * @param code 枚举值
-     * @return 枚举对象
+     * @return 枚举对象的ordinal，不存在时返回-1
      */
-    private Enum parseEnum(Object code) {
+    private int parseEnum(Object code) {
         if (code instanceof String) {
-            return this.enumValues.get(code);
+            return this.enumValues.ordinalOf((String) code);
+        }
+        if (code instanceof Integer || code instanceof Long) {
+            return this.enumValues.ordinalOf(((Number) code).longValue());
         }
-        if (code.getClass() == this.enumClass) {
-            return (Enum) code;
+        if (code instanceof Enum && ((Enum) code).getDeclaringClass() == this.enumClass) {
+            return ((Enum) code).ordinal();
         }
         throw new ClassCastException("Can not cast "
                 + "class from " + code.getClass().getName()
@@ -0,0 +1,179 @@
+package com.lg.validator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据字典的内存快照
+ * <p>
+ * 每次刷新时整体加载所有字典，生成一个新的不可变快照后替换volatile引用，
+ * 校验时只读取当前的快照，不加锁也不会看到加载了一半的数据(只有替换快照的写操作之间互斥)。
+ * 刷新失败时继续使用原来的快照
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:10
+ */
+public final class CodeDictionary {
+
+    private static final CodeDictionary DEFAULT = new CodeDictionary();
+
+    private volatile Snapshot snapshot;
+
+    private volatile DictionaryLoader loader;
+
+    /**
+     * 最近一次刷新失败的异常，刷新成功后清空
+     */
+    private volatile Throwable lastError;
+
+    private ScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> refreshTask;
+
+    /**
+     * {@link com.lg.annotation.CheckDict}使用的字典
+     *
+     * @return the default dictionary
+     */
+    public static CodeDictionary getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 设置加载器并立即加载一次
+     *
+     * @param loader the loader
+     * @throws IllegalStateException 首次加载失败
+     */
+    public void setLoader(DictionaryLoader loader) {
+        this.loader = loader;
+        if (!this.refresh()) {
+            throw new IllegalStateException("Failed to load dictionaries", lastError);
+        }
+    }
+
+    /**
+     * 直接替换所有字典，用于测试或者不经过数据库的场景
+     *
+     * @param dictionaries K: 字典名称, V: 字典下所有的code
+     */
+    public synchronized void replace(Map<String, ? extends Set<String>> dictionaries) {
+        ImmutableMap.Builder<String, ImmutableSet<String>> builder = ImmutableMap.builder();
+        for (Map.Entry<String, ? extends Set<String>> entry : dictionaries.entrySet()) {
+            builder.put(entry.getKey(), ImmutableSet.copyOf(entry.getValue()));
+        }
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(builder.build(), current == null ? 1 : current.version + 1);
+    }
+
+    /**
+     * 重新加载所有字典
+     *
+     * @return false表示加载失败，原来的快照保持不变
+     */
+    public boolean refresh() {
+        DictionaryLoader current = loader;
+        if (current == null) {
+            return false;
+        }
+        try {
+            this.replace(current.loadAll());
+            lastError = null;
+            return true;
+        } catch (Throwable e) {
+            lastError = e;
+            return false;
+        }
+    }
+
+    /**
+     * 在后台定时刷新
+     *
+     * @param period 刷新间隔
+     * @param unit   时间单位
+     */
+    public synchronized void scheduleRefresh(long period, TimeUnit unit) {
+        this.stopRefresh();
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("validator-dict-%d").build());
+        }
+        refreshTask = scheduler.scheduleWithFixedDelay(this::refresh, period, period, unit);
+    }
+
+    /**
+     * 停止后台刷新
+     */
+    public synchronized void stopRefresh() {
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * code是否在字典中
+     *
+     * @param dictName 字典名称
+     * @param code     the code
+     * @return 字典不存在时返回false
+     * @throws IllegalStateException 字典还没有加载
+     */
+    public boolean contains(String dictName, String code) {
+        Set<String> codes = this.snapshot().dictionaries.get(dictName);
+        return codes != null && codes.contains(code);
+    }
+
+    /**
+     * 获取字典下所有的code
+     *
+     * @param dictName 字典名称
+     * @return 字典不存在时返回null
+     */
+    public Set<String> codes(String dictName) {
+        return this.snapshot().dictionaries.get(dictName);
+    }
+
+    /**
+     * 当前快照的版本，每次加载加1，没有加载时为0
+     */
+    public long getVersion() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.version;
+    }
+
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Dictionaries are not loaded");
+        }
+        return current;
+    }
+
+    /**
+     * 不可变的字典快照
+     */
+    private static final class Snapshot {
+
+        private final ImmutableMap<String, ImmutableSet<String>> dictionaries;
+
+        private final long version;
+
+        private Snapshot(ImmutableMap<String, ImmutableSet<String>> dictionaries, long version) {
+            this.dictionaries = dictionaries;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.lg.validator;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量加载所有数据字典
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:00
+ */
+@FunctionalInterface
+public interface DictionaryLoader {
+
+    /**
+     * 加载所有字典
+     *
+     * @return K: 字典名称, V: 字典下所有的code
+     * @throws Exception 加载失败时保留原来的快照
+     */
+    Map<String, Set<String>> loadAll() throws Exception;
+}
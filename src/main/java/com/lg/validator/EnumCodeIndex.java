@@ -0,0 +1,436 @@
+package com.lg.validator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 枚举code的索引
+ * 每个(枚举类型, getter)在进程内只建立一次索引，所有使用该枚举的校验器共享。
+ * <p>
+ * getter返回String时索引是开放寻址的散列表，建立时会尽量扩大容量使所有code落在不同的槽位上，查找通常只需要比较一次；
+ * getter返回int/long(包括包装类型)时，code的范围较小则使用以code为下标的数组，否则使用开放寻址的long散列表，
+ * 数值code的查找全程使用基本类型，不会装箱也不会转换成String
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:50
+ */
+public final class EnumCodeIndex {
+
+    /**
+     * 散列表的最大容量倍数，超过后允许冲突
+     */
+    private static final int MAX_EXPANSION = 64;
+
+    /**
+     * 数值code的范围不超过该值并且不超过枚举常量个数的该倍数时使用数组
+     */
+    private static final int MAX_DENSE_RANGE = 4096;
+
+    private static final int DENSE_FACTOR = 8;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, EnumCodeIndex>> INDEXES =
+            new ClassValue<ConcurrentMap<String, EnumCodeIndex>>() {
+                @Override
+                protected ConcurrentMap<String, EnumCodeIndex> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Class<? extends Enum> enumClass;
+
+    private final Enum[] constants;
+
+    /**
+     * code的类型，String.class或者long.class
+     */
+    private final Class<?> codeType;
+
+    private final String[] keys;
+
+    private final long[] numericKeys;
+
+    /**
+     * 与keys或者numericKeys对应的枚举常量的ordinal + 1，0表示空槽位；
+     * 数组索引时下标为code - denseBase
+     */
+    private final int[] ordinals;
+
+    private final int mask;
+
+    private final long denseBase;
+
+    private final boolean dense;
+
+    private EnumCodeIndex(Class<? extends Enum> enumClass, Enum[] constants, String[] codes) {
+        this.enumClass = enumClass;
+        this.constants = constants;
+        this.codeType = String.class;
+        int capacity = initialCapacity(codes.length);
+        int maxCapacity = capacity * MAX_EXPANSION;
+        while (capacity < maxCapacity && !isPerfect(codes, capacity)) {
+            capacity <<= 1;
+        }
+        this.keys = new String[capacity];
+        this.numericKeys = null;
+        this.ordinals = new int[capacity];
+        this.mask = capacity - 1;
+        this.denseBase = 0;
+        this.dense = false;
+        for (int ordinal = 0; ordinal < codes.length; ordinal++) {
+            if (codes[ordinal] != null) {
+                this.put(codes[ordinal], ordinal);
+            }
+        }
+    }
+
+    private EnumCodeIndex(Class<? extends Enum> enumClass, Enum[] constants, long[] codes, boolean[] present) {
+        this.enumClass = enumClass;
+        this.constants = constants;
+        this.codeType = long.class;
+        this.keys = null;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int ordinal = 0; ordinal < codes.length; ordinal++) {
+            if (present[ordinal]) {
+                min = Math.min(min, codes[ordinal]);
+                max = Math.max(max, codes[ordinal]);
+            }
+        }
+        // max - min溢出时range为负数或0，不会使用数组
+        long range = min > max ? 0 : max - min + 1;
+        if (range > 0 && range <= MAX_DENSE_RANGE && range <= (long) Math.max(codes.length, 1) * DENSE_FACTOR) {
+            this.dense = true;
+            this.denseBase = min;
+            this.numericKeys = null;
+            this.ordinals = new int[(int) range];
+            this.mask = 0;
+            for (int ordinal = 0; ordinal < codes.length; ordinal++) {
+                if (present[ordinal]) {
+                    // 重复的code以后一个枚举常量为准
+                    this.ordinals[(int) (codes[ordinal] - min)] = ordinal + 1;
+                }
+            }
+        } else {
+            int capacity = initialCapacity(codes.length);
+            this.dense = false;
+            this.denseBase = 0;
+            this.numericKeys = new long[capacity];
+            this.ordinals = new int[capacity];
+            this.mask = capacity - 1;
+            for (int ordinal = 0; ordinal < codes.length; ordinal++) {
+                if (present[ordinal]) {
+                    this.put(codes[ordinal], ordinal);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取枚举code的索引
+     *
+     * @param enumClass  枚举类型
+     * @param methodName 获取枚举code的方法名称
+     * @return the index
+     * @throws IllegalArgumentException 方法不存在或者返回值不是String/int/long
+     */
+    public static EnumCodeIndex of(Class<? extends Enum> enumClass, String methodName) {
+        if (methodName == null || methodName.isEmpty()) {
+            throw new IllegalArgumentException("CheckEnum Constraint: "
+                    + "getter is override by empty method name.");
+        }
+        ConcurrentMap<String, EnumCodeIndex> indexes = INDEXES.get(enumClass);
+        EnumCodeIndex index = indexes.get(methodName);
+        if (index == null) {
+            index = indexes.computeIfAbsent(methodName, name -> build(enumClass, name));
+        }
+        return index;
+    }
+
+    private static EnumCodeIndex build(Class<? extends Enum> enumClass, String methodName) {
+        Enum[] constants = enumClass.getEnumConstants();
+        Object[] codes = new Object[constants.length];
+        try {
+            MethodHandle getter = MethodHandles.publicLookup()
+                    .unreflect(enumClass.getMethod(methodName)).asType(GETTER_TYPE);
+            for (Enum constant : constants) {
+                codes[constant.ordinal()] = (Object) getter.invokeExact((Object) constant);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException(e);
+        }
+        return build(enumClass, constants, methodName, codes);
+    }
+
+    private static EnumCodeIndex build(Class<? extends Enum> enumClass, Enum[] constants,
+                                       String methodName, Object[] codes) {
+        boolean numeric = false;
+        boolean string = false;
+        for (Object code : codes) {
+            if (code instanceof String) {
+                string = true;
+            } else if (code instanceof Integer || code instanceof Long) {
+                numeric = true;
+            } else if (code != null) {
+                throw new IllegalArgumentException("CheckEnum Constraint: " + enumClass.getName() + "."
+                        + methodName + "() must return String, int or long, but got " + code.getClass().getName());
+            }
+        }
+        if (string && numeric) {
+            throw new IllegalArgumentException("CheckEnum Constraint: " + enumClass.getName() + "."
+                    + methodName + "() returns both String and numeric codes");
+        }
+        if (!numeric) {
+            String[] stringCodes = new String[codes.length];
+            for (int i = 0; i < codes.length; i++) {
+                stringCodes[i] = (String) codes[i];
+            }
+            return new EnumCodeIndex(enumClass, constants, stringCodes);
+        }
+        long[] numericCodes = new long[codes.length];
+        boolean[] present = new boolean[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] != null) {
+                numericCodes[i] = ((Number) codes[i]).longValue();
+                present[i] = true;
+            }
+        }
+        return new EnumCodeIndex(enumClass, constants, numericCodes, present);
+    }
+
+    /**
+     * 使用已知的code建立索引，不调用枚举的方法，用于从元数据快照中恢复
+     * 索引已经存在时不会覆盖
+     *
+     * @param enumClass  枚举类型
+     * @param methodName 获取枚举code的方法名称
+     * @param codes      按ordinal排列的code，与{@link #codes()}相同
+     * @throws IllegalArgumentException code的个数与枚举常量的个数不一致
+     */
+    public static void preload(Class<? extends Enum> enumClass, String methodName, Object[] codes) {
+        Enum[] constants = enumClass.getEnumConstants();
+        if (constants.length != codes.length) {
+            throw new IllegalArgumentException("Expect " + constants.length + " codes for "
+                    + enumClass.getName() + ", but got " + codes.length);
+        }
+        INDEXES.get(enumClass).computeIfAbsent(methodName, name -> build(enumClass, constants, name, codes));
+    }
+
+    /**
+     * 按ordinal排列的所有code，数值code为Long，没有code的枚举常量为null
+     */
+    public Object[] codes() {
+        Object[] codes = new Object[constants.length];
+        if (keys != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (ordinals[i] != 0) {
+                    codes[ordinals[i] - 1] = keys[i];
+                }
+            }
+        } else if (dense) {
+            for (int i = 0; i < ordinals.length; i++) {
+                if (ordinals[i] != 0) {
+                    codes[ordinals[i] - 1] = denseBase + i;
+                }
+            }
+        } else {
+            for (int i = 0; i < numericKeys.length; i++) {
+                if (ordinals[i] != 0) {
+                    codes[ordinals[i] - 1] = numericKeys[i];
+                }
+            }
+        }
+        return codes;
+    }
+
+    public Class<? extends Enum> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * 是否是数值code
+     */
+    public boolean isNumeric() {
+        return codeType == long.class;
+    }
+
+    /**
+     * 枚举常量的个数
+     */
+    public int size() {
+        return constants.length;
+    }
+
+    /**
+     * 根据code查找枚举常量的ordinal
+     *
+     * @param code the code
+     * @return -1 if not found
+     * @throws ClassCastException 枚举的code不是String
+     */
+    public int ordinalOf(String code) {
+        if (keys == null) {
+            throw new ClassCastException("Can not cast class from " + String.class.getName()
+                    + " to the numeric code of " + enumClass.getName());
+        }
+        int hash = code.hashCode();
+        for (int i = spread(hash) & mask; ordinals[i] != 0; i = (i + 1) & mask) {
+            // 先比较hash，String的hash是缓存的
+            if (keys[i].hashCode() == hash && keys[i].equals(code)) {
+                return ordinals[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 根据code查找枚举常量的ordinal，不需要先把code转换成String
+     *
+     * @param code the code
+     * @return -1 if not found
+     * @throws ClassCastException 枚举的code不是String
+     */
+    public int ordinalOf(CharSequence code) {
+        if (code instanceof String) {
+            return this.ordinalOf((String) code);
+        }
+        if (keys == null) {
+            throw new ClassCastException("Can not cast class from " + code.getClass().getName()
+                    + " to the numeric code of " + enumClass.getName());
+        }
+        // 与String.hashCode()的算法相同
+        int hash = 0;
+        for (int i = 0; i < code.length(); i++) {
+            hash = 31 * hash + code.charAt(i);
+        }
+        for (int i = spread(hash) & mask; ordinals[i] != 0; i = (i + 1) & mask) {
+            if (keys[i].hashCode() == hash && keys[i].contentEquals(code)) {
+                return ordinals[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 根据数值code查找枚举常量的ordinal
+     *
+     * @param code the code
+     * @return -1 if not found
+     * @throws ClassCastException 枚举的code不是数值
+     */
+    public int ordinalOf(long code) {
+        if (dense) {
+            long offset = code - denseBase;
+            // 溢出时offset为负数
+            return offset >= 0 && offset < ordinals.length ? ordinals[(int) offset] - 1 : -1;
+        }
+        if (numericKeys == null) {
+            throw new ClassCastException("Can not cast class from " + long.class.getName()
+                    + " to the String code of " + enumClass.getName());
+        }
+        for (int i = spread(code) & mask; ordinals[i] != 0; i = (i + 1) & mask) {
+            if (numericKeys[i] == code) {
+                return ordinals[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 根据白名单中的code查找枚举常量的ordinal，数值code的白名单需要是十进制数字
+     *
+     * @param code 白名单中的code
+     * @return -1 if not found
+     */
+    public int ordinalOfWhitelist(String code) {
+        if (!this.isNumeric()) {
+            return this.ordinalOf(code);
+        }
+        try {
+            return this.ordinalOf(Long.parseLong(code.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 根据code查找枚举常量
+     *
+     * @param code the code
+     * @return null if not found
+     */
+    public Enum get(String code) {
+        int ordinal = this.ordinalOf(code);
+        return ordinal < 0 ? null : constants[ordinal];
+    }
+
+    /**
+     * 根据数值code查找枚举常量
+     *
+     * @param code the code
+     * @return null if not found
+     */
+    public Enum get(long code) {
+        int ordinal = this.ordinalOf(code);
+        return ordinal < 0 ? null : constants[ordinal];
+    }
+
+    private void put(String code, int ordinal) {
+        int i = spread(code.hashCode()) & mask;
+        while (ordinals[i] != 0 && !keys[i].equals(code)) {
+            i = (i + 1) & mask;
+        }
+        // 重复的code以后一个枚举常量为准
+        keys[i] = code;
+        ordinals[i] = ordinal + 1;
+    }
+
+    private void put(long code, int ordinal) {
+        int i = spread(code) & mask;
+        while (ordinals[i] != 0 && numericKeys[i] != code) {
+            i = (i + 1) & mask;
+        }
+        numericKeys[i] = code;
+        ordinals[i] = ordinal + 1;
+    }
+
+    /**
+     * 不小于2倍元素个数的2的幂
+     */
+    private static int initialCapacity(int size) {
+        return Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    }
+
+    private static boolean isPerfect(String[] codes, int capacity) {
+        String[] slots = new String[capacity];
+        for (String code : codes) {
+            if (code == null) {
+                continue;
+            }
+            int i = spread(code.hashCode()) & (capacity - 1);
+            if (slots[i] != null && !slots[i].equals(code)) {
+                return false;
+            }
+            slots[i] = code;
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int spread(long code) {
+        // fibonacci hashing，连续的code也能均匀分布
+        long hash = code * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,106 @@
+package com.lg.validator;
+
+import com.lg.annotation.Exists;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Exists}的校验器
+ * 一批属性值按{@link #MAX_IN_SIZE}个一组执行select column from table where column in (...)查询。
+ * 数值按大小比较，不区分Integer、Long、BigDecimal，其余的值按字符串比较
+ *
+ * @author Xulg
+ * Created in 2026-10-17 18:05
+ */
+public class ExistsValidator implements AsyncConstraintValidator<Exists> {
+
+    /**
+     * 一条in查询中最多的参数个数
+     */
+    public static final int MAX_IN_SIZE = 500;
+
+    /**
+     * 表名和列名只允许字母、数字、下划线以及schema分隔符
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private static volatile DataSource dataSource;
+
+    private String sqlPrefix;
+
+    /**
+     * 设置查询使用的数据源，spring环境下启动时由{@link com.lg.config.AsyncValidationConfig}设置
+     *
+     * @param dataSource the data source
+     */
+    public static void setDataSource(DataSource dataSource) {
+        ExistsValidator.dataSource = dataSource;
+    }
+
+    @Override
+    public void initialize(Exists annotation) {
+        if (!IDENTIFIER.matcher(annotation.table()).matches() || !IDENTIFIER.matcher(annotation.column()).matches()) {
+            throw new IllegalArgumentException("Illegal table or column: " + annotation.table()
+                    + "." + annotation.column());
+        }
+        this.sqlPrefix = "select " + annotation.column() + " from " + annotation.table()
+                + " where " + annotation.column() + " in (";
+    }
+
+    @Override
+    public Set<?> validValues(Set<Object> values) {
+        DataSource current = dataSource;
+        if (current == null) {
+            throw new IllegalStateException("DataSource of ExistsValidator is not set");
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(current);
+        Set<Object> existing = new HashSet<>();
+        List<Object> chunk = new ArrayList<>(Math.min(values.size(), MAX_IN_SIZE));
+        for (Object value : values) {
+            chunk.add(value);
+            if (chunk.size() == MAX_IN_SIZE) {
+                this.query(jdbcTemplate, chunk, existing);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            this.query(jdbcTemplate, chunk, existing);
+        }
+        if (existing.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Object> valid = new HashSet<>();
+        for (Object value : values) {
+            if (existing.contains(normalize(value))) {
+                valid.add(value);
+            }
+        }
+        return valid;
+    }
+
+    private void query(JdbcTemplate jdbcTemplate, List<Object> chunk, Set<Object> existing) {
+        StringBuilder sql = new StringBuilder(sqlPrefix.length() + chunk.size() * 2 + 1).append(sqlPrefix);
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        sql.append(')');
+        jdbcTemplate.query(sql.toString(), chunk.toArray(), resultSet -> {
+            existing.add(normalize(resultSet.getObject(1)));
+        });
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.lg.validator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 通过一条sql从字典表中加载所有字典
+ * sql的第一列是字典名称，第二列是code，例如select dict_name, dict_code from sys_dict where status = 1
+ *
+ * @author Xulg
+ * Created in 2026-10-17 19:05
+ */
+public class JdbcDictionaryLoader implements DictionaryLoader {
+
+    public static final String DEFAULT_SQL = "select dict_name, dict_code from sys_dict";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String sql;
+
+    public JdbcDictionaryLoader(DataSource dataSource) {
+        this(dataSource, DEFAULT_SQL);
+    }
+
+    public JdbcDictionaryLoader(DataSource dataSource, String sql) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.sql = sql;
+    }
+
+    @Override
+    public Map<String, Set<String>> loadAll() {
+        Map<String, Set<String>> dictionaries = new HashMap<>();
+        jdbcTemplate.query(sql, resultSet -> {
+            String code = resultSet.getString(2);
+            if (code != null) {
+                dictionaries.computeIfAbsent(resultSet.getString(1), name -> new HashSet<>()).add(code);
+            }
+        });
+        return dictionaries;
+    }
+}
@@ -0,0 +1,45 @@
+package com.lg.validator;
+
+/**
+ * 手机号段所属的运营商
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:20
+ */
+public enum MobileCarrier {
+
+    CHINA_MOBILE("移动"),
+
+    CHINA_UNICOM("联通"),
+
+    CHINA_TELECOM("电信"),
+
+    VIRTUAL("虚拟"),
+
+    SATELLITE("卫星");
+
+    private final String label;
+
+    MobileCarrier(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 根据名称获取运营商，名称可以是枚举常量名或者中文名称
+     *
+     * @param name the name
+     * @return null if not found
+     */
+    public static MobileCarrier of(String name) {
+        for (MobileCarrier carrier : values()) {
+            if (carrier.name().equals(name) || carrier.label.equals(name)) {
+                return carrier;
+            }
+        }
+        return null;
+    }
+}
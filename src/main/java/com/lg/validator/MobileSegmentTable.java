@@ -0,0 +1,168 @@
+package com.lg.validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 手机号段表
+ * 以手机号的前4位为下标直接查表得到运营商，匹配过程不创建任何对象，也没有正则的回溯。
+ * 默认号段表从classpath下的com/lg/validator/mobile-segments.txt加载，
+ * 可以通过-Dvalidator.mobile.segments指定其他classpath资源，或者调用{@link #setDefault}替换
+ *
+ * @author Xulg
+ * Created in 2026-10-17 17:25
+ */
+public final class MobileSegmentTable {
+
+    private static final String DEFAULT_RESOURCE = "com/lg/validator/mobile-segments.txt";
+
+    private static final int MOBILE_LENGTH = 11;
+
+    private static final MobileCarrier[] CARRIERS = MobileCarrier.values();
+
+    private static volatile MobileSegmentTable defaultTable = load(
+            System.getProperty("validator.mobile.segments", DEFAULT_RESOURCE));
+
+    /**
+     * 下标为号码的前4位，值为运营商的ordinal + 1，0表示未分配的号段
+     */
+    private final byte[] carriers = new byte[10000];
+
+    private MobileSegmentTable() {
+    }
+
+    public static MobileSegmentTable getDefault() {
+        return defaultTable;
+    }
+
+    /**
+     * 替换默认的号段表，对之后的校验立即生效
+     *
+     * @param table the segment table
+     */
+    public static void setDefault(MobileSegmentTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("table must not be null");
+        }
+        defaultTable = table;
+    }
+
+    /**
+     * 从classpath加载号段表
+     *
+     * @param resource the classpath resource
+     * @return the segment table
+     */
+    public static MobileSegmentTable load(String resource) {
+        InputStream in = MobileSegmentTable.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("mobile segment table not found: " + resource);
+        }
+        try {
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 从输入流加载号段表，读取结束后关闭输入流
+     *
+     * @param in the input stream, UTF-8
+     * @return the segment table
+     * @throws IOException              e
+     * @throws IllegalArgumentException 号段表格式错误
+     */
+    public static MobileSegmentTable load(InputStream in) throws IOException {
+        MobileSegmentTable table = new MobileSegmentTable();
+        // 4位号段在3位号段之后填充，覆盖所属3位号段的值
+        Map<String, MobileCarrier> longSegments = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                MobileCarrier carrier = colon < 0 ? null : MobileCarrier.of(line.substring(0, colon).trim());
+                if (carrier == null) {
+                    throw new IllegalArgumentException("illegal mobile segment line: " + line);
+                }
+                for (String segment : line.substring(colon + 1).trim().split("\\s+")) {
+                    if (segment.length() == 4) {
+                        longSegments.put(segment, carrier);
+                    } else {
+                        table.put(segment, carrier);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<String, MobileCarrier> entry : longSegments.entrySet()) {
+            table.put(entry.getKey(), entry.getValue());
+        }
+        return table;
+    }
+
+    /**
+     * 是否是1开头的11位数字
+     *
+     * @param mobile the mobile
+     * @return true if valid
+     */
+    public static boolean isElevenDigits(CharSequence mobile) {
+        if (mobile.length() != MOBILE_LENGTH || mobile.charAt(0) != '1') {
+            return false;
+        }
+        for (int i = 1; i < MOBILE_LENGTH; i++) {
+            char c = mobile.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找手机号所属的运营商
+     *
+     * @param mobile the mobile
+     * @return 号码格式错误或者号段未分配时返回null
+     */
+    public MobileCarrier carrierOf(CharSequence mobile) {
+        if (mobile == null || !isElevenDigits(mobile)) {
+            return null;
+        }
+        int prefix = (mobile.charAt(0) - '0') * 1000 + (mobile.charAt(1) - '0') * 100
+                + (mobile.charAt(2) - '0') * 10 + (mobile.charAt(3) - '0');
+        int carrier = carriers[prefix];
+        return carrier == 0 ? null : CARRIERS[carrier - 1];
+    }
+
+    private void put(String segment, MobileCarrier carrier) {
+        if ((segment.length() != 3 && segment.length() != 4) || segment.charAt(0) != '1'
+                || !isDigits(segment)) {
+            throw new IllegalArgumentException("illegal mobile segment: " + segment);
+        }
+        int from = Integer.parseInt(segment) * (segment.length() == 3 ? 10 : 1);
+        int to = from + (segment.length() == 3 ? 10 : 1);
+        for (int i = from; i < to; i++) {
+            carriers[i] = (byte) (carrier.ordinal() + 1);
+        }
+    }
+
+    private static boolean isDigits(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,51 +1,80 @@
 package com.lg.validator;
 
 import com.lg.annotation.Mobile;
+import com.lg.metrics.ConstraintMetrics;
+import com.lg.metrics.ValidationMetrics;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.regex.Pattern;
 
 /**
  * 自定义手机号的校验器
+ * 严格模式下号段以{@link MobileSegmentTable}为准
  *
  * @author wb-xlg283120
  * @version $Id: CheckEnumValidator.java, v 0.1 2017/11/27 15:38 wb-xlg283120 Exp $
  */
 public class MobileValidator implements ConstraintValidator<Mobile, String> {
 
-    /**
-     * 正则：手机号（精确）
-     * <p>移动：134(0-8)、135、136、137、138、139、147、150、151、152、157、158、159、178、182、183、184、187、188、198</p>
-     * <p>联通：130、131、132、145、155、156、175、176、185、186、166</p>
-     * <p>电信：133、153、173、177、180、181、189、199</p>
-     * <p>全球星：1349</p>
-     * <p>虚拟运营商：170</p>
-     */
-    private static final String STRICT_REGEX_MOBILE = "^((13[0-9])|(14[5,7])|(15[0-3,5-9])|(17[0,3,5-8])|(18[0-9])|166|198|199|(147))\\d{8}$";
-
-    private static final String SIMPLE_REGEX_MOBILE = "^1\\d{10}$";
-
-    private static final Pattern STRICT_PATTERN = Pattern.compile(STRICT_REGEX_MOBILE);
-
-    private static final Pattern SIMPLE_PATTERN = Pattern.compile(SIMPLE_REGEX_MOBILE);
-
     private boolean isStrict = true;
 
+    private ConstraintMetrics metrics = ValidationMetrics.constraint("Mobile");
+
     @Override
     public void initialize(Mobile annotation) {
         isStrict = annotation.isStrict();
+        metrics = ValidationMetrics.constraint(isStrict ? "Mobile" : "Mobile(simple)");
+    }
+
+    /**
+     * 不通过注解直接创建校验器
+     *
+     * @param isStrict 是否使用严格的校验手机号模式
+     * @return the validator
+     */
+    public static MobileValidator of(boolean isStrict) {
+        MobileValidator validator = new MobileValidator();
+        validator.isStrict = isStrict;
+        validator.metrics = ValidationMetrics.constraint(isStrict ? "Mobile" : "Mobile(simple)");
+        return validator;
     }
 
     @Override
     public boolean isValid(String mobile, ConstraintValidatorContext context) {
+        if (!ValidationMetrics.isEnabled()) {
+            return isMobile(mobile, isStrict);
+        }
+        long start = System.nanoTime();
+        boolean valid = isMobile(mobile, isStrict);
+        metrics.record(System.nanoTime() - start, valid);
+        return valid;
+    }
+
+    /**
+     * 是否是手机号格式，null视为合法
+     *
+     * @param mobile   手机号
+     * @param isStrict 是否使用严格的校验手机号模式
+     * @return true if valid
+     */
+    public static boolean isMobile(CharSequence mobile, boolean isStrict) {
         if (mobile == null) {
             return true;
         }
         if (isStrict) {
-            return STRICT_PATTERN.matcher(mobile).matches();
+            return MobileSegmentTable.getDefault().carrierOf(mobile) != null;
         } else {
-            return SIMPLE_PATTERN.matcher(mobile).matches();
+            return MobileSegmentTable.isElevenDigits(mobile);
         }
     }
+
+    /**
+     * 获取手机号所属的运营商
+     *
+     * @param mobile 手机号
+     * @return 不是合法的手机号时返回null
+     */
+    public static MobileCarrier carrierOf(CharSequence mobile) {
+        return MobileSegmentTable.getDefault().carrierOf(mobile);
+    }
 }
@@ -0,0 +1,173 @@
+package com.lg.processor;
+
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译期解析枚举每个常量的code值
+ * <p>
+ * 只处理最常见的写法：getter直接返回某个字段，该字段在构造方法中由某个参数赋值，枚举常量的对应参数是字面量。
+ * 枚举不在本次编译的源码中或者写法更复杂时返回null，白名单的校验留到运行时。
+ *
+ * @author Xulg
+ * Created in 2026-10-17 14:40
+ */
+final class EnumCodeResolver {
+
+    private final Trees trees;
+
+    EnumCodeResolver(ProcessingEnvironment processingEnv) {
+        Trees instance;
+        try {
+            instance = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException e) {
+            // 不是javac编译器
+            instance = null;
+        }
+        this.trees = instance;
+    }
+
+    /**
+     * 解析枚举常量的code值
+     *
+     * @param enumType 枚举类型
+     * @param getter   获取code的方法
+     * @return K: code, V: 枚举常量名称；无法解析时返回null
+     */
+    Map<Object, String> resolve(TypeElement enumType, ExecutableElement getter) {
+        Map<Object, String> codes = new LinkedHashMap<>();
+        if ("name".equals(getter.getSimpleName().toString())) {
+            for (Element element : enumType.getEnclosedElements()) {
+                if (element.getKind() == ElementKind.ENUM_CONSTANT) {
+                    codes.put(element.getSimpleName().toString(), element.getSimpleName().toString());
+                }
+            }
+            return codes;
+        }
+        if (trees == null || getter.getEnclosingElement() != enumType) {
+            return null;
+        }
+        String field = this.returnedField(getter);
+        if (field == null) {
+            return null;
+        }
+        // K: 构造方法的参数个数, V: 给字段赋值的参数下标
+        Map<Integer, Integer> argumentIndexes = new HashMap<>();
+        for (Element element : enumType.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.CONSTRUCTOR) {
+                continue;
+            }
+            ExecutableElement constructor = (ExecutableElement) element;
+            Integer arity = constructor.getParameters().size();
+            Integer index = this.assignedParameter(constructor, field);
+            if (index == null || argumentIndexes.containsKey(arity)) {
+                return null;
+            }
+            argumentIndexes.put(arity, index);
+        }
+        for (Element element : enumType.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.ENUM_CONSTANT) {
+                continue;
+            }
+            Object code = this.constantArgument((VariableElement) element, argumentIndexes);
+            if (code == null) {
+                return null;
+            }
+            codes.put(code, element.getSimpleName().toString());
+        }
+        return codes;
+    }
+
+    /**
+     * getter的方法体是否只是返回某个字段
+     */
+    private String returnedField(ExecutableElement getter) {
+        MethodTree method = trees.getTree(getter);
+        if (method == null || method.getBody() == null || method.getBody().getStatements().size() != 1) {
+            return null;
+        }
+        StatementTree statement = method.getBody().getStatements().get(0);
+        if (!(statement instanceof ReturnTree)) {
+            return null;
+        }
+        return fieldName(((ReturnTree) statement).getExpression());
+    }
+
+    private Integer assignedParameter(ExecutableElement constructor, String field) {
+        MethodTree method = trees.getTree(constructor);
+        if (method == null || method.getBody() == null) {
+            return null;
+        }
+        List<? extends VariableTree> parameters = method.getParameters();
+        for (StatementTree statement : method.getBody().getStatements()) {
+            if (!(statement instanceof ExpressionStatementTree)
+                    || !(((ExpressionStatementTree) statement).getExpression() instanceof AssignmentTree)) {
+                continue;
+            }
+            AssignmentTree assignment = (AssignmentTree) ((ExpressionStatementTree) statement).getExpression();
+            if (!field.equals(fieldName(assignment.getVariable()))
+                    || !(assignment.getExpression() instanceof IdentifierTree)) {
+                continue;
+            }
+            String parameter = ((IdentifierTree) assignment.getExpression()).getName().toString();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i).getName().contentEquals(parameter)) {
+                    return i;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Object constantArgument(VariableElement constant, Map<Integer, Integer> argumentIndexes) {
+        Tree tree = trees.getTree(constant);
+        if (!(tree instanceof VariableTree) || !(((VariableTree) tree).getInitializer() instanceof NewClassTree)) {
+            return null;
+        }
+        List<? extends ExpressionTree> arguments = ((NewClassTree) ((VariableTree) tree).getInitializer()).getArguments();
+        Integer index = argumentIndexes.get(arguments.size());
+        if (index == null || !(arguments.get(index) instanceof LiteralTree)) {
+            return null;
+        }
+        return ((LiteralTree) arguments.get(index)).getValue();
+    }
+
+    /**
+     * code或this.code这种形式的字段名称
+     */
+    private static String fieldName(ExpressionTree expression) {
+        if (expression instanceof IdentifierTree) {
+            return ((IdentifierTree) expression).getName().toString();
+        }
+        if (expression instanceof MemberSelectTree) {
+            MemberSelectTree select = (MemberSelectTree) expression;
+            if (select.getExpression() instanceof IdentifierTree
+                    && ((IdentifierTree) select.getExpression()).getName().contentEquals("this")) {
+                return select.getIdentifier().toString();
+            }
+        }
+        return null;
+    }
+}
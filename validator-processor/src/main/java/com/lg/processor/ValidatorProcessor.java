@@ -0,0 +1,664 @@
+package com.lg.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译期为DTO生成校验器的注解处理器
+ * <p>
+ * 读取字段上的{@code @NotNull}、{@code @NotEmpty}、{@code @Mobile}、{@code @CheckEnum}以及{@code @Valid}，
+ * 为每个DTO生成一个继承{@code com.lg.utils.GeneratedValidator}的{@code <Bean>Validator}类，
+ * ValidatorUtils在运行时发现该类存在时直接使用它，不再扫描元数据。
+ * DTO上出现其他约束时不生成校验器，运行时仍然交给hibernate处理。
+ * <p>
+ * 同时在编译期检查@CheckEnum的getter、白名单以及@CheckEnum/@Mobile所在字段的类型，配置错误时编译失败。
+ *
+ * @author Xulg
+ * Created in 2026-10-17 15:05
+ */
+@SupportedAnnotationTypes({
+        ValidatorProcessor.NOT_NULL,
+        ValidatorProcessor.NOT_EMPTY,
+        ValidatorProcessor.MOBILE,
+        ValidatorProcessor.CHECK_ENUM,
+        ValidatorProcessor.VALID
+})
+public class ValidatorProcessor extends AbstractProcessor {
+
+    static final String NOT_NULL = "javax.validation.constraints.NotNull";
+
+    static final String NOT_EMPTY = "javax.validation.constraints.NotEmpty";
+
+    static final String MOBILE = "com.lg.annotation.Mobile";
+
+    static final String CHECK_ENUM = "com.lg.annotation.CheckEnum";
+
+    static final String VALID = "javax.validation.Valid";
+
+    private static final String CONSTRAINT = "javax.validation.Constraint";
+
+    private static final String DEFAULT_GROUP = "javax.validation.groups.Default";
+
+    private static final String SUFFIX = "Validator";
+
+    private Elements elements;
+
+    private Types types;
+
+    private Messager messager;
+
+    private EnumCodeResolver enumCodeResolver;
+
+    /**
+     * 已经处理过的bean
+     */
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.messager = processingEnv.getMessager();
+        this.enumCodeResolver = new EnumCodeResolver(processingEnv);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> beans = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                AnnotationMirror mirror = findAnnotation(element, annotationName);
+                if (CHECK_ENUM.equals(annotationName) && mirror != null) {
+                    this.verifyCheckEnum(element, mirror);
+                } else if (MOBILE.equals(annotationName) && mirror != null) {
+                    this.verifyMobile(element, mirror);
+                }
+                if (element.getKind() == ElementKind.FIELD
+                        && element.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                    beans.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement bean : beans) {
+            if (processed.add(bean.getQualifiedName().toString())) {
+                this.generate(bean);
+            }
+        }
+        // 不独占这些注解，其他处理器仍然可以处理
+        return false;
+    }
+
+    /*-------------------------------------------- 编译期检查 --------------------------------------------*/
+
+    private void verifyCheckEnum(Element element, AnnotationMirror mirror) {
+        TypeElement enumType = asTypeElement((TypeMirror) value(mirror, "value"));
+        if (enumType == null || enumType.getKind() != ElementKind.ENUM) {
+            this.error(element, mirror, "CheckEnum Constraint: value must be an enum type.");
+            return;
+        }
+        String getter = (String) value(mirror, "getter");
+        if (getter.isEmpty()) {
+            this.error(element, mirror, "CheckEnum Constraint: getter is override by empty method name.");
+            return;
+        }
+        ExecutableElement method = this.findNoArgMethod(enumType, getter);
+        if (method == null) {
+            this.error(element, mirror, "CheckEnum Constraint: " + enumType.getQualifiedName()
+                    + " has no public no-arg instance method " + getter + "().");
+            return;
+        }
+        boolean numeric = this.isNumericCode(method.getReturnType());
+        if (!numeric && !this.isString(method.getReturnType())) {
+            this.error(element, mirror, "CheckEnum Constraint: " + enumType.getQualifiedName() + "." + getter
+                    + "() must return String, int or long.");
+            return;
+        }
+        TypeMirror fieldType = element.asType();
+        if (!(numeric ? this.isNumericCode(fieldType) : this.isString(fieldType))
+                && !types.isSameType(types.erasure(fieldType), types.erasure(enumType.asType()))
+                && !types.isSameType(fieldType, elements.getTypeElement(Object.class.getName()).asType())) {
+            this.error(element, mirror, "CheckEnum Constraint: can only be applied to "
+                    + (numeric ? "int, long, Integer, Long" : "String") + " or "
+                    + enumType.getQualifiedName() + ", but found " + fieldType + ".");
+            return;
+        }
+        List<String> whitelist = this.stringValues(mirror, "whitelist");
+        if (whitelist.isEmpty()) {
+            return;
+        }
+        Map<Object, String> codes = enumCodeResolver.resolve(enumType, method);
+        if (codes == null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "CheckEnum Constraint: can not resolve the codes of "
+                    + enumType.getQualifiedName() + " at compile time, the whitelist is checked at runtime.", element);
+            return;
+        }
+        Set<Object> available = new LinkedHashSet<>();
+        for (Object code : codes.keySet()) {
+            // 数值code的字面量可能是int也可能是long
+            available.add(numeric && code instanceof Number ? (Object) ((Number) code).longValue() : code);
+        }
+        for (String code : whitelist) {
+            Object key = code;
+            if (numeric) {
+                try {
+                    key = Long.parseLong(code.trim());
+                } catch (NumberFormatException e) {
+                    this.error(element, mirror, "Enum Value: " + code + " is not a number, the codes of "
+                            + enumType.getQualifiedName() + " are numeric.");
+                    continue;
+                }
+            }
+            if (!available.contains(key)) {
+                this.error(element, mirror, "Enum Value: " + code + " is not exist for the "
+                        + enumType.getQualifiedName() + ", available values are " + available + ".");
+            }
+        }
+    }
+
+    private void verifyMobile(Element element, AnnotationMirror mirror) {
+        if (!this.isString(element.asType())) {
+            this.error(element, mirror, "Mobile Constraint: can only be applied to String, but found "
+                    + element.asType() + ".");
+        }
+    }
+
+    /*-------------------------------------------- 生成校验器 --------------------------------------------*/
+
+    private void generate(TypeElement bean) {
+        List<PropertyModel> properties = new ArrayList<>();
+        String reason = this.buildModel(bean, properties);
+        if (reason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Skip generating validator for "
+                    + bean.getQualifiedName() + ": " + reason, bean);
+            return;
+        }
+        String packageName = elements.getPackageOf(bean).getQualifiedName().toString();
+        String simpleName = generatedSimpleName(bean);
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, bean).openWriter()) {
+            writer.write(new ValidatorWriter(packageName, simpleName,
+                    bean.getQualifiedName().toString(), properties).write());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Can not write " + qualifiedName + ": " + e, bean);
+        }
+    }
+
+    /**
+     * 解析bean的属性和约束
+     *
+     * @param bean       the bean type
+     * @param properties 解析出的属性
+     * @return 不能生成校验器的原因，可以生成时返回null
+     */
+    private String buildModel(TypeElement bean, List<PropertyModel> properties) {
+        if (bean.getModifiers().contains(Modifier.ABSTRACT) || !bean.getTypeParameters().isEmpty()) {
+            return "abstract or generic class";
+        }
+        for (Element type = bean; type instanceof TypeElement; type = type.getEnclosingElement()) {
+            NestingKind nesting = ((TypeElement) type).getNestingKind();
+            if (type.getModifiers().contains(Modifier.PRIVATE)
+                    || nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+                return "class is not accessible from its package";
+            }
+        }
+        if (this.hasTypeLevelConstraints(bean)) {
+            return "class level constraints, group sequences or getter constraints";
+        }
+        for (TypeMirror superType = bean.getSuperclass(); superType.getKind() == TypeKind.DECLARED;
+             superType = ((TypeElement) types.asElement(superType)).getSuperclass()) {
+            TypeElement superElement = (TypeElement) types.asElement(superType);
+            if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+                break;
+            }
+            if (this.hasTypeLevelConstraints(superElement)) {
+                return "superclass " + superElement.getQualifiedName() + " has constraints";
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(superElement.getEnclosedElements())) {
+                if (this.hasConstraintOrValid(field)) {
+                    return "superclass " + superElement.getQualifiedName() + " has constraints";
+                }
+            }
+        }
+        int slot = 0;
+        for (VariableElement field : ElementFilter.fieldsIn(bean.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || !this.hasConstraintOrValid(field)) {
+                continue;
+            }
+            PropertyModel property = new PropertyModel(field.getSimpleName().toString(),
+                    this.typeName(field.asType()));
+            for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                String name = annotationName(mirror);
+                if (VALID.equals(name)) {
+                    if (!this.isPlainBeanType(field.asType())) {
+                        return "cascaded container property " + property.name;
+                    }
+                    property.cascade = true;
+                } else if (this.isConstraint(mirror) || this.isConstraintContainer(mirror)) {
+                    String reason = this.addConstraint(bean, field, mirror, property, slot);
+                    if (reason != null) {
+                        return reason;
+                    }
+                    slot = property.constraints.isEmpty() ? slot
+                            : property.constraints.get(property.constraints.size() - 1).slot + 1;
+                } else if (name.startsWith("javax.validation.groups.ConvertGroup")) {
+                    return "group conversion on property " + property.name;
+                }
+            }
+            if (this.hasTypeArgumentConstraints(field.asType())) {
+                return "container element constraints on property " + property.name;
+            }
+            if (property.constraints.isEmpty() && !property.cascade) {
+                continue;
+            }
+            property.accessor = this.accessor(bean, field);
+            if (property.accessor == null) {
+                return "no accessible getter for private property " + property.name;
+            }
+            properties.add(property);
+        }
+        return properties.isEmpty() ? "no constraints" : null;
+    }
+
+    private String addConstraint(TypeElement bean, VariableElement field, AnnotationMirror mirror,
+                                 PropertyModel property, int slot) {
+        String name = annotationName(mirror);
+        TypeMirror type = field.asType();
+        ConstraintModel constraint = new ConstraintModel(slot, name);
+        switch (name) {
+            case NOT_NULL:
+                if (type.getKind().isPrimitive()) {
+                    // 基本类型不可能为null
+                    return null;
+                }
+                constraint.invalidCondition = "value == null";
+                break;
+            case NOT_EMPTY:
+                if (type.getKind() == TypeKind.ARRAY) {
+                    constraint.invalidCondition = "value == null || value.length == 0";
+                } else if (this.isSubtype(type, CharSequence.class.getName())) {
+                    constraint.invalidCondition = "value == null || value.length() == 0";
+                } else if (this.isSubtype(type, "java.util.Collection") || this.isSubtype(type, "java.util.Map")) {
+                    constraint.invalidCondition = "value == null || value.isEmpty()";
+                } else {
+                    return "unsupported NotEmpty type on property " + property.name;
+                }
+                break;
+            case MOBILE:
+                if (!this.isString(type)) {
+                    return "unsupported Mobile type on property " + property.name;
+                }
+                constraint.invalidCondition = "!com.lg.validator.MobileValidator.isMobile(value, "
+                        + value(mirror, "isStrict") + ")";
+                break;
+            case CHECK_ENUM:
+                TypeElement enumType = asTypeElement((TypeMirror) value(mirror, "value"));
+                if (enumType == null || !this.isAccessible(enumType, bean)) {
+                    return "enum of CheckEnum is not accessible on property " + property.name;
+                }
+                StringBuilder initializer = new StringBuilder("com.lg.validator.CheckEnumValidator.of(")
+                        .append(enumType.getQualifiedName()).append(".class, ")
+                        .append(literal((String) value(mirror, "getter")));
+                for (String code : this.stringValues(mirror, "whitelist")) {
+                    initializer.append(", ").append(literal(code));
+                }
+                constraint.fieldName = "checkEnum" + slot;
+                constraint.fieldInitializer = initializer.append(")").toString();
+                if (type.getKind().isPrimitive()) {
+                    // int/long直接按数值查找，不装箱
+                    constraint.invalidCondition = "!" + constraint.fieldName + ".isValidCode(value)";
+                } else if (this.isNumericCode(type)) {
+                    constraint.invalidCondition = "value != null && !" + constraint.fieldName + ".isValidCode(value)";
+                } else {
+                    constraint.invalidCondition = "!" + constraint.fieldName + ".isValid(value, null)";
+                }
+                break;
+            default:
+                return "unsupported constraint " + name + " on property " + property.name;
+        }
+        for (Object group : (List<?>) value(mirror, "groups")) {
+            TypeElement groupType = asTypeElement((TypeMirror) ((AnnotationValue) group).getValue());
+            if (groupType == null || !this.isAccessible(groupType, bean)) {
+                return "group is not accessible on property " + property.name;
+            }
+            constraint.groups.add(groupType.getQualifiedName() + ".class");
+        }
+        if (constraint.groups.isEmpty()) {
+            constraint.groups.add(DEFAULT_GROUP + ".class");
+        }
+        property.constraints.add(constraint);
+        return null;
+    }
+
+    /**
+     * 读取属性值的表达式，私有字段使用getter
+     */
+    private String accessor(TypeElement bean, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return "bean." + name;
+        }
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        List<String> candidates = new ArrayList<>();
+        if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            candidates.add(name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2))
+                    ? name : "is" + capitalized);
+        }
+        candidates.add("get" + capitalized);
+        for (String candidate : candidates) {
+            ExecutableElement getter = this.findNoArgMethod(bean, candidate);
+            if (getter != null && !getter.getModifiers().contains(Modifier.PRIVATE)) {
+                return "bean." + candidate + "()";
+            }
+        }
+        // lombok生成的getter在其他处理器看来可能还不存在
+        if (findAnnotation(field, "lombok.Getter") != null || findAnnotation(bean, "lombok.Getter") != null
+                || findAnnotation(bean, "lombok.Data") != null || findAnnotation(bean, "lombok.Value") != null) {
+            return "bean." + candidates.get(0) + "()";
+        }
+        return null;
+    }
+
+    /*-------------------------------------------- 工具方法 --------------------------------------------*/
+
+    private boolean hasTypeLevelConstraints(TypeElement type) {
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            String name = annotationName(mirror);
+            if (this.isConstraint(mirror) || this.isConstraintContainer(mirror)
+                    || "javax.validation.GroupSequence".equals(name)
+                    || "org.hibernate.validator.group.GroupSequenceProvider".equals(name)) {
+                return true;
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.STATIC) && this.hasConstraintOrValid(method)) {
+                return true;
+            }
+        }
+        for (TypeMirror anInterface : type.getInterfaces()) {
+            if (this.hasTypeLevelConstraints((TypeElement) types.asElement(anInterface))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasConstraintOrValid(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (VALID.equals(annotationName(mirror)) || this.isConstraint(mirror) || this.isConstraintContainer(mirror)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasTypeArgumentConstraints(TypeMirror type) {
+        List<TypeMirror> arguments = new ArrayList<>();
+        if (type instanceof DeclaredType) {
+            arguments.addAll(((DeclaredType) type).getTypeArguments());
+        } else if (type instanceof ArrayType) {
+            arguments.add(((ArrayType) type).getComponentType());
+        }
+        for (TypeMirror argument : arguments) {
+            for (AnnotationMirror mirror : argument.getAnnotationMirrors()) {
+                if (VALID.equals(annotationName(mirror)) || this.isConstraint(mirror)) {
+                    return true;
+                }
+            }
+            if (this.hasTypeArgumentConstraints(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isConstraint(AnnotationMirror mirror) {
+        return findAnnotation(mirror.getAnnotationType().asElement(), CONSTRAINT) != null;
+    }
+
+    private boolean isConstraintContainer(AnnotationMirror mirror) {
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                mirror.getAnnotationType().asElement().getEnclosedElements())) {
+            TypeMirror returnType = method.getReturnType();
+            if (method.getSimpleName().contentEquals("value") && returnType.getKind() == TypeKind.ARRAY) {
+                Element component = types.asElement(((ArrayType) returnType).getComponentType());
+                return component != null && findAnnotation(component, CONSTRAINT) != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 级联的属性是否是普通的bean类型，容器类型需要hibernate的值提取器处理
+     */
+    private boolean isPlainBeanType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) types.asElement(type);
+        String name = element.getQualifiedName().toString();
+        return !name.equals(Object.class.getName()) && !name.equals("java.io.Serializable")
+                && !name.equals("java.lang.Cloneable") && !this.isSubtype(type, "java.lang.Iterable")
+                && !this.isSubtype(type, "java.util.Map") && !this.isSubtype(type, "java.util.Optional");
+    }
+
+    private boolean isAccessible(TypeElement type, TypeElement from) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(element).equals(elements.getPackageOf(from))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ExecutableElement findNoArgMethod(TypeElement type, String name) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && (method.getModifiers().contains(Modifier.PUBLIC) || type.equals(method.getEnclosingElement()))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 擦除泛型后的类型名称，TypeMirror.toString()会带上类型注解
+     */
+    private String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case DECLARED:
+                return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+            case ARRAY:
+                return this.typeName(((ArrayType) type).getComponentType()) + "[]";
+            case TYPEVAR:
+                return this.typeName(types.erasure(type));
+            default:
+                return type.getKind().name().toLowerCase();
+        }
+    }
+
+    private boolean isString(TypeMirror type) {
+        return types.isSameType(type, elements.getTypeElement(String.class.getName()).asType());
+    }
+
+    /**
+     * 是否是@CheckEnum支持的数值code类型：int、long、Integer、Long
+     */
+    private boolean isNumericCode(TypeMirror type) {
+        if (type.getKind() == TypeKind.INT || type.getKind() == TypeKind.LONG) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        String name = ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+        return Integer.class.getName().equals(name) || Long.class.getName().equals(name);
+    }
+
+    private boolean isSubtype(TypeMirror type, String superTypeName) {
+        TypeElement superType = elements.getTypeElement(superTypeName);
+        return superType != null && types.isSubtype(types.erasure(type), types.erasure(superType.asType()));
+    }
+
+    private TypeElement asTypeElement(TypeMirror type) {
+        Element element = type == null ? null : types.asElement(type);
+        return element instanceof TypeElement ? (TypeElement) element : null;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private List<String> stringValues(AnnotationMirror mirror, String name) {
+        List<String> values = new ArrayList<>();
+        for (Object value : (List<?>) value(mirror, name)) {
+            values.add((String) ((AnnotationValue) value).getValue());
+        }
+        return values;
+    }
+
+    private void error(Element element, AnnotationMirror mirror, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element, mirror);
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationName(mirror).equals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String annotationName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * 生成的校验器的类名，内部类的类名用下划线连接
+     */
+    private static String generatedSimpleName(TypeElement bean) {
+        StringBuilder name = new StringBuilder(bean.getSimpleName());
+        for (Element outer = bean.getEnclosingElement(); !(outer instanceof PackageElement);
+             outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                default:
+                    literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * 一个属性的模型
+     */
+    static final class PropertyModel {
+
+        final String name;
+
+        final String type;
+
+        final List<ConstraintModel> constraints = new ArrayList<>();
+
+        String accessor;
+
+        boolean cascade;
+
+        PropertyModel(String name, String type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    /**
+     * 一个约束的模型
+     */
+    static final class ConstraintModel {
+
+        final int slot;
+
+        final String annotationType;
+
+        final List<String> groups = new ArrayList<>();
+
+        String invalidCondition;
+
+        String groupsField;
+
+        String fieldName;
+
+        String fieldInitializer;
+
+        ConstraintModel(int slot, String annotationType) {
+            this.slot = slot;
+            this.annotationType = annotationType;
+        }
+    }
+}
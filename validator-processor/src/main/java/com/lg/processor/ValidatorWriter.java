@@ -0,0 +1,172 @@
+package com.lg.processor;
+
+import com.lg.processor.ValidatorProcessor.ConstraintModel;
+import com.lg.processor.ValidatorProcessor.PropertyModel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成校验器的源代码
+ *
+ * @author Xulg
+ * Created in 2026-10-17 15:40
+ */
+final class ValidatorWriter {
+
+    private static final String COLLECTOR = "com.lg.utils.ViolationCollector<?>";
+
+    private final String packageName;
+
+    private final String simpleName;
+
+    private final String beanType;
+
+    private final List<PropertyModel> properties;
+
+    private final StringBuilder code = new StringBuilder();
+
+    ValidatorWriter(String packageName, String simpleName, String beanType, List<PropertyModel> properties) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.beanType = beanType;
+        this.properties = properties;
+    }
+
+    String write() {
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        line(0, "/**");
+        line(0, " * {@link " + beanType + "}的校验器");
+        line(0, " * 由" + ValidatorProcessor.class.getName() + "在编译期生成，请勿修改");
+        line(0, " */");
+        line(0, "@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+        line(0, "public final class " + simpleName + " extends com.lg.utils.GeneratedValidator<" + beanType + "> {");
+        this.writeFields();
+        this.writeConstructor();
+        this.writeValidateInto();
+        this.writeValidatePropertyInto();
+        for (PropertyModel property : properties) {
+            this.writeCheck(property);
+        }
+        line(0, "}");
+        return code.toString();
+    }
+
+    private void writeFields() {
+        // 相同的分组只声明一次
+        Map<String, String> groupFields = new LinkedHashMap<>();
+        for (PropertyModel property : properties) {
+            for (ConstraintModel constraint : property.constraints) {
+                String groups = String.join(", ", constraint.groups);
+                if (!groupFields.containsKey(groups)) {
+                    groupFields.put(groups, "GROUPS_" + groupFields.size());
+                }
+            }
+        }
+        for (Map.Entry<String, String> entry : groupFields.entrySet()) {
+            line(0, "");
+            line(1, "private static final Class<?>[] " + entry.getValue() + " = {" + entry.getKey() + "};");
+        }
+        for (PropertyModel property : properties) {
+            for (ConstraintModel constraint : property.constraints) {
+                constraint.groupsField = groupFields.get(String.join(", ", constraint.groups));
+                if (constraint.fieldName != null) {
+                    line(0, "");
+                    line(1, "private final com.lg.validator.CheckEnumValidator " + constraint.fieldName);
+                    line(3, "= " + constraint.fieldInitializer + ";");
+                }
+            }
+        }
+    }
+
+    private void writeConstructor() {
+        List<String> names = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        for (PropertyModel property : properties) {
+            names.add(ValidatorProcessor.literal(property.name));
+            for (ConstraintModel constraint : property.constraints) {
+                slots.add("slot(" + ValidatorProcessor.literal(property.name) + ", "
+                        + constraint.annotationType + ".class)");
+            }
+        }
+        line(0, "");
+        line(1, "public " + simpleName + "() {");
+        line(2, "super(" + beanType + ".class, new String[]{" + String.join(", ", names) + "}"
+                + (slots.isEmpty() ? ");" : ","));
+        for (int i = 0; i < slots.size(); i++) {
+            line(4, slots.get(i) + (i == slots.size() - 1 ? ");" : ","));
+        }
+        line(1, "}");
+    }
+
+    private void writeValidateInto() {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "protected void validateInto(" + beanType + " bean, String path, Class<?>[] groups,");
+        line(3, COLLECTOR + " collector) {");
+        for (int i = 0; i < properties.size(); i++) {
+            if (i > 0) {
+                // 快速结束模式下已经有违反的约束
+                line(2, "if (collector.isDone()) {");
+                line(3, "return;");
+                line(2, "}");
+            }
+            PropertyModel property = properties.get(i);
+            line(2, this.checkMethod(property) + "(bean, path, groups, collector"
+                    + (property.cascade ? ", true" : "") + ");");
+        }
+        line(1, "}");
+    }
+
+    private void writeValidatePropertyInto() {
+        line(0, "");
+        line(1, "@Override");
+        line(1, "protected void validatePropertyInto(" + beanType + " bean, String path, String propertyName,");
+        line(3, "Class<?>[] groups, " + COLLECTOR + " collector, boolean cascade) {");
+        line(2, "switch (propertyName) {");
+        for (PropertyModel property : properties) {
+            line(3, "case " + ValidatorProcessor.literal(property.name) + ":");
+            line(4, this.checkMethod(property) + "(bean, path, groups, collector"
+                    + (property.cascade ? ", cascade" : "") + ");");
+            line(4, "break;");
+        }
+        line(3, "default:");
+        line(4, "break;");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void writeCheck(PropertyModel property) {
+        line(0, "");
+        line(1, "private void " + this.checkMethod(property) + "(" + beanType + " bean, String path, Class<?>[] groups,");
+        line(3, COLLECTOR + " collector" + (property.cascade ? ", boolean cascade" : "") + ") {");
+        line(2, property.type + " value = " + property.accessor + ";");
+        for (ConstraintModel constraint : property.constraints) {
+            line(2, "if (isActive(" + constraint.groupsField + ", groups) && (" + constraint.invalidCondition + ")) {");
+            line(3, "report(" + constraint.slot + ", path, bean, value, collector);");
+            line(2, "}");
+        }
+        if (property.cascade) {
+            line(2, "if (cascade && value != null) {");
+            line(3, "collector.cascade(value, path(path, " + ValidatorProcessor.literal(property.name) + "), groups);");
+            line(2, "}");
+        }
+        line(1, "}");
+    }
+
+    private String checkMethod(PropertyModel property) {
+        return "check" + Character.toUpperCase(property.name.charAt(0)) + property.name.substring(1);
+    }
+
+    private void line(int indent, String text) {
+        for (int i = 0; i < indent; i++) {
+            code.append("    ");
+        }
+        code.append(text).append('\n');
+    }
+}